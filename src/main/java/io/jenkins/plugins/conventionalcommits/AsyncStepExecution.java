@@ -0,0 +1,92 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import jenkins.util.SystemProperties;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+
+/**
+ * Step execution that computes its result on a thread pool owned by the plugin, so that the CPS VM
+ * thread of the pipeline is not blocked while git or the build tools are running. The size of the
+ * pool can be set with the <code>io.jenkins.plugins.conventionalcommits.AsyncStepExecution
+ * .poolSize</code> system property.
+ *
+ * @param <T> The type of the result of the step.
+ */
+public abstract class AsyncStepExecution<T> extends StepExecution {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int POOL_SIZE =
+      SystemProperties.getInteger(AsyncStepExecution.class.getName() + ".poolSize", 10);
+
+  private static final ExecutorService EXECUTOR = createExecutor();
+
+  private transient volatile Future<?> task;
+
+  /**
+   * Constructor with fields initialisation.
+   *
+   * @param context Jenkins context
+   */
+  protected AsyncStepExecution(@Nonnull StepContext context) {
+    super(context);
+  }
+
+  private static ExecutorService createExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE,
+        60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new NamingThreadFactory(new DaemonThreadFactory(), "conventional-commits"));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Compute the result of the step, called on a thread of the plugin pool.
+   *
+   * @return The result of the step.
+   * @throws Exception If errors occurs, the step fails with it.
+   */
+  protected abstract T run() throws Exception;
+
+  @Override
+  public boolean start() throws Exception {
+    task = EXECUTOR.submit(() -> {
+      try {
+        getContext().onSuccess(run());
+      } catch (Throwable t) {
+        getContext().onFailure(t);
+      }
+    });
+    // the step completes later, from the pool
+    return false;
+  }
+
+  /**
+   * Stop the step: the computation is interrupted, which kills the running git or build tool
+   * commands, even when they are running on an agent.
+   *
+   * @param cause The reason of the stop.
+   */
+  @Override
+  public void stop(@Nonnull Throwable cause) throws Exception {
+    Future<?> running = task;
+    if (running != null) {
+      running.cancel(true);
+    }
+    getContext().onFailure(cause);
+  }
+
+  @Override
+  public void onResume() {
+    // like a synchronous step, the computation can not survive a restart of the controller
+    getContext().onFailure(new Exception("Resume after a restart not supported"));
+  }
+}
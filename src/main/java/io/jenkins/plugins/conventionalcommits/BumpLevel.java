@@ -0,0 +1,41 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import com.github.zafarkhaja.semver.Version;
+
+/** Kind of increment to apply to a version, from the lowest to the highest. */
+public enum BumpLevel {
+  // The commit does not require a new version (documentation for example)
+  NONE,
+  PATCH,
+  MINOR,
+  MAJOR;
+
+  /**
+   * Return the highest of two levels.
+   *
+   * @param other The other level.
+   * @return The highest level.
+   */
+  public BumpLevel max(BumpLevel other) {
+    return other.compareTo(this) > 0 ? other : this;
+  }
+
+  /**
+   * Increment a version according to the level.
+   *
+   * @param in The version to increment.
+   * @return The incremented version.
+   */
+  public Version apply(Version in) {
+    switch (this) {
+      case MAJOR:
+        return in.incrementMajorVersion();
+      case MINOR:
+        return in.incrementMinorVersion();
+      case PATCH:
+        return in.incrementPatchVersion();
+      default:
+        return in;
+    }
+  }
+}
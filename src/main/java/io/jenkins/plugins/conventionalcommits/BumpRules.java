@@ -0,0 +1,174 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rules giving the increment required by a commit type, or a type and a scope, like
+ * <code>perf: MINOR</code>, <code>deps(security): MINOR</code> or <code>docs: NONE</code>. The
+ * rules are separated by new lines or commas, the types and scopes are case insensitive.
+ *
+ * <p>The rules are compiled into a trie of the types and scopes, walked with the offsets of the
+ * parsed message, so looking a commit up does not allocate. The compiled rules are cached by text,
+ * a configuration is only parsed once per JVM. The built-in rule, <code>feat: MINOR</code>, can be
+ * overridden, the other types require a patch, and a breaking change always requires a major
+ * version.
+ */
+public final class BumpRules {
+
+  private static final int MAX_CACHED = 32;
+
+  private static final Map<String, BumpRules> CACHE =
+      new LinkedHashMap<String, BumpRules>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BumpRules> eldest) {
+          return size() > MAX_CACHED;
+        }
+      };
+
+  /** The built-in rules. */
+  public static final BumpRules DEFAULT = new BumpRules(builtIn());
+
+  private final Node root;
+
+  private BumpRules(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Return the compiled rules of a text, compiled once.
+   *
+   * @param rules The rules, one <code>type(scope): LEVEL</code> per line or separated by commas,
+   *     null or empty for the built-in rules.
+   * @return The compiled rules.
+   * @throws IllegalArgumentException If a rule can not be parsed.
+   */
+  public static BumpRules compile(String rules) {
+    if (rules == null || rules.trim().isEmpty()) {
+      return DEFAULT;
+    }
+    synchronized (CACHE) {
+      BumpRules compiled = CACHE.get(rules);
+      if (compiled == null) {
+        compiled = parse(rules);
+        CACHE.put(rules, compiled);
+      }
+      return compiled;
+    }
+  }
+
+  /**
+   * Check the rules of a text, without compiling them into the cache.
+   *
+   * @param rules The rules, one <code>type(scope): LEVEL</code> per line or separated by commas.
+   * @throws IllegalArgumentException If a rule can not be parsed.
+   */
+  public static void validate(String rules) {
+    if (rules != null && !rules.trim().isEmpty()) {
+      parse(rules);
+    }
+  }
+
+  private static Node builtIn() {
+    Node root = new Node();
+    root.add("feat", BumpLevel.MINOR);
+    return root;
+  }
+
+  private static BumpRules parse(String rules) {
+    Node root = builtIn();
+    for (String rule : rules.split("[,\\r\\n]+")) {
+      String trimmed = rule.trim();
+      if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+        continue;
+      }
+      int colon = trimmed.lastIndexOf(':');
+      if (colon <= 0) {
+        throw new IllegalArgumentException("Invalid bump rule '" + trimmed
+            + "', expected type(scope): LEVEL");
+      }
+      String key = trimmed.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+      if (!key.matches("[\\p{L}\\p{N}_-]+(\\([^()]+\\))?")) {
+        throw new IllegalArgumentException("Invalid type or scope in the bump rule '" + trimmed
+            + "'");
+      }
+      String level = trimmed.substring(colon + 1).trim().toUpperCase(Locale.ROOT);
+      try {
+        root.add(key, BumpLevel.valueOf(level));
+      } catch (IllegalArgumentException exp) {
+        throw new IllegalArgumentException("Invalid level in the bump rule '" + trimmed
+            + "', expected one of " + Arrays.toString(BumpLevel.values()), exp);
+      }
+    }
+    return new BumpRules(root);
+  }
+
+  /**
+   * Return the increment required by a parsed conventional commit, without its breaking change.
+   *
+   * @param parser The parser, holding a conventional message.
+   * @return The level of the rule of the type and scope, else of the type, else a patch.
+   */
+  BumpLevel level(CommitParser parser) {
+    CharSequence message = parser.getMessage();
+    Node node = root;
+    for (int i = parser.getTypeStart(); i < parser.getTypeEnd() && node != null; i++) {
+      node = node.next(message.charAt(i));
+    }
+    if (node == null) {
+      return BumpLevel.PATCH;
+    }
+    BumpLevel typeLevel = node.level != null ? node.level : BumpLevel.PATCH;
+    if (parser.getScopeStart() < 0) {
+      return typeLevel;
+    }
+
+    // the scope is stored after the type, between parentheses
+    node = node.next('(');
+    for (int i = parser.getScopeStart(); i < parser.getScopeEnd() && node != null; i++) {
+      node = node.next(message.charAt(i));
+    }
+    if (node != null) {
+      node = node.next(')');
+    }
+    return node != null && node.level != null ? node.level : typeLevel;
+  }
+
+  /** A node of the trie, its children by character. */
+  private static final class Node {
+    private char[] keys = new char[0];
+    private Node[] children = new Node[0];
+    private BumpLevel level;
+
+    private void add(String key, BumpLevel value) {
+      Node node = this;
+      for (int i = 0; i < key.length(); i++) {
+        char c = key.charAt(i);
+        Node child = node.next(c);
+        if (child == null) {
+          child = new Node();
+          node.keys = Arrays.copyOf(node.keys, node.keys.length + 1);
+          node.children = Arrays.copyOf(node.children, node.children.length + 1);
+          node.keys[node.keys.length - 1] = c;
+          node.children[node.children.length - 1] = child;
+        }
+        node = child;
+      }
+      node.level = value;
+    }
+
+    private Node next(char c) {
+      char lower = Character.toLowerCase(c);
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] == lower) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,353 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parser of the Conventional Commits grammar: a header <code>type(scope)!: description</code>,
+ * then a body and footers like <code>token: value</code> or <code>token #value</code>. The message
+ * is read once, the parser only records offsets in the message, so parsing does not allocate. The
+ * parsed parts are copied only when asked for.
+ *
+ * <p>A parser is reused for many messages, it is not thread safe.
+ */
+public final class CommitParser {
+
+  private static final String BREAKING_CHANGE = "BREAKING CHANGE";
+  private static final String BREAKING_CHANGE_HYPHEN = "BREAKING-CHANGE";
+
+  // Offsets of a footer in the footers array: token start and end, value start and end
+  private static final int FOOTER_SIZE = 4;
+
+  private CharSequence message;
+  private int typeStart;
+  private int typeEnd;
+  private int scopeStart;
+  private int scopeEnd;
+  private int descriptionStart;
+  private int descriptionEnd;
+  private boolean breaking;
+  private int footerCount;
+  private int[] footers = new int[FOOTER_SIZE * 4];
+
+  /**
+   * Parse a commit message, the previous one is forgotten.
+   *
+   * @param message The commit message.
+   * @return true if the header follows the Conventional Commits grammar.
+   */
+  public boolean parse(CharSequence message) {
+    this.message = message;
+    typeEnd = -1;
+    scopeStart = -1;
+    breaking = false;
+    footerCount = 0;
+
+    int length = message.length();
+    int end = lineEnd(0);
+    if (!parseHeader(end)) {
+      // not a conventional header, it can still be a breaking change footer
+      parseFooter(0, end);
+    }
+    int lastFooter = -1;
+    for (int start = nextLine(end); start < length; start = nextLine(end)) {
+      end = lineEnd(start);
+      if (parseFooter(start, end)) {
+        lastFooter = footerCount - 1;
+      } else if (lastFooter >= 0 && !isBlank(start, end)) {
+        // the value of a footer goes on until the next footer
+        footers[lastFooter * FOOTER_SIZE + 3] = trimEnd(start, end);
+      }
+    }
+    return isConventional();
+  }
+
+  /** Parse <code>type(scope)!: description</code>. */
+  private boolean parseHeader(int end) {
+    int i = 0;
+    while (i < end && isTokenChar(message.charAt(i))) {
+      i++;
+    }
+    if (i == 0) {
+      return false;
+    }
+    int tokenEnd = i;
+
+    int scopeFrom = -1;
+    int scopeTo = -1;
+    if (i < end && message.charAt(i) == '(') {
+      scopeFrom = i + 1;
+      i = scopeFrom;
+      while (i < end && message.charAt(i) != ')' && message.charAt(i) != '(') {
+        i++;
+      }
+      if (i == end || message.charAt(i) != ')' || i == scopeFrom) {
+        return false;
+      }
+      scopeTo = i++;
+    }
+
+    boolean exclamation = i < end && message.charAt(i) == '!';
+    if (exclamation) {
+      i++;
+    }
+    if (i == end || message.charAt(i) != ':') {
+      return false;
+    }
+
+    typeStart = 0;
+    typeEnd = tokenEnd;
+    scopeStart = scopeFrom;
+    scopeEnd = scopeTo;
+    breaking = exclamation;
+    descriptionStart = skipSpaces(i + 1, end);
+    descriptionEnd = trimEnd(descriptionStart, end);
+    return true;
+  }
+
+  /** Parse <code>token: value</code> or <code>token #value</code>. */
+  private boolean parseFooter(int start, int end) {
+    int i = start;
+    if (regionMatches(start, end, BREAKING_CHANGE, true)) {
+      // the only token with a space
+      i += BREAKING_CHANGE.length();
+    } else {
+      while (i < end && isTokenChar(message.charAt(i))) {
+        i++;
+      }
+      if (i == start) {
+        return false;
+      }
+    }
+    int tokenEnd = i;
+    int valueStart;
+    if (i + 1 < end && message.charAt(i) == ':' && isSpace(message.charAt(i + 1))) {
+      valueStart = skipSpaces(i + 2, end);
+    } else if (i + 1 < end && message.charAt(i) == ' ' && message.charAt(i + 1) == '#') {
+      valueStart = i + 1;
+    } else {
+      return false;
+    }
+
+    if (footers.length < (footerCount + 1) * FOOTER_SIZE) {
+      footers = Arrays.copyOf(footers, footers.length * 2);
+    }
+    int offset = footerCount * FOOTER_SIZE;
+    footers[offset] = start;
+    footers[offset + 1] = tokenEnd;
+    footers[offset + 2] = valueStart;
+    footers[offset + 3] = trimEnd(valueStart, end);
+    footerCount++;
+    if (isBreakingChange(footerCount - 1, false)) {
+      breaking = true;
+    }
+    return true;
+  }
+
+  /**
+   * Return true if the header follows the Conventional Commits grammar.
+   *
+   * @return true if the message has a type.
+   */
+  public boolean isConventional() {
+    return typeEnd >= 0;
+  }
+
+  /**
+   * Return true if the message has a breaking change: a <code>!</code> before the colon of the
+   * header, or a <code>BREAKING CHANGE</code> footer.
+   *
+   * @return true if the commit is a breaking change.
+   */
+  public boolean isBreaking() {
+    return breaking;
+  }
+
+  /**
+   * Compare the type of the message, the case is ignored.
+   *
+   * @param type The expected type, like <code>feat</code>.
+   * @return true if the message has this type.
+   */
+  public boolean isType(String type) {
+    return isConventional() && typeEnd - typeStart == type.length()
+        && regionMatches(typeStart, typeEnd, type, true);
+  }
+
+  /**
+   * Return the number of footers.
+   *
+   * @return The number of footers of the message.
+   */
+  public int getFooterCount() {
+    return footerCount;
+  }
+
+  /**
+   * Check if a footer is a breaking change.
+   *
+   * @param index The index of the footer.
+   * @param ignoreCase true to also accept tokens with the wrong case, which are not breaking
+   *     changes according to the specification.
+   * @return true if the token of the footer is <code>BREAKING CHANGE</code> or
+   *     <code>BREAKING-CHANGE</code>.
+   */
+  public boolean isBreakingChange(int index, boolean ignoreCase) {
+    int start = footers[index * FOOTER_SIZE];
+    int end = footers[index * FOOTER_SIZE + 1];
+    return end - start == BREAKING_CHANGE.length()
+        && (regionMatches(start, end, BREAKING_CHANGE, ignoreCase)
+            || regionMatches(start, end, BREAKING_CHANGE_HYPHEN, ignoreCase));
+  }
+
+  /**
+   * Return the type of the message.
+   *
+   * @return The type, null if the message is not conventional.
+   */
+  public String getType() {
+    return isConventional() ? message.subSequence(typeStart, typeEnd).toString() : null;
+  }
+
+  /**
+   * Return the scope of the message.
+   *
+   * @return The scope, null if none.
+   */
+  public String getScope() {
+    return isConventional() && scopeStart >= 0
+        ? message.subSequence(scopeStart, scopeEnd).toString() : null;
+  }
+
+  /**
+   * Return the description of the header.
+   *
+   * @return The description, null if the message is not conventional.
+   */
+  public String getDescription() {
+    return isConventional()
+        ? message.subSequence(descriptionStart, descriptionEnd).toString() : null;
+  }
+
+  /**
+   * Return the token of a footer.
+   *
+   * @param index The index of the footer.
+   * @return The token.
+   */
+  public String getFooterToken(int index) {
+    return message.subSequence(footers[index * FOOTER_SIZE], footers[index * FOOTER_SIZE + 1])
+        .toString();
+  }
+
+  /**
+   * Return the value of a footer, on several lines if it goes on after its first line.
+   *
+   * @param index The index of the footer.
+   * @return The value.
+   */
+  public String getFooterValue(int index) {
+    return message.subSequence(footers[index * FOOTER_SIZE + 2], footers[index * FOOTER_SIZE + 3])
+        .toString();
+  }
+
+  // Offsets of the type and the scope in the message, for the lookup of the bump rules
+
+  CharSequence getMessage() {
+    return message;
+  }
+
+  int getTypeStart() {
+    return typeStart;
+  }
+
+  int getTypeEnd() {
+    return typeEnd;
+  }
+
+  int getScopeStart() {
+    return scopeStart;
+  }
+
+  int getScopeEnd() {
+    return scopeEnd;
+  }
+
+  /**
+   * Copy the parsed message.
+   *
+   * @return The parsed message.
+   */
+  public ConventionalCommit toCommit() {
+    Map<String, String> values = new LinkedHashMap<>();
+    for (int i = 0; i < footerCount; i++) {
+      // a token used several times keeps all its values
+      values.merge(getFooterToken(i), getFooterValue(i), (first, next) -> first + "\n" + next);
+    }
+    return new ConventionalCommit(message.toString(), getType(), getScope(), getDescription(),
+        breaking, values);
+  }
+
+  private static boolean isTokenChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '-' || c == '_';
+  }
+
+  private static boolean isSpace(char c) {
+    return c == ' ' || c == '\t';
+  }
+
+  private int lineEnd(int start) {
+    int i = start;
+    while (i < message.length() && message.charAt(i) != '\n' && message.charAt(i) != '\r') {
+      i++;
+    }
+    return i;
+  }
+
+  private int nextLine(int lineEnd) {
+    int i = lineEnd;
+    if (i < message.length() && message.charAt(i) == '\r') {
+      i++;
+    }
+    if (i < message.length() && message.charAt(i) == '\n') {
+      i++;
+    }
+    return i == lineEnd ? message.length() : i;
+  }
+
+  private int skipSpaces(int start, int end) {
+    int i = start;
+    while (i < end && isSpace(message.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private int trimEnd(int start, int end) {
+    int i = end;
+    while (i > start && isSpace(message.charAt(i - 1))) {
+      i--;
+    }
+    return i;
+  }
+
+  private boolean isBlank(int start, int end) {
+    return skipSpaces(start, end) == end;
+  }
+
+  private boolean regionMatches(int start, int end, String token, boolean ignoreCase) {
+    if (end - start < token.length()) {
+      return false;
+    }
+    for (int i = 0; i < token.length(); i++) {
+      char c = message.charAt(start + i);
+      char expected = token.charAt(i);
+      if (c != expected && (!ignoreCase
+          || Character.toUpperCase(c) != Character.toUpperCase(expected))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
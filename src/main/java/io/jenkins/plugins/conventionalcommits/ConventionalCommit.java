@@ -0,0 +1,84 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** A parsed commit message, see {@link CommitParser}. */
+public class ConventionalCommit implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String message;
+  private final String type;
+  private final String scope;
+  private final String description;
+  private final boolean breaking;
+  private final Map<String, String> footers;
+
+  /**
+   * Constructor with fields initialisation.
+   *
+   * @param message The commit message.
+   * @param type The type, null if the message is not conventional.
+   * @param scope The scope, null if none.
+   * @param description The description of the header, null if the message is not conventional.
+   * @param breaking true if the commit is a breaking change.
+   * @param footers The values of the footers by token, in order.
+   */
+  public ConventionalCommit(String message, String type, String scope, String description,
+      boolean breaking, Map<String, String> footers) {
+    this.message = message;
+    this.type = type;
+    this.scope = scope;
+    this.description = description;
+    this.breaking = breaking;
+    this.footers = Collections.unmodifiableMap(new LinkedHashMap<>(footers));
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public String getScope() {
+    return scope;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public boolean isBreaking() {
+    return breaking;
+  }
+
+  public Map<String, String> getFooters() {
+    return footers;
+  }
+
+  /**
+   * Return the commit as a map, the form returned to a pipeline.
+   *
+   * @return The message, type, scope, description, breaking flag and footers of the commit.
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("message", message);
+    map.put("type", type);
+    map.put("scope", scope);
+    map.put("description", description);
+    map.put("breaking", breaking);
+    map.put("footers", new LinkedHashMap<>(footers));
+    return map;
+  }
+
+  @Override
+  public String toString() {
+    return message;
+  }
+}
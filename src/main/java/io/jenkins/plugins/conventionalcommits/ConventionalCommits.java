@@ -3,16 +3,40 @@ package io.jenkins.plugins.conventionalcommits;
 import com.github.zafarkhaja.semver.Version;
 import io.jenkins.plugins.conventionalcommits.utils.LogUtils;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
 /** Class to process conventional commit messages to get next version. */
 public class ConventionalCommits {
 
-  LogUtils logger = new LogUtils();
+  // Reused for every message, a ConventionalCommits is used by one thread
+  private final CommitParser parser = new CommitParser();
 
-  private List<String> filterMergeCommits(List<String> commits) {
-    return commits.stream().filter(s -> !s.startsWith("Merge")).collect(Collectors.toList());
+  private final BumpRules rules;
+  private final LogUtils logger;
+
+  /** Constructor, with the built-in rules: a feature requires a minor version. */
+  public ConventionalCommits() {
+    this(BumpRules.DEFAULT);
+  }
+
+  /**
+   * Constructor with the rules giving the increment of each type of commit.
+   *
+   * @param rules The compiled rules.
+   */
+  public ConventionalCommits(BumpRules rules) {
+    this(rules, LogUtils.get());
+  }
+
+  /**
+   * Constructor with the rules, and the logger of the build.
+   *
+   * @param rules The compiled rules.
+   * @param logger The logger, writing the warnings about the commits to the build console.
+   */
+  public ConventionalCommits(BumpRules rules, LogUtils logger) {
+    this.rules = rules;
+    this.logger = logger;
   }
 
   /**
@@ -23,50 +47,144 @@ public class ConventionalCommits {
    * @return The next calculated version (based on Semver).
    */
   public Version nextVersion(Version in, List<String> commits) {
-    List<String> filtered = filterMergeCommits(commits);
-    List<String> breaking =
-        filtered.stream()
-            .filter(s -> s.contains("!:") || breakingChangeFooter(s))
-            .collect(Collectors.toList());
-    List<String> features =
-        filtered.stream().filter(s -> s.startsWith("feat")).collect(Collectors.toList());
-
-    if (!breaking.isEmpty()) {
-      return in.incrementMajorVersion();
+    Accumulator accumulator = newAccumulator();
+    for (String commit : commits) {
+      if (!accumulator.test(commit)) {
+        break;
+      }
+    }
+    return accumulator.nextVersion(in);
+  }
+
+  /**
+   * Return a consumer to classify the commit messages one by one while they are read. Without
+   * any commit, a patch is required.
+   *
+   * @return A new accumulator, without any commit.
+   */
+  public Accumulator newAccumulator() {
+    return new Accumulator(BumpLevel.NONE, null, false);
+  }
+
+  /**
+   * Return a consumer to classify the commit messages one by one, continuing a previous
+   * classification.
+   *
+   * @param level The increment required by the commits already classified.
+   * @return A new accumulator, starting at the given level.
+   */
+  public Accumulator newAccumulator(BumpLevel level) {
+    return new Accumulator(level, null, true);
+  }
+
+  /**
+   * Return a consumer to classify the commit messages one by one, that also keeps them parsed.
+   * It reads all the commits, even after a breaking change.
+   *
+   * @param commits The list where the parsed commits are added.
+   * @return A new accumulator, without any commit.
+   */
+  public Accumulator newAccumulator(List<ConventionalCommit> commits) {
+    return new Accumulator(BumpLevel.NONE, commits, false);
+  }
+
+  /**
+   * Classify a commit message, parsed in a single pass over its characters.
+   *
+   * @param commit The commit message.
+   * @return The kind of increment required by the commit according to the rules, merge commits
+   *     and commits not following the grammar only require a patch.
+   */
+  public BumpLevel classify(String commit) {
+    if (commit.startsWith("Merge")) {
+      return BumpLevel.PATCH;
     }
 
-    if (!features.isEmpty()) {
-      return in.incrementMinorVersion();
+    parser.parse(commit);
+    if (parser.isBreaking()) {
+      return BumpLevel.MAJOR;
+    }
+    for (int i = 0; i < parser.getFooterCount(); i++) {
+      if (parser.isBreakingChange(i, true)) {
+        int footer = i;
+        logger.warning(() -> "'" + parser.getFooterToken(footer)
+            + ":' detected which is not compliant with Conventional Commits Guidelines "
+            + "(https://www.conventionalcommits.org/en/v1.0.0/#summary)");
+      }
     }
+    return parser.isConventional() ? rules.level(parser) : BumpLevel.PATCH;
+  }
 
-    return in.incrementPatchVersion();
+  /**
+   * Parse a commit message.
+   *
+   * @param commit The commit message.
+   * @return The type, scope, description, breaking flag and footers of the message.
+   */
+  public ConventionalCommit parse(String commit) {
+    parser.parse(commit);
+    return parser.toCommit();
   }
 
-  private boolean breakingChangeFooter(String commit) {
+  /**
+   * Consumer of commit messages that keeps track of the highest increment seen so far. It returns
+   * <code>false</code> once a breaking change is seen, as no other commit can change the result,
+   * unless the parsed commits are kept.
+   */
+  public class Accumulator implements Predicate<String> {
 
-    boolean result = false;
-    String[] lines = commit.split("[\\r\\n]+");
+    private BumpLevel level;
+    private boolean commits;
+    // True if the level comes from commits classified before
+    private final boolean continued;
+    // The parsed commits, null if they are not kept
+    private final List<ConventionalCommit> parsed;
 
-    for (String line : lines) {
-      if (line.startsWith("BREAKING CHANGE:") || line.startsWith("BREAKING-CHANGE:")) {
-        result = true;
-        break;
-      } else if (line.toLowerCase().startsWith("breaking change:")
-          || line.toLowerCase().startsWith("breaking-change:")) {
-        String keyword = line.substring(0, 16);
-        logger.log(
-            Level.INFO,
-            Level.INFO,
-            Level.FINE,
-            Level.FINE,
-            true,
-            "'"
-                + keyword
-                + "' detected which is not compliant with Conventional Commits Guidelines "
-                + "(https://www.conventionalcommits.org/en/v1.0.0/#summary)");
+    private Accumulator(BumpLevel level, List<ConventionalCommit> parsed, boolean continued) {
+      // use ConventionalCommits.newAccumulator()
+      this.level = level;
+      this.parsed = parsed;
+      this.continued = continued;
+    }
+
+    @Override
+    public boolean test(String commit) {
+      commits = true;
+      level = level.max(classify(commit));
+      if (parsed != null) {
+        // the parser still holds the commit
+        parsed.add(commit.startsWith("Merge") ? parse(commit) : parser.toCommit());
+        return true;
       }
+      return level != BumpLevel.MAJOR;
+    }
+
+    /**
+     * Return the highest increment required by the commits, a patch if there is no commit.
+     *
+     * @return The increment to apply to the version.
+     */
+    public BumpLevel getLevel() {
+      return commits || continued ? level : BumpLevel.PATCH;
     }
 
-    return result;
+    /**
+     * Return true if at least one commit was classified.
+     *
+     * @return true if the accumulator accepted a commit.
+     */
+    public boolean hasCommits() {
+      return commits;
+    }
+
+    /**
+     * Return the next semantic version based on the commits accepted so far.
+     *
+     * @param in The current semantic version.
+     * @return The next calculated version (based on Semver).
+     */
+    public Version nextVersion(Version in) {
+      return getLevel().apply(in);
+    }
   }
 }
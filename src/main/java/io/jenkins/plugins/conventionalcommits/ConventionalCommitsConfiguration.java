@@ -0,0 +1,78 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.util.FormValidation;
+import jenkins.model.GlobalConfiguration;
+import jenkins.model.Jenkins;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
+
+/**
+ * Global configuration of the plugin: the default bump rules, used by the steps without rules.
+ */
+@Extension
+@Symbol("conventionalCommits")
+public class ConventionalCommitsConfiguration extends GlobalConfiguration {
+
+  // Rules like "perf: MINOR", see BumpRules, null for the built-in rules
+  private String bumpRules;
+
+  /** Constructor, loading the saved configuration. */
+  public ConventionalCommitsConfiguration() {
+    load();
+  }
+
+  /**
+   * Return the configuration.
+   *
+   * @return The singleton configuration.
+   */
+  public static ConventionalCommitsConfiguration get() {
+    return ExtensionList.lookupSingleton(ConventionalCommitsConfiguration.class);
+  }
+
+  /**
+   * Return the default bump rules, when Jenkins is running.
+   *
+   * @return The configured rules, null if none.
+   */
+  public static String getDefaultBumpRules() {
+    return Jenkins.getInstanceOrNull() == null ? null : get().getBumpRules();
+  }
+
+  public String getBumpRules() {
+    return bumpRules;
+  }
+
+  /**
+   * Set the default bump rules.
+   *
+   * @param bumpRules The rules, one <code>type(scope): LEVEL</code> per line.
+   */
+  @DataBoundSetter
+  public void setBumpRules(String bumpRules) {
+    this.bumpRules = bumpRules == null || bumpRules.trim().isEmpty() ? null : bumpRules;
+    save();
+  }
+
+  /**
+   * Check the bump rules of the form, for the administrators configuring them. The rules typed
+   * are not cached, only the ones of the steps.
+   *
+   * @param value The rules.
+   * @return An error if a rule can not be parsed.
+   */
+  @POST
+  public FormValidation doCheckBumpRules(@QueryParameter String value) {
+    Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+    try {
+      BumpRules.validate(value);
+      return FormValidation.ok();
+    } catch (IllegalArgumentException exp) {
+      return FormValidation.error(exp.getMessage());
+    }
+  }
+}
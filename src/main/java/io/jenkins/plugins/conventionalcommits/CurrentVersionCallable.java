@@ -0,0 +1,65 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import com.github.zafarkhaja.semver.Version;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import io.jenkins.plugins.conventionalcommits.utils.CurrentVersion;
+import io.jenkins.plugins.conventionalcommits.utils.GradleProjectType;
+import io.jenkins.plugins.conventionalcommits.utils.SemverTagResolver;
+import io.jenkins.plugins.conventionalcommits.utils.TagsHelper;
+import java.io.File;
+import java.io.IOException;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Read the current version where the workspace is, only the version is sent back to the
+ * controller.
+ */
+public class CurrentVersionCallable extends MasterToSlaveFileCallable<String> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final TaskListener listener;
+  // Prefix and glob of the version tags
+  private final String tagPrefix;
+  private final String tagPattern;
+  private final GradleProjectType.Mode gradleMode;
+  private final String projectType;
+
+  /**
+   * Constructor with fields initialisation.
+   *
+   * @param step The step and its parameters.
+   * @param listener The build listener, to log in the console.
+   */
+  public CurrentVersionCallable(CurrentVersionStep step, TaskListener listener) {
+    this.listener = listener;
+    this.tagPrefix = step.getTagPrefix();
+    this.tagPattern = step.getTagPattern();
+    this.gradleMode = step.getGradleMode();
+    this.projectType = step.getProjectType();
+  }
+
+  /**
+   * Read the current version.
+   *
+   * @param dir The workspace, on the agent.
+   * @param channel The channel to the controller.
+   * @return The current version.
+   * @throws IOException If an error occurs accessing files.
+   * @throws InterruptedException If a command is interrupted.
+   */
+  @Override
+  public String invoke(File dir, VirtualChannel channel) throws IOException, InterruptedException {
+    SemverTagResolver resolver = new SemverTagResolver(tagPrefix, tagPattern);
+    String latestTag = TagsHelper.getLatestTag(listener, dir, false, resolver);
+
+    CurrentVersion current = new CurrentVersion();
+    current.setGradleMode(gradleMode);
+    current.setProjectType(projectType);
+    Version currentVersion = current.getCurrentVersion(dir, resolver.stripPrefix(latestTag),
+        listener.getLogger());
+
+    return currentVersion.toString();
+  }
+}
@@ -1,22 +1,27 @@
 package io.jenkins.plugins.conventionalcommits;
 
-import com.github.zafarkhaja.semver.Version;
 import com.google.common.collect.ImmutableSet;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import hudson.Extension;
 import hudson.FilePath;
+import hudson.model.Run;
 import hudson.model.TaskListener;
-import io.jenkins.plugins.conventionalcommits.utils.CurrentVersion;
-import io.jenkins.plugins.conventionalcommits.utils.TagsHelper;
-import java.io.File;
+import hudson.util.ListBoxModel;
+import io.jenkins.plugins.conventionalcommits.metrics.MeasuredCallable;
+import io.jenkins.plugins.conventionalcommits.metrics.Measurement;
+import io.jenkins.plugins.conventionalcommits.metrics.MetricsRecorder;
+import io.jenkins.plugins.conventionalcommits.utils.GradleProjectType;
 import java.io.IOException;
 import java.util.Set;
 import javax.annotation.Nonnull;
+import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.workflow.steps.Step;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
 import org.jenkinsci.plugins.workflow.steps.StepExecution;
-import org.jenkinsci.plugins.workflow.steps.SynchronousStepExecution;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.StaplerRequest;
 
 /**
  * Step to get the current version of the project. Example :
@@ -24,31 +29,82 @@ import org.kohsuke.stapler.DataBoundConstructor;
  */
 public class CurrentVersionStep extends Step {
 
+  // Prefix of the version tags, like "v"
+  private String tagPrefix;
+  // Glob of the version tags, the prefix followed by anything by default
+  private String tagPattern;
+  // How the version of a Gradle project is read
+  private GradleProjectType.Mode gradleMode;
+  // Type of the project (maven, gradle...), detected when not set
+  private String projectType;
+
   @DataBoundConstructor
   public CurrentVersionStep() {
     // empty constructor, for now...
   }
 
+  public String getTagPrefix() {
+    return tagPrefix;
+  }
+
+  @DataBoundSetter
+  public void setTagPrefix(String tagPrefix) {
+    this.tagPrefix = tagPrefix;
+  }
+
+  public String getTagPattern() {
+    return tagPattern;
+  }
+
+  @DataBoundSetter
+  public void setTagPattern(String tagPattern) {
+    this.tagPattern = tagPattern;
+  }
+
+  public GradleProjectType.Mode getGradleMode() {
+    return gradleMode;
+  }
+
+  @DataBoundSetter
+  public void setGradleMode(GradleProjectType.Mode gradleMode) {
+    this.gradleMode = gradleMode;
+  }
+
+  public String getProjectType() {
+    return projectType;
+  }
+
+  @DataBoundSetter
+  public void setProjectType(String projectType) {
+    this.projectType = projectType;
+  }
+
   @Override
   public StepExecution start(StepContext stepContext) throws Exception {
-    return new Execution(stepContext);
+    return new Execution(this, stepContext);
   }
 
   /**
    * This class extends Step Execution class, contains the run method. This is the main entry point
    * of the step.
    */
-  public static class Execution extends SynchronousStepExecution<String> {
+  public static class Execution extends AsyncStepExecution<String> {
 
     private static final long serialVersionUID = 1L;
 
+    @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED",
+        justification = "Only used when starting.")
+    private final transient CurrentVersionStep step;
+
     /**
      * Constructor with fields initialisation.
      *
+     * @param step The step and its parameters
      * @param context Jenkins context
      */
-    protected Execution(@Nonnull StepContext context) {
+    protected Execution(CurrentVersionStep step, @Nonnull StepContext context) {
       super(context);
+      this.step = step;
     }
 
     /**
@@ -64,14 +120,12 @@ public class CurrentVersionStep extends Step {
         throw new IOException("no workspace");
       }
 
-      // if the workspace is remote then lets make a local copy
-      File dir = new File(workspace.getRemote());
-      String latestTag = TagsHelper.getLatestTag(getContext(), dir, false);
-
-      Version currentVersion = new CurrentVersion().getCurrentVersion(dir, latestTag,
-          getContext().get(TaskListener.class).getLogger());
-
-      return currentVersion.toString();
+      // run on the agent where the workspace is, only the current version comes back
+      TaskListener listener = getContext().get(TaskListener.class);
+      Measurement<String> measurement =
+          workspace.act(new MeasuredCallable<>(new CurrentVersionCallable(step, listener)));
+      MetricsRecorder.record(getContext().get(Run.class), "currentVersion", measurement);
+      return measurement.getValue();
     }
   }
 
@@ -95,5 +149,28 @@ public class CurrentVersionStep extends Step {
     public String getFunctionName() {
       return "currentVersion";
     }
+
+    /**
+     * Fill the Gradle modes, the first one leaving the mode unset.
+     *
+     * @return The items of the Gradle mode list.
+     */
+    public ListBoxModel doFillGradleModeItems() {
+      ListBoxModel items = new ListBoxModel();
+      items.add("(default)", "");
+      for (GradleProjectType.Mode mode : GradleProjectType.Mode.values()) {
+        items.add(mode.name());
+      }
+      return items;
+    }
+
+    @Override
+    public Step newInstance(StaplerRequest req, JSONObject formData) throws FormException {
+      // the blank choice is not a mode, the parameter stays unset
+      if (formData.optString("gradleMode").isEmpty()) {
+        formData.remove("gradleMode");
+      }
+      return super.newInstance(req, formData);
+    }
   }
 }
@@ -0,0 +1,298 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import static io.jenkins.plugins.conventionalcommits.utils.TagsHelper.getLatestTag;
+
+import com.github.zafarkhaja.semver.Version;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import io.jenkins.plugins.conventionalcommits.git.GitHelper;
+import io.jenkins.plugins.conventionalcommits.metrics.StepMetrics;
+import io.jenkins.plugins.conventionalcommits.utils.CurrentVersion;
+import io.jenkins.plugins.conventionalcommits.utils.ProjectCache;
+import io.jenkins.plugins.conventionalcommits.utils.SemverTagResolver;
+import io.jenkins.plugins.conventionalcommits.utils.WriteVersion;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Compute the next version of several projects of a repository (a monorepo) where the workspace
+ * is. The history is read once, with the paths changed by each commit: a commit counts for the
+ * projects whose directory contains one of its paths. The versions of the projects are then
+ * computed in parallel, then written one project at a time.
+ */
+public class MonorepoVersionCallable extends MasterToSlaveFileCallable<Map<String, String>> {
+
+  private static final long serialVersionUID = 1L;
+
+  // The directories of the projects, or globs of directories, relative to the workspace
+  private final List<String> projects;
+  // The options of the versions, the same as for a single project
+  private final NextVersionCallable options;
+  private final TaskListener listener;
+
+  /**
+   * Constructor with fields initialisation.
+   *
+   * @param step The step and its parameters.
+   * @param listener The build listener, to log in the console.
+   * @throws IllegalArgumentException If a parameter of a single project is set.
+   */
+  public MonorepoVersionCallable(NextVersionStep step, TaskListener listener) {
+    // the projects are the paths, and each of them has its own commits
+    if (step.getPath() != null && !step.getPath().trim().isEmpty()) {
+      throw new IllegalArgumentException("The parameters path and projects can not be combined,"
+          + " the directories of the projects are the paths of the commits");
+    }
+    if (step.isReturnCommits()) {
+      throw new IllegalArgumentException("The parameters returnCommits and projects can not be"
+          + " combined, only the next version of each project is returned");
+    }
+    this.projects = step.getProjectList();
+    this.options = new NextVersionCallable(step, listener, null);
+    this.listener = listener;
+  }
+
+  /**
+   * Compute the next versions.
+   *
+   * @param dir The workspace, on the agent.
+   * @param channel The channel to the controller.
+   * @return The next version of each project, by directory.
+   * @throws IOException If an error occurs accessing files.
+   * @throws InterruptedException If a command is interrupted.
+   */
+  @Override
+  public Map<String, String> invoke(File dir, VirtualChannel channel)
+      throws IOException, InterruptedException {
+    Set<String> modules = expand(dir.toPath(), projects);
+    if (modules.isEmpty()) {
+      throw new IOException("No project directory matches " + projects);
+    }
+
+    SemverTagResolver resolver = options.newTagResolver();
+    options.deepen(dir, resolver);
+    options.updateCommitGraph(dir);
+    String latestTag = getLatestTag(listener, dir, options.isNonAnnotatedTag(), resolver);
+    List<String> excluded = latestTag.isEmpty()
+        ? Collections.emptyList() : Collections.singletonList(latestTag);
+
+    // one classification per project, filled by a single walk of the history
+    ConventionalCommits conventionalCommits = options.newConventionalCommits();
+    Map<String, ConventionalCommits.Accumulator> commits = new HashMap<>();
+    for (String module : modules) {
+      commits.put(module, conventionalCommits.newAccumulator());
+    }
+    Set<String> breaking = new HashSet<>();
+    // only the commits changing a project are read, git prunes the other ones
+    List<String> paths = new ArrayList<>(modules);
+    // the walk and the classification are timed once, the commits counted once
+    StepMetrics metrics = StepMetrics.current();
+    long[] count = {0};
+    try (StepMetrics.Split split = metrics.start(StepMetrics.LOG)) {
+      GitHelper git = options.newGitHelper(dir);
+      git.walkCommitPaths(excluded, paths, options.isIncludeBody(), (message, changed) -> {
+        count[0]++;
+        Set<String> touched = new HashSet<>();
+        for (String path : changed) {
+          // the path counts for every project containing it, nested ones included
+          for (int end = path.lastIndexOf('/'); end > 0; end = path.lastIndexOf('/', end - 1)) {
+            String parent = path.substring(0, end);
+            if (commits.containsKey(parent)) {
+              touched.add(parent);
+            }
+          }
+        }
+        for (String module : touched) {
+          if (!commits.get(module).test(message)) {
+            breaking.add(module);
+          }
+        }
+        // no commit can change the result once all the projects have a breaking change
+        return breaking.size() < commits.size();
+      });
+    } finally {
+      metrics.add(StepMetrics.COMMITS, count[0]);
+    }
+
+    // the versions are read in parallel, then written one project at a time, as the write of a
+    // project can change the files of a nested one (the modules of a Maven reactor)
+    ExecutorService executor = Executors.newFixedThreadPool(
+        Math.min(modules.size(), Runtime.getRuntime().availableProcessors()),
+        new NamingThreadFactory(new DaemonThreadFactory(), "conventional-commits monorepo"));
+    Map<String, Version> versions = new TreeMap<>();
+    try {
+      Map<String, Future<Version>> futures = new LinkedHashMap<>();
+      for (String module : modules) {
+        // a project without any commit keeps its version
+        ConventionalCommits.Accumulator accumulator =
+            commits.get(module).hasCommits() ? commits.get(module) : null;
+        futures.put(module, executor.submit(metrics.wrap(ProjectCache.wrap(
+            () -> nextVersion(new File(dir, module), module, accumulator)))));
+      }
+      for (Map.Entry<String, Future<Version>> version : futures.entrySet()) {
+        versions.put(version.getKey(), get(version.getValue()));
+      }
+    } finally {
+      // stop the other projects when one fails or the step is interrupted
+      executor.shutdownNow();
+    }
+
+    Map<String, String> result = new TreeMap<>();
+    for (Map.Entry<String, Version> version : versions.entrySet()) {
+      String module = version.getKey();
+      if (options.isWriteVersion() && commits.get(module).hasCommits()) {
+        WriteVersion writer = new WriteVersion();
+        writer.setProjectType(options.getProjectType());
+        listener.getLogger().println(
+            module + ": " + writer.write(version.getValue(), new File(dir, module)));
+      }
+      result.put(module, version.getValue().toString());
+    }
+    return result;
+  }
+
+  /**
+   * Compute the next version of a project.
+   *
+   * @param accumulator The classification of the commits of the project, null if none.
+   */
+  private Version nextVersion(File directory, String module,
+      ConventionalCommits.Accumulator accumulator) throws IOException, InterruptedException {
+    // each project has its own version, the tags of the repository are not compared to it
+    CurrentVersion current = new CurrentVersion();
+    current.setGradleMode(options.getGradleMode());
+    current.setProjectType(options.getProjectType());
+    Version currentVersion = current.getCurrentVersion(directory, "", listener.getLogger());
+    if (accumulator == null) {
+      listener.getLogger().println(module + ": " + currentVersion + " (no change)");
+      return currentVersion;
+    }
+
+    Version nextVersion = options.nextVersion(currentVersion, accumulator.getLevel());
+    listener.getLogger().println(module + ": " + nextVersion);
+    return nextVersion;
+  }
+
+  /**
+   * Wait for the version of a project, and rethrow its failure.
+   */
+  private static <T> T get(Future<T> version) throws IOException, InterruptedException {
+    try {
+      return version.get();
+    } catch (ExecutionException exp) {
+      Throwable cause = exp.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof InterruptedException) {
+        throw (InterruptedException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Return the directories of the projects, relative to the workspace. The globs, like
+   * <code>services/*</code>, are matched against the directories of the workspace, the hidden
+   * ones excepted, down to the depth of the deepest glob (the whole tree for <code>**</code>).
+   *
+   * @param workspace The workspace.
+   * @param projects The directories and globs.
+   * @return The directories, separated by '/', in order.
+   * @throws IOException If a directory does not exist, or the workspace can not be read.
+   */
+  static Set<String> expand(Path workspace, List<String> projects) throws IOException {
+    Set<String> modules = new TreeSet<>();
+    List<PathMatcher> globs = new ArrayList<>();
+    int depth = 0;
+    for (String project : projects) {
+      String path = normalize(project);
+      if (path.matches(".*[*?\\[{].*")) {
+        globs.add(FileSystems.getDefault().getPathMatcher("glob:" + path));
+        depth = path.contains("**") ? Integer.MAX_VALUE
+            : Math.max(depth, path.split("/").length);
+      } else if (Files.isDirectory(workspace.resolve(path)) && !path.isEmpty()) {
+        modules.add(path);
+      } else {
+        throw new IOException("The project directory does not exist: " + project);
+      }
+    }
+    if (globs.isEmpty()) {
+      return modules;
+    }
+
+    // the directories deeper than the globs can not match, unless a glob crosses directories
+    Files.walkFileTree(workspace, Collections.emptySet(), depth, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+        if (dir.equals(workspace)) {
+          return FileVisitResult.CONTINUE;
+        }
+        if (dir.getFileName().toString().startsWith(".")) {
+          return FileVisitResult.SKIP_SUBTREE;
+        }
+        match(dir);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        // the directories at the maximum depth are visited as files
+        if (attrs.isDirectory() && !file.getFileName().toString().startsWith(".")) {
+          match(file);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      private void match(Path dir) {
+        Path relative = workspace.relativize(dir);
+        for (PathMatcher glob : globs) {
+          if (glob.matches(relative)) {
+            modules.add(relative.toString().replace(File.separatorChar, '/'));
+            break;
+          }
+        }
+      }
+    });
+    return modules;
+  }
+
+  /** Use '/' as separator, without leading, trailing or repeated ones. */
+  private static String normalize(String project) {
+    String path = project.trim().replace('\\', '/').replaceAll("/+", "/");
+    if (path.startsWith("./")) {
+      path = path.substring(2);
+    }
+    if (path.startsWith("/")) {
+      path = path.substring(1);
+    }
+    return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+  }
+}
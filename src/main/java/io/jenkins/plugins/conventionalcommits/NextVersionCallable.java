@@ -0,0 +1,349 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import static io.jenkins.plugins.conventionalcommits.utils.TagsHelper.getLatestTag;
+
+import com.github.zafarkhaja.semver.Version;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import io.jenkins.plugins.conventionalcommits.git.CliGitHelper;
+import io.jenkins.plugins.conventionalcommits.git.CommitGraph;
+import io.jenkins.plugins.conventionalcommits.git.GitHelper;
+import io.jenkins.plugins.conventionalcommits.git.GitHelperFactory;
+import io.jenkins.plugins.conventionalcommits.git.ShallowHistory;
+import io.jenkins.plugins.conventionalcommits.metrics.StepMetrics;
+import io.jenkins.plugins.conventionalcommits.utils.CurrentVersion;
+import io.jenkins.plugins.conventionalcommits.utils.GradleProjectType;
+import io.jenkins.plugins.conventionalcommits.utils.LogUtils;
+import io.jenkins.plugins.conventionalcommits.utils.SemverTagResolver;
+import io.jenkins.plugins.conventionalcommits.utils.TagsHelper;
+import io.jenkins.plugins.conventionalcommits.utils.VersionIndex;
+import io.jenkins.plugins.conventionalcommits.utils.WriteVersion;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jenkins.MasterToSlaveFileCallable;
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Compute the next version where the workspace is. The tag lookup, the log walk, the project type
+ * detection and the write of the version are done on the agent, only the next version is sent
+ * back to the controller.
+ */
+public class NextVersionCallable extends MasterToSlaveFileCallable<Object> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String buildMetadata;
+  private final boolean writeVersion;
+  // Pre release information to add to the next version
+  private final String preRelease;
+  // True to preserve in the next version the prerelease information (if set)
+  private final boolean preservePreRelease;
+  // True to increment prerelease information instead of the version itself
+  private final boolean incrementPreRelease;
+  // True if non annotated tags are supported
+  private final boolean nonAnnotatedTag;
+  // Prefix and glob of the version tags
+  private final String tagPrefix;
+  private final String tagPattern;
+  private final GradleProjectType.Mode gradleMode;
+  // Type of the project, null to detect it
+  private final String projectType;
+  private final TaskListener listener;
+  // Path the commits are limited to, relative to the workspace, empty for all the commits
+  private final String path;
+  // True to return the parsed commits with the next version
+  private final boolean returnCommits;
+  // True to read the full commit messages, with their body and footers
+  private final boolean includeBody;
+  // Increment of each type of commit, empty for the built-in rules
+  private final String bumpRules;
+  // Path of the version index, on the agent, null to not use an index
+  private final String indexPath;
+  // Source of the history of a shallow clone, null to use the clone as it is
+  private final String deepenFrom;
+  // True to update the commit-graph and walk the history with git, which uses it
+  private final boolean commitGraph;
+
+  /**
+   * Constructor with fields initialisation.
+   *
+   * @param step The step and its parameters.
+   * @param listener The build listener, to log in the console.
+   * @param indexPath Path of the version index file, null to read all the commits.
+   */
+  public NextVersionCallable(NextVersionStep step, TaskListener listener, String indexPath) {
+    this.buildMetadata = step.getBuildMetadata();
+    this.writeVersion = step.isWriteVersion();
+    this.preRelease = step.getPreRelease();
+    this.preservePreRelease = step.isPreservePreRelease();
+    this.incrementPreRelease = step.isIncrementPreRelease();
+    this.nonAnnotatedTag = step.isNonAnnotatedTag();
+    this.tagPrefix = step.getTagPrefix();
+    this.tagPattern = step.getTagPattern();
+    this.gradleMode = step.getGradleMode();
+    this.projectType = step.getProjectType();
+    this.path = step.getPath() == null ? "" : step.getPath().trim();
+    this.returnCommits = step.isReturnCommits();
+    this.includeBody = step.isIncludeBody();
+    // the global configuration is only available on the controller, it is read here
+    String rules = StringUtils.isNotBlank(step.getBumpRules())
+        ? step.getBumpRules() : ConventionalCommitsConfiguration.getDefaultBumpRules();
+    this.bumpRules = StringUtils.isBlank(rules) ? "" : rules.trim();
+    // invalid rules fail the step before anything is read
+    BumpRules.compile(this.bumpRules);
+    this.listener = listener;
+    this.indexPath = indexPath;
+    String source = step.getDeepenFrom();
+    this.deepenFrom = StringUtils.isBlank(source) ? null : source.trim();
+    this.commitGraph = step.isCommitGraph();
+  }
+
+  /**
+   * Compute the next version.
+   *
+   * @param dir The workspace, on the agent.
+   * @param channel The channel to the controller.
+   * @return The next version, or a map of the next version and of the parsed commits.
+   * @throws IOException If an error occurs accessing files.
+   * @throws InterruptedException If a command is interrupted.
+   */
+  @Override
+  public Object invoke(File dir, VirtualChannel channel) throws IOException, InterruptedException {
+    SemverTagResolver resolver = newTagResolver();
+    deepen(dir, resolver);
+    updateCommitGraph(dir);
+    String latestTag = getLatestTag(listener, dir, nonAnnotatedTag, resolver);
+
+    CurrentVersion current = new CurrentVersion();
+    current.setGradleMode(gradleMode);
+    current.setProjectType(projectType);
+    Version currentVersion = current.getCurrentVersion(dir, resolver.stripPrefix(latestTag),
+        listener.getLogger());
+
+    List<ConventionalCommit> parsed = returnCommits ? new ArrayList<>() : null;
+    BumpLevel level = null;
+    if (!incrementsPreRelease(currentVersion) || parsed != null) {
+      // based on the commits between the tag and HEAD (all the history if no tag),
+      // determine how to bump the version while the log is read
+      level = bumpLevel(dir, latestTag, parsed);
+    }
+    Version nextVersion = nextVersion(currentVersion, level);
+
+    listener.getLogger().println(nextVersion);
+
+    if (writeVersion) {
+      WriteVersion writer = new WriteVersion();
+      writer.setProjectType(projectType);
+      String writeLog = writer.write(nextVersion, dir);
+      listener.getLogger().println(writeLog);
+    }
+
+    if (parsed == null) {
+      return nextVersion.toString();
+    }
+    List<Map<String, Object>> commits = new ArrayList<>();
+    for (ConventionalCommit commit : parsed) {
+      commits.add(commit.toMap());
+    }
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("version", nextVersion.toString());
+    result.put("commits", commits);
+    return result;
+  }
+
+  /**
+   * Return true if the pre-release information of the version is incremented, instead of the
+   * version itself. The commits are not needed then.
+   */
+  boolean incrementsPreRelease(Version currentVersion) {
+    return incrementPreRelease && StringUtils.isNotEmpty(currentVersion.getPreReleaseVersion());
+  }
+
+  /**
+   * Apply the increment and the pre-release and build metadata options to the current version.
+   *
+   * @param currentVersion The current version.
+   * @param level The increment required by the commits, not used if the pre-release information
+   *     is incremented.
+   * @return The next version.
+   */
+  Version nextVersion(Version currentVersion, BumpLevel level) {
+    Version nextVersion;
+    if (incrementsPreRelease(currentVersion)) {
+      nextVersion = currentVersion.incrementPreReleaseVersion();
+    } else {
+      nextVersion = level.apply(currentVersion);
+    }
+    if (StringUtils.isNotBlank(buildMetadata)) {
+      nextVersion = nextVersion.setBuildMetadata(buildMetadata);
+    }
+
+    // Keep (or not) the pre-release information only if incrementPreRelease is not set
+    if (!incrementPreRelease && StringUtils.isNotBlank(currentVersion.getPreReleaseVersion())) {
+      if (preservePreRelease) {
+        nextVersion = nextVersion.setPreReleaseVersion(currentVersion.getPreReleaseVersion());
+      } else {
+        if (!StringUtils.isNotBlank(preRelease)) {
+          nextVersion = Version.valueOf(currentVersion.getNormalVersion());
+        }
+      }
+    }
+
+    // If pre-release information, add it
+    if (StringUtils.isNotBlank(preRelease)) {
+      nextVersion = nextVersion.setPreReleaseVersion(preRelease);
+    }
+    return nextVersion;
+  }
+
+  /**
+   * Deepen a shallow clone until its history reaches the latest version tag, when a source of the
+   * history is set. The tag is selected as the step does, the nearest annotated tag matching the
+   * glob, or the highest semantic version reachable with the lightweight tags.
+   *
+   * @param dir The workspace.
+   * @param resolver The prefix and the glob of the version tags.
+   */
+  void deepen(File dir, SemverTagResolver resolver) throws IOException, InterruptedException {
+    if (deepenFrom == null) {
+      return;
+    }
+    try (StepMetrics.Split split = StepMetrics.current().start(StepMetrics.DEEPEN)) {
+      new ShallowHistory(dir, deepenFrom, LogUtils.of(listener)).deepen(
+          nonAnnotatedTag ? resolver::isVersionTag : resolver::matches, !nonAnnotatedTag,
+          nonAnnotatedTag ? resolver.versionOrder() : null,
+          () -> TagsHelper.selectLatestTag(dir, nonAnnotatedTag, resolver));
+    }
+  }
+
+  /**
+   * Update the commit-graph of the repository when it is used for the walks.
+   *
+   * @param dir The workspace.
+   */
+  void updateCommitGraph(File dir) throws InterruptedException {
+    if (commitGraph) {
+      try (StepMetrics.Split split = StepMetrics.current().start(StepMetrics.COMMIT_GRAPH)) {
+        new CommitGraph(dir, LogUtils.of(listener)).update();
+      }
+    }
+  }
+
+  /**
+   * Return the helper walking the history: the git command line when the commit-graph is used, as
+   * JGit does not read a commit-graph written in layers, JGit otherwise.
+   */
+  GitHelper newGitHelper(File dir) {
+    return commitGraph ? new CliGitHelper(dir) : GitHelperFactory.getGitHelper(dir);
+  }
+
+  SemverTagResolver newTagResolver() {
+    return new SemverTagResolver(tagPrefix, tagPattern);
+  }
+
+  boolean isNonAnnotatedTag() {
+    return nonAnnotatedTag;
+  }
+
+  boolean isIncludeBody() {
+    return includeBody;
+  }
+
+  boolean isWriteVersion() {
+    return writeVersion;
+  }
+
+  String getProjectType() {
+    return projectType;
+  }
+
+  GradleProjectType.Mode getGradleMode() {
+    return gradleMode;
+  }
+
+  /**
+   * Return the classification of the commits, with the compiled rules of the step, warning about
+   * the commits in the build console.
+   */
+  ConventionalCommits newConventionalCommits() {
+    return new ConventionalCommits(BumpRules.compile(bumpRules), LogUtils.of(listener));
+  }
+
+  /**
+   * Classify the commits between the tag and HEAD. When the index of a previous build was
+   * computed from the same tag and from an ancestor of HEAD, only the new commits are read, unless
+   * the parsed commits are kept.
+   */
+  private BumpLevel bumpLevel(File dir, String latestTag, List<ConventionalCommit> parsed)
+      throws IOException, InterruptedException {
+    GitHelper git = newGitHelper(dir);
+    List<String> excluded = new ArrayList<>();
+    if (!latestTag.isEmpty()) {
+      excluded.add(latestTag);
+    }
+
+    File indexFile = indexPath == null ? null : new File(indexPath);
+    String head = indexFile == null ? "" : git.resolveCommit("HEAD");
+    String tagCommit = head.isEmpty() || latestTag.isEmpty() ? "" : git.resolveCommit(latestTag);
+    VersionIndex index = head.isEmpty() || parsed != null ? null : VersionIndex.load(indexFile);
+
+    BumpLevel indexed = null;
+    StepMetrics metrics = StepMetrics.current();
+    if (index != null && index.isSameTag(latestTag, tagCommit) && index.isSamePath(path)
+        && index.isSameBody(includeBody) && index.isSameRules(bumpRules)) {
+      if (index.getHead().equals(head)) {
+        metrics.increment(StepMetrics.INDEX_HITS);
+        return index.getBumpLevel();
+      }
+      if (git.isAncestor(index.getHead(), head)) {
+        // the commits of the indexed history were already classified
+        indexed = index.getBumpLevel();
+        excluded.add(index.getHead());
+      }
+    }
+    if (!head.isEmpty() && parsed == null) {
+      metrics.increment(indexed != null ? StepMetrics.INDEX_HITS : StepMetrics.INDEX_MISSES);
+    }
+
+    ConventionalCommits conventionalCommits = newConventionalCommits();
+    ConventionalCommits.Accumulator commits;
+    if (parsed != null) {
+      commits = conventionalCommits.newAccumulator(parsed);
+    } else if (indexed != null) {
+      commits = conventionalCommits.newAccumulator(indexed);
+    } else {
+      commits = conventionalCommits.newAccumulator();
+    }
+    if (indexed != BumpLevel.MAJOR) {
+      // the commits not changing the path are pruned by the git walk, they are not read
+      // the walk and the classification are timed once, the commits counted once
+      ConventionalCommits.Accumulator accumulator = commits;
+      long[] count = {0};
+      try (StepMetrics.Split split = metrics.start(StepMetrics.LOG)) {
+        git.walkCommitMessages(excluded,
+            path.isEmpty() ? Collections.emptyList() : Collections.singletonList(path),
+            includeBody, message -> {
+              count[0]++;
+              return accumulator.test(message);
+            });
+      } finally {
+        metrics.add(StepMetrics.COMMITS, count[0]);
+      }
+    }
+
+    if (!head.isEmpty()) {
+      try {
+        new VersionIndex(head, latestTag, tagCommit, commits.getLevel(), path, includeBody,
+            bumpRules).store(indexFile);
+      } catch (IOException exp) {
+        listener.getLogger().println("Unable to write the version index: " + exp.getMessage());
+      }
+    }
+    return commits.getLevel();
+  }
+}
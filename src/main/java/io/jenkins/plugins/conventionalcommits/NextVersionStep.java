@@ -1,30 +1,31 @@
 package io.jenkins.plugins.conventionalcommits;
 
-import static io.jenkins.plugins.conventionalcommits.process.ProcessUtil.execute;
-import static io.jenkins.plugins.conventionalcommits.utils.TagsHelper.getLatestTag;
-
-import com.github.zafarkhaja.semver.Version;
 import com.google.common.collect.ImmutableSet;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import hudson.Extension;
 import hudson.FilePath;
+import hudson.model.Run;
 import hudson.model.TaskListener;
-import io.jenkins.plugins.conventionalcommits.utils.CurrentVersion;
-import io.jenkins.plugins.conventionalcommits.utils.WriteVersion;
-import java.io.File;
+import hudson.util.ListBoxModel;
+import hudson.slaves.WorkspaceList;
+import io.jenkins.plugins.conventionalcommits.metrics.MeasuredCallable;
+import io.jenkins.plugins.conventionalcommits.metrics.Measurement;
+import io.jenkins.plugins.conventionalcommits.metrics.MetricsRecorder;
+import io.jenkins.plugins.conventionalcommits.utils.GradleProjectType;
+import io.jenkins.plugins.conventionalcommits.utils.VersionIndex;
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import javax.annotation.Nonnull;
-import org.apache.commons.lang.StringUtils;
+import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.workflow.steps.Step;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
 import org.jenkinsci.plugins.workflow.steps.StepExecution;
-import org.jenkinsci.plugins.workflow.steps.SynchronousStepExecution;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.StaplerRequest;
 
 /**
  * Base class of the plugin.
@@ -43,6 +44,28 @@ public class NextVersionStep extends Step {
   private boolean writeVersion;
   // True if non annotated tag are supported
   private boolean nonAnnotatedTag;
+  // Prefix of the version tags, like "v"
+  private String tagPrefix;
+  // Glob of the version tags, the prefix followed by anything by default
+  private String tagPattern;
+  // How the version of a Gradle project is read
+  private GradleProjectType.Mode gradleMode;
+  // Type of the project (maven, gradle...), detected when not set
+  private String projectType;
+  // Path the commits are limited to, relative to the workspace, all the commits when not set
+  private String path;
+  // True to return the parsed commits with the next version
+  private boolean returnCommits;
+  // True to read the full commit messages, so that the breaking change footers are seen
+  private boolean includeBody;
+  // Directories, or globs, of the projects of a monorepo, one per line, null for a single project
+  private String projects;
+  // Increment of each type of commit, like "perf: MINOR", the global rules when not set
+  private String bumpRules;
+  // Remote, repository or bundle to deepen a shallow clone from, none when not set
+  private String deepenFrom;
+  // True to update the commit-graph of the repository and walk the history with git
+  private boolean commitGraph;
 
   @DataBoundConstructor
   public NextVersionStep() {
@@ -121,146 +144,180 @@ public class NextVersionStep extends Step {
     this.nonAnnotatedTag = nonAnnotatedTag;
   }
 
-  @Override
-  public StepExecution start(StepContext stepContext) throws Exception {
-    return new Execution(outputFormat, startTag, buildMetadata, writeVersion, preRelease,
-        preservePreRelease, incrementPreRelease, nonAnnotatedTag, stepContext);
+  public String getTagPrefix() {
+    return tagPrefix;
+  }
+
+  @DataBoundSetter
+  public void setTagPrefix(String tagPrefix) {
+    this.tagPrefix = tagPrefix;
+  }
+
+  public String getTagPattern() {
+    return tagPattern;
+  }
+
+  @DataBoundSetter
+  public void setTagPattern(String tagPattern) {
+    this.tagPattern = tagPattern;
+  }
+
+  public GradleProjectType.Mode getGradleMode() {
+    return gradleMode;
+  }
+
+  @DataBoundSetter
+  public void setGradleMode(GradleProjectType.Mode gradleMode) {
+    this.gradleMode = gradleMode;
+  }
+
+  public String getProjectType() {
+    return projectType;
+  }
+
+  @DataBoundSetter
+  public void setProjectType(String projectType) {
+    this.projectType = projectType;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  @DataBoundSetter
+  public void setPath(String path) {
+    this.path = path;
+  }
+
+  public boolean isReturnCommits() {
+    return returnCommits;
+  }
+
+  @DataBoundSetter
+  public void setReturnCommits(boolean returnCommits) {
+    this.returnCommits = returnCommits;
+  }
+
+  public boolean isIncludeBody() {
+    return includeBody;
+  }
+
+  @DataBoundSetter
+  public void setIncludeBody(boolean includeBody) {
+    this.includeBody = includeBody;
+  }
+
+  public String getProjects() {
+    return projects;
+  }
+
+  @DataBoundSetter
+  public void setProjects(String projects) {
+    this.projects = projects;
   }
 
   /**
-   * This class extends Step Execution class, contains the run method.
+   * Return the directories, or globs, of the projects of a monorepo, the non blank lines of
+   * <code>projects</code>.
+   *
+   * @return The directories of the projects, empty for a single project.
    */
-  public static class Execution extends SynchronousStepExecution<String> {
+  public List<String> getProjectList() {
+    List<String> list = new ArrayList<>();
+    if (projects != null) {
+      for (String line : projects.split("\\R")) {
+        if (!line.trim().isEmpty()) {
+          list.add(line.trim());
+        }
+      }
+    }
+    return list;
+  }
 
-    private static final long serialVersionUID = 1L;
+  public String getBumpRules() {
+    return bumpRules;
+  }
 
-    @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED",
-        justification = "Only used when starting.")
-    private final transient String outputFormat;
+  @DataBoundSetter
+  public void setBumpRules(String bumpRules) {
+    this.bumpRules = bumpRules;
+  }
 
-    @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED",
-        justification = "Only used when starting.")
-    private final transient String startTag;
+  public String getDeepenFrom() {
+    return deepenFrom;
+  }
 
-    @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED",
-        justification = "Only used when starting.")
-    private final transient String buildMetadata;
+  @DataBoundSetter
+  public void setDeepenFrom(String deepenFrom) {
+    this.deepenFrom = deepenFrom;
+  }
 
-    @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED",
-        justification = "Only used when starting.")
-    private final transient boolean writeVersion;
+  public boolean isCommitGraph() {
+    return commitGraph;
+  }
 
-    @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED",
-        justification = "Only used when starting.")
-    // Pre release information to add to the next version
-    private final transient String preRelease;
+  @DataBoundSetter
+  public void setCommitGraph(boolean commitGraph) {
+    this.commitGraph = commitGraph;
+  }
 
-    @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED",
-        justification = "Only used when starting.")
-    // True to preserve in the next version the prerelease information (if set)
-    private final transient boolean preservePreRelease;
+  @Override
+  public StepExecution start(StepContext stepContext) throws Exception {
+    return new Execution(this, stepContext);
+  }
 
-    @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED",
-        justification = "Only used when starting.")
-    // True to increment prerelease information instead of the version itself
-    private final transient boolean incrementPreRelease;
+  /**
+   * This class extends Step Execution class, contains the run method, called on the thread pool
+   * of the plugin.
+   */
+  public static class Execution extends AsyncStepExecution<Object> {
+
+    private static final long serialVersionUID = 1L;
 
-    // True if annotated tags are supported
     @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED",
         justification = "Only used when starting.")
-    private final transient boolean nonAnnotatedTag;
-
+    private final transient NextVersionStep step;
 
     /**
      * Constructor with fields initialisation.
      *
-     * @param outputFormat Output format for the next version
-     * @param startTag Git tag
-     * @param buildMetadata Add meta date to the version.
-     * @param writeVersion Should write the new version in the file.
-     * @param preRelease Pre release information to add
-     * @param preservePreRelease Keep existing prerelease information or not
-     * @param incrementPreRelease Increment prerelease information or not
-     * @param nonAnnotatedTag Should use or non annotated tags
+     * @param step The step and its parameters
      * @param context Jenkins context
      */
-    protected Execution(String outputFormat, String startTag, String buildMetadata,
-        boolean writeVersion, String preRelease, boolean preservePreRelease,
-        boolean incrementPreRelease, boolean nonAnnotatedTag, @Nonnull StepContext context) {
+    protected Execution(NextVersionStep step, @Nonnull StepContext context) {
       super(context);
-      this.outputFormat = outputFormat;
-      this.startTag = startTag;
-      this.buildMetadata = buildMetadata;
-      this.writeVersion = writeVersion;
-      this.preRelease = preRelease;
-      this.preservePreRelease = preservePreRelease;
-      this.incrementPreRelease = incrementPreRelease;
-      this.nonAnnotatedTag = nonAnnotatedTag;
+      this.step = step;
     }
 
     @Override
-    protected String run() throws Exception {
+    protected Object run() throws Exception {
       FilePath workspace = getContext().get(FilePath.class);
       if (workspace == null) {
         throw new IOException("no workspace");
       }
+      TaskListener listener = getContext().get(TaskListener.class);
 
-      // if the workspace is remote then lets make a local copy
-      File dir = new File(workspace.getRemote());
-      String latestTag = getLatestTag(getContext(), dir, nonAnnotatedTag);
-
-      Version currentVersion = new CurrentVersion().getCurrentVersion(dir, latestTag,
-          getContext().get(TaskListener.class).getLogger());
-
-      String commitMessagesString = null;
-      if (latestTag.isEmpty()) {
-        commitMessagesString = execute(dir, "git", "log", "--pretty=format:%s").trim();
-      } else {
-        // FIXME get a list of commits between 'this' and the tag
-        // git log --pretty=format:%s tag..HEAD
-        commitMessagesString =
-            execute(dir, "git", "log", "--pretty=format:%s", latestTag + "..HEAD").trim();
+      if (!step.getProjectList().isEmpty()) {
+        // a map of the next version of each project
+        return measure(workspace, new MonorepoVersionCallable(step, listener));
       }
 
-      List<String> commitHistory = Arrays.asList(commitMessagesString.split("\n"));
-
-      Version nextVersion;
-      if (!incrementPreRelease || StringUtils.isEmpty(currentVersion.getPreReleaseVersion())) {
-        // based on the commit list, determine how to bump the version
-        nextVersion = new ConventionalCommits().nextVersion(currentVersion, commitHistory);
-      } else {
-        nextVersion = currentVersion.incrementPreReleaseVersion();
-      }
+      // the version index is kept with the other metadata of the workspace (workspace@tmp)
+      FilePath tempDir = WorkspaceList.tempDir(workspace);
+      String indexPath = tempDir == null ? null : tempDir.child(VersionIndex.FILE_NAME).getRemote();
 
-      if (StringUtils.isNotBlank(buildMetadata)) {
-        nextVersion = nextVersion.setBuildMetadata(buildMetadata);
-      }
-
-      // Keep (or not) the pre-release information only if incrementPreRelease is not set
-      if (!incrementPreRelease && StringUtils.isNotBlank(currentVersion.getPreReleaseVersion())) {
-        if (preservePreRelease) {
-          nextVersion = nextVersion.setPreReleaseVersion(currentVersion.getPreReleaseVersion());
-        } else {
-          if (!StringUtils.isNotBlank(preRelease)) {
-            nextVersion = Version.valueOf(currentVersion.getNormalVersion());
-          }
-        }
-      }
-
-      // If pre-release information, add it
-      if (StringUtils.isNotBlank(preRelease)) {
-        nextVersion = nextVersion.setPreReleaseVersion(preRelease);
-      }
-
-      getContext().get(TaskListener.class).getLogger().println(nextVersion);
-
-      if (writeVersion) {
-        WriteVersion writer = new WriteVersion();
-        String writeLog = writer.write(nextVersion, dir);
-        getContext().get(TaskListener.class).getLogger().println(writeLog);
-      }
+      // run on the agent where the workspace is, only the next version comes back
+      return measure(workspace, new NextVersionCallable(step, listener, indexPath));
+    }
 
-      return nextVersion.toString();
+    /**
+     * Run a callable where the workspace is, and record the metrics of its phases in the build.
+     */
+    private <T> T measure(FilePath workspace, FilePath.FileCallable<T> callable)
+        throws IOException, InterruptedException {
+      Measurement<T> measurement = workspace.act(new MeasuredCallable<>(callable));
+      MetricsRecorder.record(getContext().get(Run.class), "nextVersion", measurement);
+      return measurement.getValue();
     }
   }
 
@@ -284,5 +341,28 @@ public class NextVersionStep extends Step {
     public String getFunctionName() {
       return "nextVersion";
     }
+
+    /**
+     * Fill the Gradle modes, the first one leaving the mode unset.
+     *
+     * @return The items of the Gradle mode list.
+     */
+    public ListBoxModel doFillGradleModeItems() {
+      ListBoxModel items = new ListBoxModel();
+      items.add("(default)", "");
+      for (GradleProjectType.Mode mode : GradleProjectType.Mode.values()) {
+        items.add(mode.name());
+      }
+      return items;
+    }
+
+    @Override
+    public Step newInstance(StaplerRequest req, JSONObject formData) throws FormException {
+      // the blank choice is not a mode, the parameter stays unset
+      if (formData.optString("gradleMode").isEmpty()) {
+        formData.remove("gradleMode");
+      }
+      return super.newInstance(req, formData);
+    }
   }
 }
@@ -0,0 +1,208 @@
+package io.jenkins.plugins.conventionalcommits.git;
+
+import static io.jenkins.plugins.conventionalcommits.process.ProcessUtil.execute;
+import static io.jenkins.plugins.conventionalcommits.process.ProcessUtil.stream;
+
+import io.jenkins.plugins.conventionalcommits.process.ProcessRunner;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.eclipse.jgit.errors.InvalidPatternException;
+import org.eclipse.jgit.fnmatch.FileNameMatcher;
+
+/** Read tags and commit messages by running the git command line. */
+public class CliGitHelper implements GitHelper {
+
+  private final File directory;
+
+  public CliGitHelper(File directory) {
+    this.directory = Objects.requireNonNull(directory, "Directory is mandatory");
+  }
+
+  @Override
+  public String describeLatestTag(String pattern) throws IOException, InterruptedException {
+    try {
+      if (pattern == null || pattern.isEmpty()) {
+        return execute(directory, "git", "describe", "--abbrev=0", "--tags").trim();
+      }
+      return execute(directory, "git", "describe", "--abbrev=0", "--tags", "--match", pattern)
+          .trim();
+    } catch (IOException exp) {
+      if (exp.getMessage().contains("No names found, cannot describe anything.")
+          || exp.getMessage().contains("No tags can describe")) {
+        return "";
+      }
+      throw exp;
+    }
+  }
+
+  @Override
+  public List<String> listTags() throws IOException, InterruptedException {
+    return lines(execute(directory, "git", "tag", "-l"));
+  }
+
+  @Override
+  public void walkMergedTags(String pattern, Consumer<String> consumer)
+      throws IOException, InterruptedException {
+    FileNameMatcher matcher;
+    try {
+      matcher = JGitHelper.matcher(pattern);
+    } catch (InvalidPatternException exp) {
+      throw new IOException("Invalid tag pattern " + pattern, exp);
+    }
+    // git tag reads the reachability of the tags at once, the names are filtered while read
+    stream(directory, name -> {
+      if (JGitHelper.matches(matcher, name)) {
+        consumer.accept(name);
+      }
+      return true;
+    }, "git", "tag", "--merged", "HEAD");
+  }
+
+  @Override
+  public String resolveCommit(String revision) throws IOException, InterruptedException {
+    ProcessRunner.Result result = new ProcessRunner().run(directory,
+        Arrays.asList("git", "rev-parse", "--verify", "-q", revision + "^{commit}"));
+    return result.getExitCode() == 0 ? result.getStdout().trim() : "";
+  }
+
+  @Override
+  public boolean isAncestor(String ancestor, String descendant)
+      throws IOException, InterruptedException {
+    // exit code 0 if it is an ancestor, 1 if not, anything else is an error
+    ProcessRunner.Result result = new ProcessRunner().run(directory,
+        Arrays.asList("git", "merge-base", "--is-ancestor", ancestor, descendant));
+    if (result.getExitCode() > 1) {
+      throw new IOException("checking if " + ancestor + " is an ancestor of " + descendant
+          + " failed in '" + directory + "' with error " + result.getStderr());
+    }
+    return result.getExitCode() == 0;
+  }
+
+  @Override
+  public void walkCommitMessages(List<String> excluded, List<String> paths,
+      boolean fullMessages, Predicate<String> consumer) throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>(Arrays.asList("git", "log"));
+    // the full messages are separated by a NUL character, which a message can not contain
+    command.addAll(fullMessages ? Arrays.asList("-z", "--pretty=format:%B")
+        : Collections.singletonList("--pretty=format:%s"));
+    command.add("HEAD");
+    for (String revision : excluded) {
+      command.add("^" + revision);
+    }
+    addPaths(command, paths);
+    if (fullMessages) {
+      stream(directory, '\u0000', message -> consumer.test(trimEnd(message)),
+          command.toArray(new String[0]));
+    } else {
+      stream(directory, consumer, command.toArray(new String[0]));
+    }
+  }
+
+  /** Remove the line feeds at the end of a message, like JGit does. */
+  private static String trimEnd(String message) {
+    int end = message.length();
+    while (end > 0 && Character.isWhitespace(message.charAt(end - 1))) {
+      end--;
+    }
+    return message.substring(0, end);
+  }
+
+  @Override
+  public void walkCommitPaths(List<String> excluded, List<String> paths, boolean fullMessages,
+      BiPredicate<String, List<String>> consumer) throws IOException, InterruptedException {
+    if (fullMessages) {
+      walkFullMessagePaths(excluded, paths, consumer);
+      return;
+    }
+    // the subject is prefixed with a NUL character, which can not start a path
+    List<String> command = new ArrayList<>(Arrays.asList("git", "-c", "core.quotePath=false",
+        "log", "--name-only", "--relative", "--pretty=format:%x00%s", "HEAD"));
+    for (String revision : excluded) {
+      command.add("^" + revision);
+    }
+    addPaths(command, paths);
+
+    String[] subject = {null};
+    List<String> changed = new ArrayList<>();
+    boolean[] stopped = {false};
+    stream(directory, line -> {
+      if (line.startsWith("\u0000")) {
+        if (subject[0] != null && !consumer.test(subject[0], new ArrayList<>(changed))) {
+          stopped[0] = true;
+          return false;
+        }
+        subject[0] = line.substring(1);
+        changed.clear();
+      } else if (!line.isEmpty()) {
+        changed.add(line);
+      }
+      return true;
+    }, command.toArray(new String[0]));
+    if (!stopped[0] && subject[0] != null) {
+      consumer.test(subject[0], changed);
+    }
+  }
+
+  /**
+   * Walk the full messages and the paths of the commits. The records are separated by a NUL
+   * character, a message is enclosed in SOH characters and followed by the first path, if any,
+   * after a line feed.
+   */
+  private void walkFullMessagePaths(List<String> excluded, List<String> paths,
+      BiPredicate<String, List<String>> consumer) throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>(Arrays.asList("git", "log", "-z", "--name-only",
+        "--relative", "--pretty=format:%x01%B%x01", "HEAD"));
+    for (String revision : excluded) {
+      command.add("^" + revision);
+    }
+    addPaths(command, paths);
+
+    String[] message = {null};
+    List<String> changed = new ArrayList<>();
+    boolean[] stopped = {false};
+    stream(directory, '\u0000', record -> {
+      int end = record.startsWith("\u0001") ? record.lastIndexOf('\u0001') : -1;
+      if (end > 0) {
+        if (message[0] != null && !consumer.test(message[0], new ArrayList<>(changed))) {
+          stopped[0] = true;
+          return false;
+        }
+        message[0] = trimEnd(record.substring(1, end));
+        changed.clear();
+        if (record.length() > end + 2) {
+          changed.add(record.substring(end + 2));
+        }
+      } else if (!record.isEmpty()) {
+        changed.add(record);
+      }
+      return true;
+    }, command.toArray(new String[0]));
+    if (!stopped[0] && message[0] != null) {
+      consumer.test(message[0], changed);
+    }
+  }
+
+  /** Limit the log to the paths, git prunes the history itself. */
+  private static void addPaths(List<String> command, List<String> paths) {
+    if (!paths.isEmpty()) {
+      command.add("--");
+      command.addAll(paths);
+    }
+  }
+
+  private static List<String> lines(String output) {
+    String trimmed = output.trim();
+    if (trimmed.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return new ArrayList<>(Arrays.asList(trimmed.split("\\r?\\n")));
+  }
+}
@@ -0,0 +1,54 @@
+package io.jenkins.plugins.conventionalcommits.git;
+
+import static io.jenkins.plugins.conventionalcommits.process.ProcessUtil.execute;
+
+import io.jenkins.plugins.conventionalcommits.utils.LogUtils;
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Keep the commit-graph of a repository up to date, so that git walks a range of the history in a
+ * time depending on the size of the range, not of the repository: the generation numbers of the
+ * graph stop the walk of the excluded commits at the start of the range, and the Bloom filters of
+ * the changed paths skip the commits not changing the paths without reading their trees.
+ *
+ * <p>The graph is written in layers: only the commits missing in the graph are added, git merges
+ * the layers when they pile up. git does not write a commit-graph in a shallow clone.
+ */
+public class CommitGraph {
+
+  private final File directory;
+  private final LogUtils log;
+
+  /**
+   * Constructor with fields initialisation.
+   *
+   * @param directory The repository, or a directory of its work tree.
+   * @param log The logger, writing the failures to the build console.
+   */
+  public CommitGraph(File directory, LogUtils log) {
+    this.directory = Objects.requireNonNull(directory, "Directory is mandatory");
+    this.log = Objects.requireNonNull(log, "Log is mandatory");
+  }
+
+  /**
+   * Add the commits reachable from the references and missing in the commit-graph. A failure,
+   * with a git too old to write the changed paths for example, is not an error: the history is
+   * walked without the graph.
+   *
+   * @return true if the commit-graph was written.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  public boolean update() throws InterruptedException {
+    try {
+      execute(directory, "git", "commit-graph", "write", "--reachable", "--split",
+          "--changed-paths", "--no-progress");
+      return true;
+    } catch (IOException exp) {
+      log.console(() -> "Unable to write the commit-graph, the history is walked without it: "
+          + exp.getMessage());
+      return false;
+    }
+  }
+}
@@ -0,0 +1,223 @@
+package io.jenkins.plugins.conventionalcommits.git;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/** Interface intended to read tags and commit messages of a Git repository. */
+public interface GitHelper {
+
+  /**
+   * Return the most recent tag reachable from HEAD, like
+   * <code>git describe --abbrev=0 --tags</code>.
+   *
+   * @return The name of the tag, empty if no tag is reachable.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  default String describeLatestTag() throws IOException, InterruptedException {
+    return describeLatestTag(null);
+  }
+
+  /**
+   * Return the most recent tag matching a glob reachable from HEAD, like
+   * <code>git describe --abbrev=0 --tags --match pattern</code>.
+   *
+   * @param pattern The glob the tag names must match, null or empty for all the tags.
+   * @return The name of the tag, empty if no tag is reachable.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  String describeLatestTag(String pattern) throws IOException, InterruptedException;
+
+  /**
+   * Return the names of all the tags of the repository, like <code>git tag -l</code>.
+   *
+   * @return The tag names sorted by name.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  List<String> listTags() throws IOException, InterruptedException;
+
+  /**
+   * Feed the names of the tags matching a glob and reachable from HEAD to a consumer while they
+   * are read, like <code>git tag --merged HEAD -l pattern</code>, without building the list.
+   *
+   * @param pattern The glob the tag names must match, null or empty for all the tags.
+   * @param consumer Consumer of the tag names, in no particular order.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  void walkMergedTags(String pattern, Consumer<String> consumer)
+      throws IOException, InterruptedException;
+
+  /**
+   * Return the SHA-1 of the commit a tag, or any other revision, points to, like
+   * <code>git rev-parse --verify revision^{commit}</code>.
+   *
+   * @param revision The tag name or revision.
+   * @return The SHA-1 of the commit, empty if the revision does not exist.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  String resolveCommit(String revision) throws IOException, InterruptedException;
+
+  /**
+   * Check if a commit is reachable from another one, like
+   * <code>git merge-base --is-ancestor ancestor descendant</code>.
+   *
+   * @param ancestor The SHA-1 of the ancestor.
+   * @param descendant The SHA-1 of the descendant.
+   * @return true if the ancestor is reachable from the descendant, or if they are the same.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  boolean isAncestor(String ancestor, String descendant) throws IOException, InterruptedException;
+
+  /**
+   * Feed the subject of the commits reachable from HEAD but not from the excluded revisions to a
+   * consumer while they are read, like <code>git log --pretty=format:%s HEAD ^excluded</code>. The
+   * walk stops as soon as the consumer returns <code>false</code>.
+   *
+   * @param excluded Tags or SHA-1 whose history is skipped, if empty all the commits reachable
+   *     from HEAD are read.
+   * @param consumer Consumer of the commit subjects, the most recent first.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  default void walkCommitMessages(List<String> excluded, Predicate<String> consumer)
+      throws IOException, InterruptedException {
+    walkCommitMessages(excluded, Collections.emptyList(), consumer);
+  }
+
+  /**
+   * Feed the subject of the commits reachable from HEAD but not from the excluded revisions, and
+   * changing at least one of the paths, to a consumer while they are read, like
+   * <code>git log --pretty=format:%s HEAD ^excluded -- paths</code>. The commits are pruned by the
+   * repository walk, the other ones are not read. The walk stops as soon as the consumer returns
+   * <code>false</code>.
+   *
+   * @param excluded Tags or SHA-1 whose history is skipped, if empty all the commits reachable
+   *     from HEAD are read.
+   * @param paths Files or directories, relative to the directory of the helper, if empty all the
+   *     commits are read.
+   * @param consumer Consumer of the commit subjects, the most recent first.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  default void walkCommitMessages(List<String> excluded, List<String> paths,
+      Predicate<String> consumer) throws IOException, InterruptedException {
+    walkCommitMessages(excluded, paths, false, consumer);
+  }
+
+  /**
+   * Feed the subject, or the full message, of the commits reachable from HEAD but not from the
+   * excluded revisions, and changing at least one of the paths, to a consumer while they are read.
+   * The full messages are read like <code>git log -z --pretty=format:%B</code>, one message at a
+   * time, so that the footers can be read without keeping the whole history in memory. The walk
+   * stops as soon as the consumer returns <code>false</code>.
+   *
+   * @param excluded Tags or SHA-1 whose history is skipped, if empty all the commits reachable
+   *     from HEAD are read.
+   * @param paths Files or directories, relative to the directory of the helper, if empty all the
+   *     commits are read.
+   * @param fullMessages true to read the body and the footers of the messages, false for the
+   *     subjects only.
+   * @param consumer Consumer of the commit messages, the most recent first.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  void walkCommitMessages(List<String> excluded, List<String> paths, boolean fullMessages,
+      Predicate<String> consumer) throws IOException, InterruptedException;
+
+  /**
+   * Feed the subject and the changed paths of the commits reachable from HEAD but not from the
+   * excluded revisions to a consumer while they are read, like
+   * <code>git log --name-only --relative --pretty=format:%s HEAD ^excluded</code>. The paths are
+   * relative to the directory of the helper, the changes outside of it are left out. Merge commits
+   * have no path, like with the command line. The walk stops as soon as the consumer returns
+   * <code>false</code>.
+   *
+   * @param excluded Tags or SHA-1 whose history is skipped, if empty all the commits reachable
+   *     from HEAD are read.
+   * @param consumer Consumer of the commit subjects and their paths, the most recent first.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  default void walkCommitPaths(List<String> excluded,
+      BiPredicate<String, List<String>> consumer) throws IOException, InterruptedException {
+    walkCommitPaths(excluded, Collections.emptyList(), consumer);
+  }
+
+  /**
+   * Feed the subject and the changed paths of the commits changing at least one of the paths,
+   * like <code>git log --name-only --relative --pretty=format:%s HEAD ^excluded -- paths</code>.
+   * Only the changed paths matching the given ones are returned.
+   *
+   * @param excluded Tags or SHA-1 whose history is skipped, if empty all the commits reachable
+   *     from HEAD are read.
+   * @param paths Files or directories, relative to the directory of the helper, if empty all the
+   *     commits are read.
+   * @param consumer Consumer of the commit subjects and their paths, the most recent first.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  default void walkCommitPaths(List<String> excluded, List<String> paths,
+      BiPredicate<String, List<String>> consumer) throws IOException, InterruptedException {
+    walkCommitPaths(excluded, paths, false, consumer);
+  }
+
+  /**
+   * Feed the subject, or the full message, and the changed paths of the commits changing at least
+   * one of the paths, like
+   * <code>git log -z --name-only --relative --pretty=format:%B HEAD ^excluded -- paths</code>.
+   * Only the changed paths matching the given ones are returned.
+   *
+   * @param excluded Tags or SHA-1 whose history is skipped, if empty all the commits reachable
+   *     from HEAD are read.
+   * @param paths Files or directories, relative to the directory of the helper, if empty all the
+   *     commits are read.
+   * @param fullMessages true to read the body and the footers of the messages, false for the
+   *     subjects only.
+   * @param consumer Consumer of the commit messages and their paths, the most recent first.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  void walkCommitPaths(List<String> excluded, List<String> paths, boolean fullMessages,
+      BiPredicate<String, List<String>> consumer) throws IOException, InterruptedException;
+
+  /**
+   * Feed the subject of the commits between a tag and HEAD to a consumer while they are read, like
+   * <code>git log --pretty=format:%s tag..HEAD</code>. The walk stops as soon as the consumer
+   * returns <code>false</code>.
+   *
+   * @param latestTag The tag to start from, if empty all the commits reachable from HEAD are read.
+   * @param consumer Consumer of the commit subjects, the most recent first.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  default void walkCommitMessages(String latestTag, Predicate<String> consumer)
+      throws IOException, InterruptedException {
+    walkCommitMessages(latestTag == null || latestTag.isEmpty()
+        ? Collections.<String>emptyList() : Collections.singletonList(latestTag), consumer);
+  }
+
+  /**
+   * Return the subject of the commits between a tag and HEAD.
+   *
+   * @param latestTag The tag to start from, if empty all the commits reachable from HEAD are read.
+   * @return The commit subjects, the most recent first.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  default List<String> getCommitMessages(String latestTag)
+      throws IOException, InterruptedException {
+    List<String> messages = new ArrayList<>();
+    walkCommitMessages(latestTag, messages::add);
+    return messages;
+  }
+}
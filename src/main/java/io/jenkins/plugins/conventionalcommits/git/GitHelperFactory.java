@@ -0,0 +1,41 @@
+package io.jenkins.plugins.conventionalcommits.git;
+
+import java.io.File;
+import java.util.Objects;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+
+/** Factory class to get the Git backend of a directory. */
+public class GitHelperFactory {
+
+  /**
+   * Set the system property <code>io.jenkins.plugins.conventionalcommits.git.GitHelperFactory
+   * .disableJGit</code> to <code>true</code> to always use the git command line.
+   */
+  static boolean disableJGit =
+      Boolean.getBoolean(GitHelperFactory.class.getName() + ".disableJGit");
+
+  private GitHelperFactory() {
+    // Factory class
+  }
+
+  /**
+   * Returns the Git backend to use for a directory. JGit is used when the repository can be found,
+   * otherwise the git command line is used.
+   *
+   * @param directory The project's directory.
+   * @return The Git backend.
+   */
+  public static GitHelper getGitHelper(File directory) {
+    Objects.requireNonNull(directory, "Directory is mandatory");
+    GitHelper cli = new CliGitHelper(directory);
+    if (disableJGit) {
+      return cli;
+    }
+
+    File gitDir = new FileRepositoryBuilder().findGitDir(directory).getGitDir();
+    if (gitDir == null) {
+      return cli;
+    }
+    return new JGitHelper(gitDir, directory, cli);
+  }
+}
@@ -0,0 +1,441 @@
+package io.jenkins.plugins.conventionalcommits.git;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.eclipse.jgit.api.DescribeCommand;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.errors.InvalidPatternException;
+import org.eclipse.jgit.fnmatch.FileNameMatcher;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevTag;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+/**
+ * Read tags and commit messages inside the JVM with JGit, without forking a git process.
+ * If JGit is not able to read the repository, the git command line is used instead.
+ */
+public class JGitHelper implements GitHelper {
+
+  private static final Logger LOGGER = Logger.getLogger(JGitHelper.class.getName());
+
+  private final File gitDir;
+  // Directory of the project in the work tree, null for the root of the work tree
+  private final File directory;
+  private final GitHelper fallback;
+
+  /**
+   * Constructor.
+   *
+   * @param gitDir The <code>.git</code> directory of the repository.
+   * @param fallback The helper to use if JGit fails to read the repository.
+   */
+  public JGitHelper(File gitDir, GitHelper fallback) {
+    this(gitDir, null, fallback);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param gitDir The <code>.git</code> directory of the repository.
+   * @param directory The directory of the project, the changed paths are relative to it.
+   * @param fallback The helper to use if JGit fails to read the repository.
+   */
+  public JGitHelper(File gitDir, File directory, GitHelper fallback) {
+    this.gitDir = Objects.requireNonNull(gitDir, "Git directory is mandatory");
+    this.directory = directory;
+    this.fallback = Objects.requireNonNull(fallback, "Fallback is mandatory");
+  }
+
+  @Override
+  public String describeLatestTag(String pattern) throws IOException, InterruptedException {
+    try (Repository repository = open(); Git git = new Git(repository)) {
+      ObjectId head = repository.resolve(Constants.HEAD);
+      if (head == null) {
+        return "";
+      }
+      DescribeCommand describe = git.describe().setTags(true);
+      if (pattern != null && !pattern.isEmpty()) {
+        describe.setMatch(pattern);
+      }
+      String description = describe.call();
+      if (description == null) {
+        return "";
+      }
+      // The "-<count>-g<sha>" suffix is only added when HEAD is not the tagged commit: a tag whose
+      // name has the same shape is kept whole when it is on HEAD
+      String tag = description;
+      Ref exact = repository.exactRef(Constants.R_TAGS + description);
+      if (exact == null || !head.equals(repository.resolve(exact.getName() + "^{commit}"))) {
+        int sha = description.lastIndexOf('-');
+        tag = description.substring(0, description.lastIndexOf('-', sha - 1));
+      }
+      return preferredTag(repository, tag, matcher(pattern));
+    } catch (GitAPIException | InvalidPatternException | IOException | RuntimeException exp) {
+      logFallback(exp);
+      return fallback.describeLatestTag(pattern);
+    }
+  }
+
+  @Override
+  public List<String> listTags() throws IOException, InterruptedException {
+    try (Repository repository = open()) {
+      List<String> tags = new ArrayList<>();
+      for (Ref ref : repository.getRefDatabase().getRefsByPrefix(Constants.R_TAGS)) {
+        tags.add(ref.getName().substring(Constants.R_TAGS.length()));
+      }
+      Collections.sort(tags);
+      return tags;
+    } catch (IOException | RuntimeException exp) {
+      logFallback(exp);
+      return fallback.listTags();
+    }
+  }
+
+  @Override
+  public void walkMergedTags(String pattern, Consumer<String> consumer)
+      throws IOException, InterruptedException {
+    // the names of the matching tags by commit, to recognize the tagged commits during the walk
+    Map<ObjectId, List<String>> tagsByCommit = new HashMap<>();
+    boolean started = false;
+    try (Repository repository = open(); RevWalk walk = new RevWalk(repository)) {
+      ObjectId head = repository.resolve(Constants.HEAD);
+      if (head == null) {
+        return;
+      }
+      FileNameMatcher matcher = matcher(pattern);
+      for (Ref ref : repository.getRefDatabase().getRefsByPrefix(Constants.R_TAGS)) {
+        String name = ref.getName().substring(Constants.R_TAGS.length());
+        if (matches(matcher, name)) {
+          Ref peeled = repository.getRefDatabase().peel(ref);
+          ObjectId commit = peeled.getPeeledObjectId() != null
+              ? peeled.getPeeledObjectId() : peeled.getObjectId();
+          tagsByCommit.computeIfAbsent(commit, id -> new ArrayList<>()).add(name);
+        }
+      }
+
+      // the walk goes from HEAD back and ends once every matching tag is reached, so that a tag
+      // deep in the history is never skipped
+      walk.setRetainBody(false);
+      walk.markStart(walk.parseCommit(head));
+      for (RevCommit commit : walk) {
+        if (tagsByCommit.isEmpty()) {
+          break;
+        }
+        if (Thread.interrupted()) {
+          // the step was stopped
+          throw new InterruptedException("Interrupted while reading the tags");
+        }
+        List<String> names = tagsByCommit.remove(commit);
+        if (names != null) {
+          started = true;
+          names.forEach(consumer);
+        }
+      }
+    } catch (InvalidPatternException | IOException | RuntimeException exp) {
+      if (started) {
+        // The consumer already got some tags, they can not be replayed
+        throw new IOException(exp);
+      }
+      logFallback(exp);
+      fallback.walkMergedTags(pattern, consumer);
+    }
+  }
+
+  @Override
+  public String resolveCommit(String revision) throws IOException, InterruptedException {
+    try (Repository repository = open()) {
+      ObjectId commit = resolveCommitId(repository, revision);
+      return commit == null ? "" : commit.name();
+    } catch (IOException | RuntimeException exp) {
+      logFallback(exp);
+      return fallback.resolveCommit(revision);
+    }
+  }
+
+  @Override
+  public boolean isAncestor(String ancestor, String descendant)
+      throws IOException, InterruptedException {
+    try (Repository repository = open(); RevWalk walk = new RevWalk(repository)) {
+      ObjectId ancestorId = resolveCommitId(repository, ancestor);
+      ObjectId descendantId = resolveCommitId(repository, descendant);
+      if (ancestorId == null || descendantId == null) {
+        return false;
+      }
+      return walk.isMergedInto(walk.parseCommit(ancestorId), walk.parseCommit(descendantId));
+    } catch (IOException | RuntimeException exp) {
+      logFallback(exp);
+      return fallback.isAncestor(ancestor, descendant);
+    }
+  }
+
+  @Override
+  public void walkCommitMessages(List<String> excluded, List<String> paths,
+      boolean fullMessages, Predicate<String> consumer) throws IOException, InterruptedException {
+    boolean started = false;
+    try (Repository repository = open(); RevWalk walk = new RevWalk(repository)) {
+      ObjectId head = repository.resolve(Constants.HEAD);
+      if (head == null) {
+        return;
+      }
+      walk.markStart(walk.parseCommit(head));
+      for (String revision : excluded) {
+        ObjectId commit = resolveCommitId(repository, revision);
+        if (commit == null) {
+          throw new IOException("Unable to resolve " + revision);
+        }
+        walk.markUninteresting(walk.parseCommit(commit));
+      }
+      if (!paths.isEmpty()) {
+        // the commits not changing the paths are skipped by the walk, like git log -- paths
+        walk.setTreeFilter(pathFilter(prefix(repository), paths));
+      }
+      for (RevCommit commit : walk) {
+        if (Thread.interrupted()) {
+          // the step was stopped
+          throw new InterruptedException("Interrupted while reading the commits");
+        }
+        started = true;
+        String message = fullMessages
+            ? trimEnd(commit.getFullMessage()) : commit.getShortMessage();
+        if (!consumer.test(message)) {
+          break;
+        }
+      }
+    } catch (IOException | RuntimeException exp) {
+      if (started) {
+        // The consumer already got some commits, they can not be replayed
+        throw exp;
+      }
+      logFallback(exp);
+      fallback.walkCommitMessages(excluded, paths, fullMessages, consumer);
+    }
+  }
+
+  @Override
+  public void walkCommitPaths(List<String> excluded, List<String> paths, boolean fullMessages,
+      BiPredicate<String, List<String>> consumer) throws IOException, InterruptedException {
+    boolean started = false;
+    try (Repository repository = open(); RevWalk walk = new RevWalk(repository);
+        TreeWalk diff = new TreeWalk(repository)) {
+      ObjectId head = repository.resolve(Constants.HEAD);
+      if (head == null) {
+        return;
+      }
+      walk.markStart(walk.parseCommit(head));
+      for (String revision : excluded) {
+        ObjectId commit = resolveCommitId(repository, revision);
+        if (commit == null) {
+          throw new IOException("Unable to resolve " + revision);
+        }
+        walk.markUninteresting(walk.parseCommit(commit));
+      }
+
+      // only the changes of the directory, like git log --relative
+      String prefix = prefix(repository);
+      List<TreeFilter> filters = new ArrayList<>();
+      if (!prefix.isEmpty()) {
+        filters.add(PathFilter.create(prefix));
+      }
+      if (!paths.isEmpty()) {
+        TreeFilter pathFilter = pathFilter(prefix, paths);
+        walk.setTreeFilter(pathFilter);
+        filters.add(pathFilter);
+      } else {
+        filters.add(TreeFilter.ANY_DIFF);
+      }
+      diff.setRecursive(true);
+      diff.setFilter(filters.size() == 1 ? filters.get(0)
+          : AndTreeFilter.create(filters.toArray(new TreeFilter[0])));
+      int start = prefix.isEmpty() ? 0 : prefix.length() + 1;
+      for (RevCommit commit : walk) {
+        if (Thread.interrupted()) {
+          // the step was stopped
+          throw new InterruptedException("Interrupted while reading the commits");
+        }
+        List<String> changed = new ArrayList<>();
+        if (commit.getParentCount() <= 1) {
+          // the first commit is compared with an empty tree, the merges are not compared
+          diff.reset();
+          if (commit.getParentCount() == 0) {
+            diff.addTree(new EmptyTreeIterator());
+          } else {
+            diff.addTree(walk.parseCommit(commit.getParent(0)).getTree());
+          }
+          diff.addTree(commit.getTree());
+          while (diff.next()) {
+            changed.add(diff.getPathString().substring(start));
+          }
+        }
+        started = true;
+        String message = fullMessages
+            ? trimEnd(commit.getFullMessage()) : commit.getShortMessage();
+        if (!consumer.test(message, changed)) {
+          break;
+        }
+      }
+    } catch (IOException | RuntimeException exp) {
+      if (started) {
+        // The consumer already got some commits, they can not be replayed
+        throw exp;
+      }
+      logFallback(exp);
+      fallback.walkCommitPaths(excluded, paths, fullMessages, consumer);
+    }
+  }
+
+  /** Remove the line feeds at the end of a message, like git log does. */
+  private static String trimEnd(String message) {
+    int end = message.length();
+    while (end > 0 && Character.isWhitespace(message.charAt(end - 1))) {
+      end--;
+    }
+    return message.substring(0, end);
+  }
+
+  /**
+   * Return a filter of the commits changing at least one of the paths.
+   *
+   * @param prefix The path of the directory of the project in the work tree.
+   * @param paths The paths, relative to the directory of the project.
+   * @throws IOException If a path is outside of the work tree.
+   */
+  private static TreeFilter pathFilter(String prefix, List<String> paths) throws IOException {
+    List<String> resolved = new ArrayList<>();
+    for (String path : paths) {
+      String normalized = Paths.get(prefix).resolve(path.replace('\\', '/')).normalize()
+          .toString().replace(File.separatorChar, '/');
+      if (normalized.startsWith("..")) {
+        throw new IOException("The path " + path + " is outside of the repository");
+      }
+      if (normalized.isEmpty()) {
+        // the whole work tree
+        return TreeFilter.ANY_DIFF;
+      }
+      resolved.add(normalized);
+    }
+    return AndTreeFilter.create(PathFilterGroup.createFromStrings(resolved), TreeFilter.ANY_DIFF);
+  }
+
+  /**
+   * Return the path of the directory of the project in the work tree, empty for its root.
+   */
+  private String prefix(Repository repository) throws IOException {
+    if (directory == null || repository.isBare()) {
+      return "";
+    }
+    Path workTree = repository.getWorkTree().toPath().toRealPath();
+    Path path = directory.toPath().toRealPath();
+    if (!path.startsWith(workTree)) {
+      return "";
+    }
+    return workTree.relativize(path).toString().replace(File.separatorChar, '/');
+  }
+
+  /**
+   * Resolve a tag name, or any other revision, to the commit it points to.
+   */
+  private static ObjectId resolveCommitId(Repository repository, String revision)
+      throws IOException {
+    ObjectId commit = repository.resolve(Constants.R_TAGS + revision + "^{commit}");
+    if (commit == null) {
+      commit = repository.resolve(revision + "^{commit}");
+    }
+    return commit;
+  }
+
+  /**
+   * When several tags point to the same commit, pick the same one as git: annotated tags win over
+   * lightweight ones, then the most recent annotated tag, then the first name.
+   */
+  private static String preferredTag(Repository repository, String tag, FileNameMatcher matcher)
+      throws IOException {
+    ObjectId target = repository.resolve(Constants.R_TAGS + tag + "^{commit}");
+    if (target == null) {
+      return tag;
+    }
+
+    String preferred = null;
+    boolean preferredAnnotated = false;
+    long preferredTime = Long.MIN_VALUE;
+    try (RevWalk walk = new RevWalk(repository)) {
+      for (Ref ref : repository.getRefDatabase().getRefsByPrefix(Constants.R_TAGS)) {
+        Ref peeled = repository.getRefDatabase().peel(ref);
+        ObjectId commit = peeled.getPeeledObjectId() != null
+            ? peeled.getPeeledObjectId() : peeled.getObjectId();
+        if (!target.equals(commit)
+            || !matches(matcher, ref.getName().substring(Constants.R_TAGS.length()))) {
+          continue;
+        }
+        boolean annotated = peeled.getPeeledObjectId() != null;
+        long time = Long.MIN_VALUE;
+        if (annotated) {
+          RevObject object = walk.parseAny(peeled.getObjectId());
+          if (object instanceof RevTag && ((RevTag) object).getTaggerIdent() != null) {
+            time = ((RevTag) object).getTaggerIdent().getWhen().getTime();
+          }
+        }
+        if (preferred == null
+            || (annotated && !preferredAnnotated)
+            || (annotated && time > preferredTime)) {
+          preferred = ref.getName().substring(Constants.R_TAGS.length());
+          preferredAnnotated = annotated;
+          preferredTime = time;
+        }
+      }
+    }
+    return preferred == null ? tag : preferred;
+  }
+
+  /**
+   * Compile a glob of tag names, like the ones of <code>git tag -l</code>: the <code>*</code>
+   * also matches the <code>/</code>.
+   *
+   * @return The matcher, null to match everything.
+   */
+  static FileNameMatcher matcher(String pattern) throws InvalidPatternException {
+    return pattern == null || pattern.isEmpty() ? null : new FileNameMatcher(pattern, null);
+  }
+
+  static boolean matches(FileNameMatcher matcher, String name) {
+    if (matcher == null) {
+      return true;
+    }
+    matcher.reset();
+    matcher.append(name);
+    return matcher.isMatch();
+  }
+
+  private Repository open() throws IOException {
+    return new FileRepositoryBuilder().setGitDir(gitDir).setMustExist(true).build();
+  }
+
+  private static void logFallback(Exception exp) {
+    LOGGER.log(Level.FINE, "JGit failed to read the repository, using the git command line", exp);
+  }
+}
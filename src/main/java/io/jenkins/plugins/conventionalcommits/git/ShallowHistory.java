@@ -0,0 +1,292 @@
+package io.jenkins.plugins.conventionalcommits.git;
+
+import static io.jenkins.plugins.conventionalcommits.process.ProcessUtil.execute;
+import static io.jenkins.plugins.conventionalcommits.process.ProcessUtil.stream;
+
+import io.jenkins.plugins.conventionalcommits.utils.LogUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Deepen a shallow clone until its history reaches the latest version tag, so that the commits
+ * since the latest version are all read. The history is fetched in steps growing exponentially
+ * from a source having the whole history: a remote, a local reference repository or a bundle. The
+ * tags of the source are listed once, the version tags of the fetched commits are fetched too, and
+ * the deepening stops once no missing commit can change the tag the step would select: when the
+ * nearest tag is selected, once it is older than every commit at the edge of the truncated
+ * history; when the highest version is selected, once it is the highest version of the source.
+ *
+ * <p>A bundle can not serve the shallow negotiation of git, it is unpacked once into a mirror kept
+ * in the git directory of the clone, and only refreshed when the bundle changes.
+ */
+public class ShallowHistory {
+
+  /** Selection of the latest version tag in the history of the clone. */
+  @FunctionalInterface
+  public interface TagSelector {
+
+    /**
+     * Select the latest version tag.
+     *
+     * @return The tag, empty if none.
+     * @throws IOException If the repository can not be read.
+     * @throws InterruptedException If a command is interrupted.
+     */
+    String select() throws IOException, InterruptedException;
+  }
+
+  /** Number of commits of the first deepening, doubled at each step. */
+  static final int INITIAL_DEPTH = 32;
+
+  // The mirror of a bundle, in the git directory of the clone
+  static final String BUNDLE_MIRROR = "conventional-commits-bundle.git";
+  private static final String BUNDLE_STAMP = "conventional-commits-bundle";
+
+  private static final String TAGS = "refs/tags/";
+  private static final String PEELED = "^{}";
+  private static final String END_OF_OPTIONS = "--end-of-options";
+
+  private final File directory;
+  private final String source;
+  private final LogUtils log;
+
+  /**
+   * Constructor with fields initialisation.
+   *
+   * @param directory The clone, maybe shallow.
+   * @param source The source of the history: a remote name, an URL, a repository path or a
+   *     bundle file.
+   * @param log The logger, writing the progress to the build console.
+   */
+  public ShallowHistory(File directory, String source, LogUtils log) {
+    this.directory = Objects.requireNonNull(directory, "Directory is mandatory");
+    this.source = Objects.requireNonNull(source, "Source is mandatory");
+    this.log = Objects.requireNonNull(log, "Log is mandatory");
+  }
+
+  /**
+   * Check if the clone is shallow.
+   *
+   * @return true if the history of the clone is truncated.
+   * @throws IOException If git fails.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  public boolean isShallow() throws IOException, InterruptedException {
+    return "true".equals(
+        execute(directory, "git", "rev-parse", "--is-shallow-repository").trim());
+  }
+
+  /**
+   * Deepen the clone until its history contains the latest version tag of the source, or the
+   * whole history of the source when it has none. Nothing is done if the clone is not shallow.
+   *
+   * @param isVersionTag The filter of the version tags, by name.
+   * @param annotatedOnly true if only the annotated tags are version tags.
+   * @param versionOrder The order of the version tags when the highest reachable one is selected,
+   *     null when the nearest one is.
+   * @param selector The selection of the latest version tag, run after each step.
+   * @return The latest version tag, empty if none was reached.
+   * @throws IOException If git fails.
+   * @throws InterruptedException If a command is interrupted.
+   */
+  public String deepen(Predicate<String> isVersionTag, boolean annotatedOnly,
+      Comparator<String> versionOrder, TagSelector selector)
+      throws IOException, InterruptedException {
+    if (!isShallow()) {
+      return "";
+    }
+    String from = resolveSource();
+    Map<String, List<String>> versionTags = listTags(from, isVersionTag, annotatedOnly);
+    if (versionTags.isEmpty()) {
+      log.console(() -> "No version tag in " + source + ", fetching the whole history");
+      execute(directory, "git", "fetch", "-q", "--unshallow", END_OF_OPTIONS, from);
+      return "";
+    }
+
+    // a higher version may be deeper in the history, only the highest of the source ends it
+    String highest = versionOrder == null ? null : versionTags.values().stream()
+        .flatMap(List::stream).max(versionOrder).orElse(null);
+    int depth = INITIAL_DEPTH;
+    long commits = -1;
+    Set<String> fetched = new HashSet<>();
+    while (true) {
+      Set<String> reached = new LinkedHashSet<>();
+      long count = findTags(versionTags, reached);
+      reached.removeAll(fetched);
+      if (!reached.isEmpty()) {
+        fetchTags(from, reached);
+        fetched.addAll(reached);
+      }
+      String selected = fetched.isEmpty() ? "" : selector.select();
+      boolean shallow = isShallow();
+      if (!selected.isEmpty() && (!shallow || isComplete(selected, highest, versionOrder))) {
+        log.console(() -> "History deepened to " + count + " commits, reaching " + selected);
+        return selected;
+      }
+      if (!shallow || count == commits) {
+        // the whole history, or the source does not have more of it
+        log.console(() -> "No version tag in the " + count + " commits of the history");
+        return selected;
+      }
+      commits = count;
+      int step = depth;
+      log.console(() -> "Shallow clone of " + count + " commits, deepening by " + step);
+      execute(directory, "git", "fetch", "-q", "--no-tags", "--deepen=" + depth, END_OF_OPTIONS,
+          from);
+      depth = Math.min(depth * 2, Integer.MAX_VALUE / 2);
+    }
+  }
+
+  /**
+   * Check if the selected tag is the highest version of the source, or, when the nearest tag is
+   * selected, if its commit is at least as recent as every commit at the edge of the truncated
+   * history, their missing parents being older.
+   */
+  private boolean isComplete(String tag, String highest, Comparator<String> versionOrder)
+      throws IOException, InterruptedException {
+    if (versionOrder != null) {
+      return versionOrder.compare(tag, highest) >= 0;
+    }
+    File shallow = new File(
+        execute(directory, "git", "rev-parse", "--git-path", "shallow").trim());
+    if (!shallow.isAbsolute()) {
+      shallow = new File(directory, shallow.getPath());
+    }
+    if (!shallow.isFile()) {
+      return true;
+    }
+    List<String> command = new ArrayList<>();
+    command.add("git");
+    command.add("log");
+    command.add("--no-walk");
+    command.add("--format=%ct");
+    for (String line : Files.readAllLines(shallow.toPath(), StandardCharsets.UTF_8)) {
+      if (!line.trim().isEmpty()) {
+        command.add(line.trim());
+      }
+    }
+    long tagged = Long.parseLong(
+        execute(directory, "git", "log", "-1", "--format=%ct", TAGS + tag).trim());
+    long[] edge = {Long.MIN_VALUE};
+    stream(directory, line -> {
+      if (!line.trim().isEmpty()) {
+        edge[0] = Math.max(edge[0], Long.parseLong(line.trim()));
+      }
+      return true;
+    }, command.toArray(new String[0]));
+    return edge[0] <= tagged;
+  }
+
+  /**
+   * Return the commits having a version tag in the source, with the names of their tags.
+   */
+  private Map<String, List<String>> listTags(String from, Predicate<String> isVersionTag,
+      boolean annotatedOnly) throws IOException, InterruptedException {
+    // an annotated tag is listed twice: the tag object, then the commit as "name^{}"
+    Map<String, String> lightweight = new HashMap<>();
+    Map<String, List<String>> byCommit = new HashMap<>();
+    stream(directory, line -> {
+      int tab = line.indexOf('\t');
+      if (tab < 0 || !line.startsWith(TAGS, tab + 1)) {
+        return true;
+      }
+      String commit = line.substring(0, tab);
+      String name = line.substring(tab + 1 + TAGS.length());
+      if (name.endsWith(PEELED)) {
+        name = name.substring(0, name.length() - PEELED.length());
+        lightweight.remove(name);
+        if (isVersionTag.test(name)) {
+          byCommit.computeIfAbsent(commit, key -> new ArrayList<>()).add(name);
+        }
+      } else if (!annotatedOnly && isVersionTag.test(name)) {
+        lightweight.put(name, commit);
+      }
+      return true;
+    }, "git", "ls-remote", "--tags", END_OF_OPTIONS, from);
+    lightweight.forEach(
+        (name, commit) -> byCommit.computeIfAbsent(commit, key -> new ArrayList<>()).add(name));
+    return byCommit;
+  }
+
+  /**
+   * Walk the history of HEAD, collecting the version tags of its commits.
+   *
+   * @return The number of commits of the history.
+   */
+  private long findTags(Map<String, List<String>> versionTags, Set<String> reached)
+      throws IOException, InterruptedException {
+    long[] count = {0};
+    stream(directory, commit -> {
+      count[0]++;
+      List<String> names = versionTags.get(commit);
+      if (names != null) {
+        reached.addAll(names);
+      }
+      return true;
+    }, "git", "rev-list", "HEAD");
+    return count[0];
+  }
+
+  /** Fetch the tags, their commits are already there. */
+  private void fetchTags(String from, Set<String> names)
+      throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>();
+    command.add("git");
+    command.add("fetch");
+    command.add("-q");
+    command.add("--no-tags");
+    command.add(END_OF_OPTIONS);
+    command.add(from);
+    for (String name : names) {
+      command.add("+" + TAGS + name + ":" + TAGS + name);
+    }
+    execute(directory, command.toArray(new String[0]));
+  }
+
+  /**
+   * Return the repository to fetch from: the source itself, or the mirror of a bundle, created or
+   * refreshed if the bundle changed.
+   */
+  private String resolveSource() throws IOException, InterruptedException {
+    File bundle = new File(source);
+    if (!bundle.isAbsolute()) {
+      bundle = new File(directory, source);
+    }
+    if (!bundle.isFile()) {
+      return source;
+    }
+    File gitDir = new File(
+        execute(directory, "git", "rev-parse", "--absolute-git-dir").trim());
+    File mirror = new File(gitDir, BUNDLE_MIRROR);
+    File stamp = new File(gitDir, BUNDLE_STAMP);
+    String version = bundle.getCanonicalPath() + " " + bundle.lastModified() + " "
+        + bundle.length();
+    if (mirror.isDirectory() && stamp.isFile()
+        && version.equals(new String(Files.readAllBytes(stamp.toPath()), StandardCharsets.UTF_8))) {
+      return mirror.getPath();
+    }
+    if (mirror.isDirectory()) {
+      log.console(() -> "Refreshing the history of " + source);
+      execute(directory, "git", "--git-dir=" + mirror.getPath(), "fetch", "-q", "--prune",
+          END_OF_OPTIONS, bundle.getPath(), "+refs/*:refs/*");
+    } else {
+      log.console(() -> "Unpacking the history of " + source);
+      execute(directory, "git", "clone", "-q", "--mirror", "--", bundle.getPath(),
+          mirror.getPath());
+    }
+    Files.write(stamp.toPath(), version.getBytes(StandardCharsets.UTF_8));
+    return mirror.getPath();
+  }
+}
@@ -0,0 +1,26 @@
+package io.jenkins.plugins.conventionalcommits.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jenkins.metrics.api.Metrics;
+
+/** The only class using the Metrics plugin, loaded when the plugin is installed. */
+final class DropwizardMetrics {
+
+  private DropwizardMetrics() {
+    // static methods only
+  }
+
+  static void record(String prefix, Measurement<?> measurement) {
+    MetricRegistry registry = Metrics.metricRegistry();
+    registry.timer(prefix + ".duration").update(measurement.getDuration(), TimeUnit.NANOSECONDS);
+    for (Map.Entry<String, Long> timer : measurement.getTimers().entrySet()) {
+      registry.timer(prefix + "." + timer.getKey())
+          .update(timer.getValue(), TimeUnit.NANOSECONDS);
+    }
+    for (Map.Entry<String, Long> counter : measurement.getCounters().entrySet()) {
+      registry.counter(prefix + "." + counter.getKey() + ".count").inc(counter.getValue());
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package io.jenkins.plugins.conventionalcommits.metrics;
+
+import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import io.jenkins.plugins.conventionalcommits.utils.ProjectCache;
+import java.io.File;
+import java.io.IOException;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Run a callable of a step where the workspace is, measuring its phases, and send the metrics back
+ * to the controller with its result, or with its failure: the phases run until a failure are
+ * recorded too, the failure is thrown once they are.
+ */
+public class MeasuredCallable<T> extends MasterToSlaveFileCallable<Measurement<T>> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final FilePath.FileCallable<T> callable;
+
+  /**
+   * Constructor with fields initialisation.
+   *
+   * @param callable The callable to measure.
+   */
+  public MeasuredCallable(FilePath.FileCallable<T> callable) {
+    this.callable = callable;
+  }
+
+  @Override
+  public Measurement<T> invoke(File dir, VirtualChannel channel)
+      throws IOException, InterruptedException {
+    StepMetrics metrics = new StepMetrics();
+    long start = System.nanoTime();
+    T value;
+    // the project files are cached for this run of the step only
+    try (StepMetrics.Scope scope = metrics.attach();
+        StepMetrics.Scope cache = ProjectCache.open()) {
+      value = callable.invoke(dir, channel);
+    } catch (IOException | InterruptedException | RuntimeException exp) {
+      return Measurement.failed(exp, System.nanoTime() - start, metrics);
+    }
+    return new Measurement<>(value, System.nanoTime() - start, metrics);
+  }
+}
@@ -0,0 +1,109 @@
+package io.jenkins.plugins.conventionalcommits.metrics;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The result of a step computed on an agent, or its failure, with the timers and counters of its
+ * phases.
+ */
+public class Measurement<T> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final T value;
+  // The failure of the step, thrown on the controller once the metrics are recorded
+  private final Throwable failure;
+  private final long duration;
+  // Plain maps, the collector itself is not sent back to the controller
+  private final TreeMap<String, Long> timers;
+  private final TreeMap<String, Long> counters;
+
+  /**
+   * Constructor with fields initialisation.
+   *
+   * @param value The result of the step.
+   * @param duration The nanoseconds spent computing it.
+   * @param metrics The collector of the phases.
+   */
+  public Measurement(T value, long duration, StepMetrics metrics) {
+    this(value, null, duration, metrics);
+  }
+
+  private Measurement(T value, Throwable failure, long duration, StepMetrics metrics) {
+    this.value = value;
+    this.failure = failure;
+    this.duration = duration;
+    this.timers = new TreeMap<>(metrics.getTimers());
+    this.counters = new TreeMap<>(metrics.getCounters());
+  }
+
+  /**
+   * Return the measurement of a failed step, with the phases run until the failure.
+   *
+   * @param failure The failure of the step.
+   * @param duration The nanoseconds spent until the failure.
+   * @param metrics The collector of the phases.
+   * @param <T> The type of the result of the step.
+   * @return The measurement, throwing the failure when its value is read.
+   */
+  public static <T> Measurement<T> failed(Throwable failure, long duration,
+      StepMetrics metrics) {
+    return new Measurement<>(null, failure, duration, metrics);
+  }
+
+  /**
+   * Return the result of the step, or throw its failure.
+   *
+   * @return The result of the step.
+   * @throws IOException If the step failed with an IOException, or a checked exception.
+   * @throws InterruptedException If the step was interrupted.
+   */
+  public T getValue() throws IOException, InterruptedException {
+    if (failure == null) {
+      return value;
+    }
+    if (failure instanceof IOException) {
+      throw (IOException) failure;
+    }
+    if (failure instanceof InterruptedException) {
+      throw (InterruptedException) failure;
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    }
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+    throw new IOException(failure);
+  }
+
+  public boolean isFailed() {
+    return failure != null;
+  }
+
+  public long getDuration() {
+    return duration;
+  }
+
+  /**
+   * Return the timers.
+   *
+   * @return The nanoseconds spent in each phase, by name.
+   */
+  public Map<String, Long> getTimers() {
+    return Collections.unmodifiableMap(timers);
+  }
+
+  /**
+   * Return the counters.
+   *
+   * @return The value of each counter, by name.
+   */
+  public Map<String, Long> getCounters() {
+    return Collections.unmodifiableMap(counters);
+  }
+}
@@ -0,0 +1,47 @@
+package io.jenkins.plugins.conventionalcommits.metrics;
+
+import hudson.model.Run;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.model.Jenkins;
+
+/**
+ * Record the metrics of the steps in their build, see {@link StepTraceAction}, and export them to
+ * the Metrics plugin, as Dropwizard metrics named
+ * <code>conventional-commits.&lt;step&gt;.&lt;phase or counter&gt;</code>. Without the Metrics
+ * plugin, nothing is exported, and its classes are never loaded.
+ */
+public final class MetricsRecorder {
+
+  /** Prefix of the names of the metrics. */
+  public static final String NAMESPACE = "conventional-commits";
+
+  private static final Logger LOGGER = Logger.getLogger(MetricsRecorder.class.getName());
+
+  private MetricsRecorder() {
+    // static methods only
+  }
+
+  /**
+   * Record the metrics of a step, on the controller.
+   *
+   * @param run The build running the step, null if unknown.
+   * @param step The name of the step, like <code>nextVersion</code>.
+   * @param measurement The result of the step and its metrics.
+   */
+  public static void record(Run<?, ?> run, String step, Measurement<?> measurement) {
+    if (run != null) {
+      StepTraceAction.add(run, step, measurement);
+    }
+    Jenkins jenkins = Jenkins.getInstanceOrNull();
+    if (jenkins == null || jenkins.getPlugin("metrics") == null) {
+      return;
+    }
+    try {
+      DropwizardMetrics.record(NAMESPACE + "." + step, measurement);
+    } catch (LinkageError | RuntimeException exp) {
+      // the metrics must never fail the build
+      LOGGER.log(Level.FINE, "Unable to record the metrics of " + step, exp);
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package io.jenkins.plugins.conventionalcommits.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timers and counters of the phases of a step, collected where the step runs. The collector of a
+ * step is attached to the threads running it, the code of the phases reads it with
+ * {@link #current()}: when none is attached, measuring costs nothing.
+ *
+ * <p>The timers are exclusive: a phase started while another one runs on the same thread (a git
+ * process while the latest tag is looked up for example) is not counted in the first one, so the
+ * timers of a step add up to its duration. The phases are coarse, a loop is timed once and its
+ * iterations counted locally, so that measuring does not slow the walks down.
+ */
+public final class StepMetrics {
+
+  /** Lookup of the latest tag. */
+  public static final String TAGS = "tags";
+  /** Deepening of a shallow clone. */
+  public static final String DEEPEN = "deepen";
+  /** Update of the commit-graph of the repository. */
+  public static final String COMMIT_GRAPH = "commitGraph";
+  /** Retrieval and classification of the commit messages, timed once for the whole walk. */
+  public static final String LOG = "log";
+  /** Read of the current version, suffixed by the project type. */
+  public static final String CURRENT_VERSION = "currentVersion";
+  /** Write of the next version. */
+  public static final String WRITE_VERSION = "writeVersion";
+  /** Child processes, suffixed by the command. */
+  public static final String PROCESS = "process";
+  /** Parse of the configuration files of the project. */
+  public static final String PARSE = "parse";
+  /** Counter of the commits read. */
+  public static final String COMMITS = "commits";
+  /** Counter of the tags read. */
+  public static final String TAG_COUNT = "tags";
+  /** Counter of the child processes started. */
+  public static final String PROCESSES = "processes";
+  /** Counter of the project types and files found in the project cache. */
+  public static final String CACHE_HITS = "cache.hits";
+  /** Counter of the project types detected and files parsed. */
+  public static final String CACHE_MISSES = "cache.misses";
+  /** Counter of the walks using the version index of a previous build. */
+  public static final String INDEX_HITS = "index.hits";
+  /** Counter of the walks without usable version index. */
+  public static final String INDEX_MISSES = "index.misses";
+
+  private static final ThreadLocal<StepMetrics> CURRENT = new ThreadLocal<>();
+  // The innermost running split of the thread, the phases nest
+  private static final ThreadLocal<Split> RUNNING = new ThreadLocal<>();
+
+  private static final StepMetrics DISABLED = new StepMetrics(false);
+  private static final Split NO_SPLIT = new Split(null, null);
+
+  private final boolean enabled;
+  private final Map<String, LongAdder> timers = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+  /** Constructor of a collector, to attach to the threads of a step. */
+  public StepMetrics() {
+    this(true);
+  }
+
+  private StepMetrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Return the collector attached to the current thread.
+   *
+   * @return The collector, a collector ignoring everything if none is attached.
+   */
+  public static StepMetrics current() {
+    StepMetrics metrics = CURRENT.get();
+    return metrics == null ? DISABLED : metrics;
+  }
+
+  /**
+   * Attach the collector to the current thread, until the returned scope is closed.
+   *
+   * @return The scope, restoring the previous collector when closed.
+   */
+  public Scope attach() {
+    StepMetrics previous = CURRENT.get();
+    CURRENT.set(this);
+    return () -> {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    };
+  }
+
+  /**
+   * Wrap a task, so that it is measured by this collector on the thread running it.
+   *
+   * @param task The task.
+   * @param <T> The type of the result.
+   * @return The task, with the collector attached while it runs.
+   */
+  public <T> Callable<T> wrap(Callable<T> task) {
+    if (!enabled) {
+      return task;
+    }
+    return () -> {
+      try (Scope scope = attach()) {
+        return task.call();
+      }
+    };
+  }
+
+  /**
+   * Start timing a phase, until the returned split is closed.
+   *
+   * @param timer The name of the timer.
+   * @return The running split.
+   */
+  public Split start(String timer) {
+    if (!enabled) {
+      return NO_SPLIT;
+    }
+    Split split = new Split(this, timer);
+    RUNNING.set(split);
+    return split;
+  }
+
+  /**
+   * Add to a counter.
+   *
+   * @param counter The name of the counter.
+   * @param value The value to add.
+   */
+  public void add(String counter, long value) {
+    if (enabled) {
+      counters.computeIfAbsent(counter, name -> new LongAdder()).add(value);
+    }
+  }
+
+  /**
+   * Increment a counter.
+   *
+   * @param counter The name of the counter.
+   */
+  public void increment(String counter) {
+    add(counter, 1);
+  }
+
+  /**
+   * Return the timers.
+   *
+   * @return The nanoseconds spent in each phase, by name.
+   */
+  public Map<String, Long> getTimers() {
+    return snapshot(timers);
+  }
+
+  /**
+   * Return the counters.
+   *
+   * @return The value of each counter, by name.
+   */
+  public Map<String, Long> getCounters() {
+    return snapshot(counters);
+  }
+
+  private static Map<String, Long> snapshot(Map<String, LongAdder> values) {
+    Map<String, Long> snapshot = new TreeMap<>();
+    values.forEach((name, value) -> snapshot.put(name, value.sum()));
+    return snapshot;
+  }
+
+  /** Scope of a collector attached to a thread. */
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  /** A running phase, to close when the phase ends. */
+  public static final class Split implements AutoCloseable {
+    private final StepMetrics metrics;
+    private final String timer;
+    private final Split parent;
+    private final long start;
+    // Time of the nested phases, not counted in this one
+    private long nested;
+
+    private Split(StepMetrics metrics, String timer) {
+      this.metrics = metrics;
+      this.timer = timer;
+      this.parent = metrics == null ? null : RUNNING.get();
+      this.start = metrics == null ? 0 : System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+      if (metrics == null) {
+        return;
+      }
+      long elapsed = System.nanoTime() - start;
+      metrics.timers.computeIfAbsent(timer, name -> new LongAdder()).add(elapsed - nested);
+      if (parent != null) {
+        parent.nested += elapsed;
+        RUNNING.set(parent);
+      } else {
+        RUNNING.remove();
+      }
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package io.jenkins.plugins.conventionalcommits.metrics;
+
+import hudson.model.Run;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import jenkins.model.RunAction2;
+
+/**
+ * Timings of the <code>nextVersion</code> and <code>currentVersion</code> steps of a build, shown
+ * as a table on the build page: the time of each phase (git and build tool processes, parsing and
+ * writing of the files...), the commits and tags read and the caches used.
+ */
+public class StepTraceAction implements RunAction2 {
+
+  // Guards the creation of the action, the build itself is locked by Jenkins
+  private static final Object LOCK = new Object();
+
+  private final List<Entry> entries = new ArrayList<>();
+
+  private transient Run<?, ?> run;
+
+  /**
+   * Add the measurement of a step to the action of a build, created if needed.
+   *
+   * @param run The build.
+   * @param step The name of the step.
+   * @param measurement The measurement of the step.
+   */
+  public static void add(Run<?, ?> run, String step, Measurement<?> measurement) {
+    StepTraceAction action;
+    // the steps of parallel branches add their measurements concurrently
+    synchronized (LOCK) {
+      action = run.getAction(StepTraceAction.class);
+      if (action == null) {
+        action = new StepTraceAction();
+        run.addAction(action);
+      }
+    }
+    synchronized (action) {
+      action.entries.add(new Entry(step, measurement));
+    }
+  }
+
+  /**
+   * Return the measured steps, in order.
+   *
+   * @return The measurements of the steps.
+   */
+  public synchronized List<Entry> getEntries() {
+    return Collections.unmodifiableList(new ArrayList<>(entries));
+  }
+
+  public Run<?, ?> getRun() {
+    return run;
+  }
+
+  @Override
+  public void onAttached(Run<?, ?> run) {
+    this.run = run;
+  }
+
+  @Override
+  public void onLoad(Run<?, ?> run) {
+    this.run = run;
+  }
+
+  @Override
+  public String getIconFileName() {
+    // only the summary on the build page
+    return null;
+  }
+
+  @Override
+  public String getDisplayName() {
+    return "Conventional Commits timings";
+  }
+
+  @Override
+  public String getUrlName() {
+    return null;
+  }
+
+  /** The measurement of a step. */
+  public static class Entry {
+    private final String step;
+    private final boolean failed;
+    private final long duration;
+    private final TreeMap<String, Long> timers;
+    private final TreeMap<String, Long> counters;
+
+    Entry(String step, Measurement<?> measurement) {
+      this.step = step;
+      this.failed = measurement.isFailed();
+      this.duration = measurement.getDuration();
+      this.timers = new TreeMap<>(measurement.getTimers());
+      this.counters = new TreeMap<>(measurement.getCounters());
+    }
+
+    public String getStep() {
+      return step;
+    }
+
+    public boolean isFailed() {
+      return failed;
+    }
+
+    public String getDuration() {
+      return format(duration);
+    }
+
+    /**
+     * Return the time of the phases, the longest first.
+     *
+     * @return The formatted time of each phase, by name.
+     */
+    public Map<String, String> getTimers() {
+      List<Map.Entry<String, Long>> sorted = new ArrayList<>(timers.entrySet());
+      sorted.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+      Map<String, String> formatted = new LinkedHashMap<>();
+      for (Map.Entry<String, Long> timer : sorted) {
+        formatted.put(timer.getKey(), format(timer.getValue()));
+      }
+      return formatted;
+    }
+
+    public Map<String, Long> getCounters() {
+      return Collections.unmodifiableMap(counters);
+    }
+
+    private static String format(long nanos) {
+      return String.format(Locale.ROOT, "%.1f ms",
+          nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+  }
+}
@@ -0,0 +1,423 @@
+package io.jenkins.plugins.conventionalcommits.process;
+
+import io.jenkins.plugins.conventionalcommits.metrics.StepMetrics;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import jenkins.util.SystemProperties;
+
+/**
+ * Run CLI commands without the pipe deadlocks of a sequential read: stdout and stderr are drained
+ * concurrently while the command runs. The output kept in memory is capped, and a command running
+ * longer than the timeout is killed.
+ *
+ * <p>The defaults can be changed with the system properties
+ * <code>io.jenkins.plugins.conventionalcommits.process.ProcessRunner.timeoutSeconds</code> (600)
+ * and <code>io.jenkins.plugins.conventionalcommits.process.ProcessRunner.maxOutputBytes</code>
+ * (16 MB).
+ */
+public class ProcessRunner {
+
+  private static final long DEFAULT_TIMEOUT_SECONDS =
+      SystemProperties.getLong(ProcessRunner.class.getName() + ".timeoutSeconds", 600L);
+
+  private static final int DEFAULT_MAX_OUTPUT_BYTES =
+      SystemProperties.getInteger(ProcessRunner.class.getName() + ".maxOutputBytes",
+          16 * 1024 * 1024);
+
+  // time given to the pumps to read the end of the output once the command is finished
+  private static final long PUMP_JOIN_SECONDS = 10L;
+
+  // period of the check of an interruption while a streamed command is read
+  private static final long INTERRUPT_CHECK_MILLIS = 100L;
+
+  private static final ExecutorService PUMPS =
+      Executors.newCachedThreadPool(daemon("conventional-commits process output"));
+
+  private static final ScheduledExecutorService WATCHDOG =
+      Executors.newSingleThreadScheduledExecutor(daemon("conventional-commits process timeout"));
+
+  private final long timeout;
+  private final TimeUnit unit;
+  private final int maxOutputBytes;
+
+  /** Runner with the default timeout and output cap. */
+  public ProcessRunner() {
+    this(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS, DEFAULT_MAX_OUTPUT_BYTES);
+  }
+
+  /**
+   * Runner with a specific timeout and output cap.
+   *
+   * @param timeout        Maximum duration of a command, it is killed after.
+   * @param unit           Unit of the timeout.
+   * @param maxOutputBytes Maximum size of the output kept in memory, for each stream, or of each
+   *                       line or record when the output is streamed.
+   */
+  public ProcessRunner(long timeout, TimeUnit unit, int maxOutputBytes) {
+    this.timeout = timeout;
+    this.unit = unit;
+    this.maxOutputBytes = maxOutputBytes;
+  }
+
+  private static ThreadFactory daemon(String name) {
+    return runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Run a command and keep its output.
+   *
+   * @param dir     Directory where execute the command.
+   * @param command Command and parameters of the command.
+   * @return The exit code and the output of the command.
+   * @throws IOException          If the command can not be started, times out or if its standard
+   *                              output is larger than the cap.
+   * @throws InterruptedException If the thread is interrupted, the command is killed.
+   */
+  public Result run(File dir, List<String> command) throws IOException, InterruptedException {
+    try (StepMetrics.Split split = measure(command)) {
+      return runProcess(dir, command);
+    }
+  }
+
+  private Result runProcess(File dir, List<String> command)
+      throws IOException, InterruptedException {
+    Process process = new ProcessBuilder(command).directory(dir).start();
+    process.getOutputStream().close();
+
+    AtomicBoolean killed = new AtomicBoolean();
+    Future<Output> stdout = PUMPS.submit(() -> pump(process.getInputStream(), process, killed,
+        true));
+    Future<Output> stderr = PUMPS.submit(() -> pump(process.getErrorStream(), process, killed,
+        false));
+
+    try {
+      if (!process.waitFor(timeout, unit)) {
+        kill(process, killed);
+        throw timedOut(dir, command);
+      }
+      Output out = join(stdout);
+      Output err = join(stderr);
+      if (out.truncated) {
+        throw new IOException("the output of '" + String.join(" ", command) + "' in '" + dir
+            + "' is larger than " + maxOutputBytes + " bytes");
+      }
+      return new Result(process.exitValue(), out.text, err.text);
+    } catch (InterruptedException exp) {
+      kill(process, killed);
+      throw exp;
+    } finally {
+      stdout.cancel(true);
+      stderr.cancel(true);
+    }
+  }
+
+  /**
+   * Run a command and feed each line of its standard output to a consumer while it is read. When
+   * the consumer returns <code>false</code> the command is stopped.
+   *
+   * @param dir          Directory where execute the command.
+   * @param lineConsumer Consumer of the output lines.
+   * @param command      Command and parameters of the command.
+   * @return The exit code and the error output of the command, the exit code is not meaningful
+   *     when the consumer stopped the command.
+   * @throws IOException          If the command can not be started, times out or if a line is
+   *                              larger than the cap.
+   * @throws InterruptedException If the thread is interrupted, the command is killed.
+   */
+  public Result stream(File dir, Predicate<String> lineConsumer, List<String> command)
+      throws IOException, InterruptedException {
+    return stream(dir, lineConsumer, command, -1);
+  }
+
+  /**
+   * Run a command and feed each record of its standard output to a consumer while it is read,
+   * the records being separated by a delimiter (a NUL character for example). Only one record is
+   * kept in memory at a time. When the consumer returns <code>false</code> the command is stopped.
+   *
+   * @param dir            Directory where execute the command.
+   * @param recordConsumer Consumer of the output records.
+   * @param command        Command and parameters of the command.
+   * @param delimiter      The character ending a record.
+   * @return The exit code and the error output of the command, the exit code is not meaningful
+   *     when the consumer stopped the command.
+   * @throws IOException          If the command can not be started, times out or if a record is
+   *                              larger than the cap.
+   * @throws InterruptedException If the thread is interrupted, the command is killed.
+   */
+  public Result stream(File dir, Predicate<String> recordConsumer, List<String> command,
+      char delimiter) throws IOException, InterruptedException {
+    return stream(dir, recordConsumer, command, (int) delimiter);
+  }
+
+  /** Stream the lines of the output if the delimiter is negative, its records otherwise. */
+  private Result stream(File dir, Predicate<String> consumer, List<String> command,
+      int delimiter) throws IOException, InterruptedException {
+    // the time of the consumer is not counted in the time of the command
+    try (StepMetrics.Split split = measure(command)) {
+      return streamProcess(dir, consumer, command, delimiter);
+    }
+  }
+
+  private Result streamProcess(File dir, Predicate<String> consumer, List<String> command,
+      int delimiter) throws IOException, InterruptedException {
+    Process process = new ProcessBuilder(command).directory(dir).start();
+    process.getOutputStream().close();
+
+    AtomicBoolean killed = new AtomicBoolean();
+    AtomicBoolean expired = new AtomicBoolean();
+    ScheduledFuture<?> watchdog = WATCHDOG.schedule(() -> {
+      expired.set(true);
+      kill(process, killed);
+    }, timeout, unit);
+    // a read blocked on a silent command does not see the interruption: it is killed to end it
+    Thread reading = Thread.currentThread();
+    ScheduledFuture<?> interruption = WATCHDOG.scheduleWithFixedDelay(() -> {
+      if (reading.isInterrupted()) {
+        kill(process, killed);
+      }
+    }, INTERRUPT_CHECK_MILLIS, INTERRUPT_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+    Future<Output> stderr = PUMPS.submit(() -> pump(process.getErrorStream(), process, killed,
+        false));
+
+    boolean stopped = false;
+    try (Reader reader = new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)) {
+      // a single line or record is capped like the whole output of run, the command is killed
+      RecordReader records = new RecordReader(reader, delimiter, maxOutputBytes, dir, command);
+      String line;
+      while ((line = records.next()) != null) {
+        if (Thread.interrupted()) {
+          // the step was stopped
+          throw new InterruptedException("Interrupted while reading the output of a command");
+        }
+        if (!consumer.test(line)) {
+          stopped = true;
+          break;
+        }
+      }
+      if (stopped) {
+        kill(process, killed);
+      } else if (Thread.interrupted()) {
+        // the end of the output of a command killed by the interruption
+        throw new InterruptedException("Interrupted while reading the output of a command");
+      }
+      int exitCode = process.waitFor();
+      if (expired.get()) {
+        throw timedOut(dir, command);
+      }
+      return new Result(exitCode, "", join(stderr).text);
+    } catch (InterruptedException exp) {
+      kill(process, killed);
+      throw exp;
+    } catch (IOException exp) {
+      if (Thread.interrupted()) {
+        // the read failed as the command was killed by the interruption
+        throw new InterruptedException("Interrupted while reading the output of a command");
+      }
+      throw exp;
+    } finally {
+      watchdog.cancel(false);
+      interruption.cancel(false);
+      stderr.cancel(true);
+      if (process.isAlive()) {
+        kill(process, killed);
+      }
+    }
+  }
+
+  /** Count a command, and time it as <code>process.&lt;command name&gt;</code>. */
+  private static StepMetrics.Split measure(List<String> command) {
+    StepMetrics metrics = StepMetrics.current();
+    metrics.increment(StepMetrics.PROCESSES);
+    // git, mvn (mvn.cmd on Windows)...
+    String name = new File(command.get(0)).getName();
+    int extension = name.lastIndexOf('.');
+    return metrics.start(StepMetrics.PROCESS + "."
+        + (extension > 0 ? name.substring(0, extension) : name));
+  }
+
+  /**
+   * Read a stream until its end, keeping at most the configured number of bytes. The rest is read
+   * and dropped so that the command never blocks on a full pipe, unless it is the standard output
+   * which can not be used once truncated: the command is killed.
+   */
+  private Output pump(InputStream in, Process process, AtomicBoolean killed,
+      boolean killOnOverflow) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    boolean truncated = false;
+    byte[] chunk = new byte[8192];
+    try (InputStream stream = in) {
+      int read;
+      while ((read = stream.read(chunk)) != -1) {
+        int kept = Math.min(read, maxOutputBytes - buffer.size());
+        if (kept > 0) {
+          buffer.write(chunk, 0, kept);
+        }
+        if (kept < read && !truncated) {
+          truncated = true;
+          if (killOnOverflow) {
+            kill(process, killed);
+          }
+        }
+      }
+    } catch (IOException exp) {
+      // killing the command closes its streams
+      if (!killed.get()) {
+        throw exp;
+      }
+    }
+    return new Output(buffer.toString(StandardCharsets.UTF_8.name()), truncated);
+  }
+
+  private static void kill(Process process, AtomicBoolean killed) {
+    killed.set(true);
+    process.destroyForcibly();
+  }
+
+  private static Output join(Future<Output> pump) throws IOException, InterruptedException {
+    try {
+      return pump.get(PUMP_JOIN_SECONDS, TimeUnit.SECONDS);
+    } catch (ExecutionException exp) {
+      if (exp.getCause() instanceof IOException) {
+        throw (IOException) exp.getCause();
+      }
+      throw new IOException(exp.getCause());
+    } catch (TimeoutException exp) {
+      // a child of the command still holds the pipe open
+      throw new IOException("the output of the command was not closed", exp);
+    }
+  }
+
+  private IOException timedOut(File dir, List<String> command) {
+    return new IOException("executing '" + String.join(" ", command) + "' in '" + dir
+        + "' timed out after " + timeout + " " + unit.toString().toLowerCase() + ", it was killed");
+  }
+
+  /**
+   * Reader of the lines, ended by a line feed, a carriage return or both like
+   * {@link java.io.BufferedReader#readLine()}, or of the records ended by a delimiter. The buffers
+   * are reused from one record to the next, and a record larger than the cap is an error.
+   */
+  private static final class RecordReader {
+    private final Reader in;
+    // The character ending a record, negative for the lines
+    private final int delimiter;
+    private final int maxLength;
+    private final File dir;
+    private final List<String> command;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder record = new StringBuilder();
+    private int position;
+    private int limit;
+    // True if the previous line ended with a carriage return, a line feed is part of its end
+    private boolean skipLineFeed;
+
+    private RecordReader(Reader in, int delimiter, int maxLength, File dir, List<String> command) {
+      this.in = in;
+      this.delimiter = delimiter;
+      this.maxLength = maxLength;
+      this.dir = dir;
+      this.command = command;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return The record, without its delimiter, null at the end of the output.
+     */
+    private String next() throws IOException {
+      record.setLength(0);
+      while (true) {
+        if (position == limit) {
+          limit = Math.max(in.read(buffer, 0, buffer.length), 0);
+          position = 0;
+          if (limit == 0) {
+            // the last record may have no delimiter
+            return record.length() == 0 ? null : record.toString();
+          }
+        }
+        if (skipLineFeed) {
+          skipLineFeed = false;
+          if (buffer[position] == '\n') {
+            position++;
+            continue;
+          }
+        }
+        int start = position;
+        while (position < limit && !isEnd(buffer[position])) {
+          position++;
+        }
+        if (record.length() + position - start > maxLength) {
+          throw new IOException("a " + (delimiter < 0 ? "line" : "record") + " of the output of '"
+              + String.join(" ", command) + "' in '" + dir + "' is larger than " + maxLength
+              + " characters");
+        }
+        record.append(buffer, start, position - start);
+        if (position < limit) {
+          skipLineFeed = delimiter < 0 && buffer[position] == '\r';
+          position++;
+          return record.toString();
+        }
+      }
+    }
+
+    private boolean isEnd(char c) {
+      return delimiter < 0 ? c == '\n' || c == '\r' : c == delimiter;
+    }
+  }
+
+  private static class Output {
+    private final String text;
+    private final boolean truncated;
+
+    private Output(String text, boolean truncated) {
+      this.text = text;
+      this.truncated = truncated;
+    }
+  }
+
+  /** Exit code and output of a command. */
+  public static class Result {
+    private final int exitCode;
+    private final String stdout;
+    private final String stderr;
+
+    Result(int exitCode, String stdout, String stderr) {
+      this.exitCode = exitCode;
+      this.stdout = stdout;
+      this.stderr = stderr;
+    }
+
+    public int getExitCode() {
+      return exitCode;
+    }
+
+    public String getStdout() {
+      return stdout;
+    }
+
+    public String getStderr() {
+      return stderr;
+    }
+  }
+}
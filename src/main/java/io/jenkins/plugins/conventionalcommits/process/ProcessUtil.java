@@ -3,9 +3,10 @@ package io.jenkins.plugins.conventionalcommits.process;
 import com.google.common.io.LineReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 
 /**
  * Class to execute some CLI commands.
@@ -13,15 +14,15 @@ import java.nio.charset.StandardCharsets;
 public class ProcessUtil {
 
   /**
-   * Reads data from stdout.
+   * Reads data from stdout, with the line separators of the platform.
    *
-   * @param in InputStream object.
+   * @param output The output of the command.
    * @return read data.
-   * @throws IOException If an error occur reading files.
+   * @throws IOException If an error occur reading the output.
    */
-  private static String stdout(InputStream in) throws IOException {
+  private static String stdout(String output) throws IOException {
     StringBuilder builder = new StringBuilder();
-    LineReader reader = new LineReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    LineReader reader = new LineReader(new StringReader(output));
     while (true) {
       String line = reader.readLine();
       if (line == null) {
@@ -44,22 +45,72 @@ public class ProcessUtil {
    */
   public static String execute(File dir, String... commandAndArgs)
       throws IOException, InterruptedException {
-    ProcessBuilder builder = new ProcessBuilder().directory(dir).command(commandAndArgs);
+    ProcessRunner.Result result = new ProcessRunner().run(dir, Arrays.asList(commandAndArgs));
+    if (result.getExitCode() != 0) {
+      throw failed(dir, result, commandAndArgs);
+    }
+    return stdout(result.getStdout());
+  }
+
+  /**
+   * Execute a CLI command using ProcessBuilder and feed each line of its output to a consumer
+   * while it is read, instead of keeping the whole output in memory. When the consumer returns
+   * <code>false</code> the command is stopped.
+   *
+   * @param dir            Directory where execute the command.
+   * @param lineConsumer   Consumer of the output lines.
+   * @param commandAndArgs Command and parameters of the command.
+   * @throws IOException          If an error occur accessing files.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  public static void stream(File dir, Predicate<String> lineConsumer, String... commandAndArgs)
+      throws IOException, InterruptedException {
+    AtomicBoolean stopped = new AtomicBoolean();
+    ProcessRunner.Result result = new ProcessRunner().stream(dir, line -> {
+      boolean more = lineConsumer.test(line);
+      stopped.set(!more);
+      return more;
+    }, Arrays.asList(commandAndArgs));
+    if (!stopped.get() && result.getExitCode() != 0) {
+      throw failed(dir, result, commandAndArgs);
+    }
+  }
 
-    Process process = builder.start();
-    int exitCode = process.waitFor();
-    if (exitCode != 0) {
-      String stderr = stdout(process.getErrorStream());
-      throw new IOException(
-          "executing '"
-              + String.join(" ", commandAndArgs)
-              + "' failed in '"
-              + dir
-              + "' with exit code"
-              + exitCode
-              + " and error "
-              + stderr);
+  /**
+   * Execute a CLI command using ProcessBuilder and feed each record of its output, separated by a
+   * delimiter, to a consumer while it is read. When the consumer returns <code>false</code> the
+   * command is stopped.
+   *
+   * @param dir            Directory where execute the command.
+   * @param delimiter      The character ending a record, like a NUL character.
+   * @param recordConsumer Consumer of the output records.
+   * @param commandAndArgs Command and parameters of the command.
+   * @throws IOException          If an error occur accessing files.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  public static void stream(File dir, char delimiter, Predicate<String> recordConsumer,
+      String... commandAndArgs) throws IOException, InterruptedException {
+    AtomicBoolean stopped = new AtomicBoolean();
+    ProcessRunner.Result result = new ProcessRunner().stream(dir, record -> {
+      boolean more = recordConsumer.test(record);
+      stopped.set(!more);
+      return more;
+    }, Arrays.asList(commandAndArgs), delimiter);
+    if (!stopped.get() && result.getExitCode() != 0) {
+      throw failed(dir, result, commandAndArgs);
     }
-    return stdout(process.getInputStream());
+  }
+
+  private static IOException failed(File dir, ProcessRunner.Result result,
+      String... commandAndArgs) {
+    return new IOException(
+        "executing '"
+            + String.join(" ", commandAndArgs)
+            + "' failed in '"
+            + dir
+            + "' with exit code"
+            + result.getExitCode()
+            + " and error "
+            + result.getStderr());
   }
 }
@@ -1,21 +1,37 @@
 package io.jenkins.plugins.conventionalcommits.utils;
 
 import com.github.zafarkhaja.semver.Version;
+import io.jenkins.plugins.conventionalcommits.metrics.StepMetrics;
 import io.jenkins.plugins.conventionalcommits.process.DefaultProcessHelper;
 import io.jenkins.plugins.conventionalcommits.process.ProcessHelper;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.Locale;
 
 /** This class focus on getting the current version (latest release version) of a project. */
 public class CurrentVersion {
 
   private ProcessHelper processHelper;
 
+  // How the version of a Gradle project is read, null for the default
+  private GradleProjectType.Mode gradleMode;
+
+  // Name of the project type, null to detect it
+  private String projectTypeName;
+
   public void setProcessHelper(ProcessHelper processHelper) {
     this.processHelper = processHelper;
   }
 
+  public void setGradleMode(GradleProjectType.Mode gradleMode) {
+    this.gradleMode = gradleMode;
+  }
+
+  public void setProjectType(String projectTypeName) {
+    this.projectTypeName = projectTypeName;
+  }
+
   private Version getCurrentVersionTag(String latestTag) {
     return Version.valueOf(latestTag.isEmpty() ? "0.0.0" : latestTag);
   }
@@ -59,13 +75,23 @@ public class CurrentVersion {
       throws IOException, InterruptedException {
 
     Version currentVersion;
-    ProjectType projectType = ProjectTypeFactory.getProjectType(directory);
+    ProjectType projectType = ProjectTypeFactory.getProjectType(directory, projectTypeName);
 
     if (projectType != null) {
       if (processHelper == null) {
         processHelper = new DefaultProcessHelper();
       }
-      currentVersion = projectType.getCurrentVersion(directory, processHelper);
+      // one timer per project type, like currentVersion.maven
+      String timer = StepMetrics.CURRENT_VERSION + "." + projectType.getClass().getSimpleName()
+          .replace("ProjectType", "").toLowerCase(Locale.ROOT);
+      try (StepMetrics.Split split = StepMetrics.current().start(timer)) {
+        if (projectType instanceof GradleProjectType && gradleMode != null) {
+          currentVersion = ((GradleProjectType) projectType)
+              .getCurrentVersion(directory, processHelper, gradleMode);
+        } else {
+          currentVersion = projectType.getCurrentVersion(directory, processHelper);
+        }
+      }
     } else {
       currentVersion = getCurrentVersionTag(latestTag);
     }
@@ -6,7 +6,6 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
-import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.lang.NotImplementedException;
@@ -17,19 +16,14 @@ import org.apache.commons.lang.NotImplementedException;
  */
 public class GoProjectType extends ProjectType {
 
-  private boolean checkGoMod(File directory) {
-    return new File(directory, "go.mod").exists();
-  }
-
   /**
-   * Checks if the go.mod config file exists at the root directory.
+   * Return the file marking a Go module.
    *
-   * @param directory The directory in which the go.mod file is searched for.
-   * @return A boolean true / false is returned.
+   * @return The name of the go.mod file.
    */
   @Override
-  public boolean check(File directory) {
-    return checkGoMod(directory);
+  public String[] getMarkerFiles() {
+    return new String[] {"go.mod"};
   }
 
   /**
@@ -53,7 +47,7 @@ public class GoProjectType extends ProjectType {
     String versionRegex = "v[0-9]+.[0-9]+.[0-9]+(-((\\balpha\\b)|(\\bbeta\\b)).[0-9])?";
     Pattern pattern = Pattern.compile(versionRegex);
 
-    if (checkGoMod(directory)) {
+    if (check(directory)) {
       List<String> command = Arrays.asList(commandName, "list", "-m", "-versions");
       String longResult = processHelper.runProcessBuilder(directory, command);
       Matcher match = pattern.matcher(longResult);
@@ -82,10 +76,9 @@ public class GoProjectType extends ProjectType {
   @Override
   public void writeVersion(File directory, Version nextVersion, ProcessHelper processHelper)
       throws IOException, InterruptedException, NotImplementedException {
-    if (checkGoMod(directory)) {
+    if (check(directory)) {
       String message = "The go.mod file already exists";
-      LogUtils logger = new LogUtils();
-      logger.log(Level.INFO, Level.INFO, Level.FINE, Level.FINE, true, message);
+      LogUtils.get().info(message);
     } else {
       throw new NotImplementedException("Project not supported");
     }
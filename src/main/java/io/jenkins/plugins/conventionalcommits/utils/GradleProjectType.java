@@ -17,13 +17,51 @@ import java.util.Objects;
 /** Represent a Gradle project type (i.e with a build.gradle file). */
 public class GradleProjectType extends ProjectType {
 
-  public boolean check(File directory) {
-    return new File(directory, "build.gradle").exists();
+  /** How the version of the project is read. */
+  public enum Mode {
+    /** Read from the build files, with Gradle when the version is computed by the build. */
+    STATIC,
+    /** Always evaluated by Gradle, for builds computing their version. */
+    CLI,
+    /** Evaluated by a Gradle daemon kept warm between the steps, with the Tooling API. */
+    TOOLING
+  }
+
+  @Override
+  public String[] getMarkerFiles() {
+    return new String[] {"build.gradle", "build.gradle.kts"};
   }
 
   @Override
   public Version getCurrentVersion(File directory, ProcessHelper processHelper)
       throws IOException, InterruptedException {
+    return getCurrentVersion(directory, processHelper, Mode.STATIC);
+  }
+
+  /**
+   * Return the current version of the project.
+   *
+   * @param directory The directory of the build file.
+   * @param processHelper The helper to run Gradle.
+   * @param mode How the version is read.
+   * @return The current version.
+   * @throws IOException If an error occurs reading the files.
+   * @throws InterruptedException If Gradle is interrupted.
+   */
+  public Version getCurrentVersion(File directory, ProcessHelper processHelper, Mode mode)
+      throws IOException, InterruptedException {
+
+    if (mode == Mode.TOOLING) {
+      return Version.valueOf(GradleToolingClient.getVersion(directory));
+    }
+
+    // read the build files directly, Gradle is only started when the version is computed
+    if (mode == Mode.STATIC) {
+      String version = new GradleVersionReader().readVersion(directory);
+      if (version != null) {
+        return Version.valueOf(version);
+      }
+    }
 
     String os = System.getProperty("os.name");
     String commandName = "gradle";
@@ -35,6 +73,16 @@ public class GradleProjectType extends ProjectType {
     List<String> command = Arrays.asList(commandName, "-q", "properties");
     String results = processHelper.runProcessBuilder(directory, command);
 
+    return Version.valueOf(parseProperties(results));
+  }
+
+  /**
+   * Return the version printed by the <code>properties</code> task.
+   *
+   * @param results The output of the task.
+   * @return The version, "undefined" if not found.
+   */
+  static String parseProperties(String results) {
     String version = "undefined";
 
     String[] resultLines = results.split("[\\r\\n]+");
@@ -45,7 +93,7 @@ public class GradleProjectType extends ProjectType {
         break;
       }
     }
-    return Version.valueOf(version);
+    return version;
   }
 
   /**
@@ -0,0 +1,195 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import jenkins.util.SystemProperties;
+import org.gradle.tooling.CancellationTokenSource;
+import org.gradle.tooling.GradleConnectionException;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.ResultHandler;
+
+/**
+ * Read the version of a Gradle project with the Gradle Tooling API. The connections are cached
+ * per project directory, so that the steps of a pipeline share a warm Gradle daemon, and closed
+ * after being idle for 5 minutes (system property
+ * <code>io.jenkins.plugins.conventionalcommits.utils.GradleToolingClient.idleSeconds</code>).
+ *
+ * <p>The version is evaluated by Gradle at each call: it can depend on files Gradle alone knows
+ * (applied scripts, <code>buildSrc</code>, version catalogs, parent projects...), the warm daemon
+ * keeps this cheap. A connection running a build is never closed, the eviction skips it.
+ */
+public final class GradleToolingClient {
+
+  private static final long IDLE_MILLIS = TimeUnit.SECONDS.toMillis(
+      SystemProperties.getLong(GradleToolingClient.class.getName() + ".idleSeconds", 300L));
+
+  private static final Map<String, Connection> CONNECTIONS = new ConcurrentHashMap<>();
+
+  private static final ScheduledExecutorService EVICTION =
+      Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "conventional-commits gradle connections");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  static {
+    long period = Math.max(1000L, IDLE_MILLIS / 2);
+    EVICTION.scheduleWithFixedDelay(GradleToolingClient::closeIdleConnections, period, period,
+        TimeUnit.MILLISECONDS);
+  }
+
+  private GradleToolingClient() {
+  }
+
+  /**
+   * Return the version of a project, evaluated by Gradle.
+   *
+   * @param directory The directory of the project.
+   * @return The version of the project.
+   * @throws IOException If Gradle fails.
+   * @throws InterruptedException If interrupted, the Gradle build is cancelled.
+   */
+  public static String getVersion(File directory) throws IOException, InterruptedException {
+    String key = directory.getCanonicalPath();
+    while (true) {
+      Connection connection = CONNECTIONS.computeIfAbsent(key, k -> new Connection(directory));
+      connection.lock.lockInterruptibly();
+      try {
+        // closed while idle, between the lookup and the lock
+        if (!connection.closed) {
+          try {
+            return connection.getVersion();
+          } finally {
+            connection.lastUsed = System.currentTimeMillis();
+          }
+        }
+      } finally {
+        connection.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Close the connections not used for the idle duration. A connection running a build is in
+   * use, it is skipped without waiting for the build.
+   */
+  static void closeIdleConnections() {
+    long now = System.currentTimeMillis();
+    for (Map.Entry<String, Connection> entry : CONNECTIONS.entrySet()) {
+      Connection connection = entry.getValue();
+      if (now - connection.lastUsed < IDLE_MILLIS || !connection.lock.tryLock()) {
+        continue;
+      }
+      try {
+        if (now - connection.lastUsed >= IDLE_MILLIS) {
+          CONNECTIONS.remove(entry.getKey(), connection);
+          connection.close();
+        }
+      } finally {
+        connection.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Find the Gradle installation used by the command line, when the project has no wrapper.
+   *
+   * @return The installation, null to let the Tooling API choose the distribution.
+   */
+  private static File findInstallation(File directory) {
+    for (File dir = directory.getAbsoluteFile(); dir != null; dir = dir.getParentFile()) {
+      if (new File(dir, "gradle/wrapper/gradle-wrapper.properties").isFile()) {
+        return null;
+      }
+    }
+
+    String home = System.getenv("GRADLE_HOME");
+    if (home != null && new File(home, "lib").isDirectory()) {
+      return new File(home);
+    }
+    String path = System.getenv("PATH");
+    if (path == null) {
+      return null;
+    }
+    for (String dir : path.split(File.pathSeparator)) {
+      for (String name : new String[] {"gradle", "gradle.bat"}) {
+        File gradle = new File(dir, name);
+        if (gradle.isFile()) {
+          try {
+            // bin/gradle, usually a link in a package manager installation
+            File installation = gradle.toPath().toRealPath().getParent().getParent().toFile();
+            return new File(installation, "lib").isDirectory() ? installation : null;
+          } catch (IOException exp) {
+            return null;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /** A connection to a project, used by one build at a time. */
+  private static final class Connection {
+    private final ProjectConnection project;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long lastUsed = System.currentTimeMillis();
+    private boolean closed;
+
+    private Connection(File directory) {
+      GradleConnector connector = GradleConnector.newConnector().forProjectDirectory(directory);
+      File installation = findInstallation(directory);
+      if (installation != null) {
+        connector.useInstallation(installation);
+      }
+      this.project = connector.connect();
+    }
+
+    String getVersion() throws IOException, InterruptedException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      CancellationTokenSource cancellation = GradleConnector.newCancellationTokenSource();
+      CompletableFuture<Void> result = new CompletableFuture<>();
+      project.newBuild()
+          .forTasks("properties")
+          .withArguments("-q")
+          .setStandardOutput(out)
+          .withCancellationToken(cancellation.token())
+          .run(new ResultHandler<Void>() {
+            @Override
+            public void onComplete(Void unused) {
+              result.complete(null);
+            }
+
+            @Override
+            public void onFailure(GradleConnectionException failure) {
+              result.completeExceptionally(failure);
+            }
+          });
+      try {
+        result.get();
+      } catch (InterruptedException exp) {
+        cancellation.cancel();
+        throw exp;
+      } catch (ExecutionException exp) {
+        throw new IOException("Unable to read the version with Gradle", exp.getCause());
+      }
+
+      return GradleProjectType.parseProperties(out.toString(Charset.defaultCharset().name()));
+    }
+
+    void close() {
+      closed = true;
+      project.close();
+    }
+  }
+}
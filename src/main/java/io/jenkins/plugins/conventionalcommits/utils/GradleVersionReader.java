@@ -0,0 +1,371 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Read the version of a Gradle project from its build files without starting Gradle. The
+ * <code>version</code> declarations of <code>build.gradle</code> and <code>build.gradle.kts</code>
+ * are read, with the properties of <code>gradle.properties</code>. For a subproject included in
+ * the <code>settings.gradle</code> of a parent directory, the properties of the root project and
+ * its <code>allprojects</code> / <code>subprojects</code> blocks are applied first, like Gradle.
+ *
+ * <p>Only literals, properties and simple string templates are resolved. When the version is
+ * computed by the build (a method call, a plugin...) or assigned in another block, like a
+ * condition, <code>null</code> is returned and Gradle must be used.
+ */
+public class GradleVersionReader {
+
+  private static final String PROPERTIES = "gradle.properties";
+  private static final String[] BUILD_FILES = {"build.gradle", "build.gradle.kts"};
+  private static final String[] SETTINGS_FILES = {"settings.gradle", "settings.gradle.kts"};
+
+  private static final Pattern VERSION =
+      Pattern.compile("(?:project\\.)?version(?:\\s*(\\+?=)\\s*|\\s+)(.+)");
+  private static final Pattern LOCAL = Pattern.compile("(?:(?:def|val|var|String)\\s+"
+      + "|(?:project\\.)?ext\\.)(\\w+)(?:\\s*:\\s*[\\w?]+)?\\s*=\\s*(.+)");
+  private static final Pattern EXT_LOCAL = Pattern.compile("(\\w+)\\s*=\\s*(.+)");
+  private static final Pattern DELEGATE =
+      Pattern.compile("(?:val|var)\\s+(\\w+)(?:\\s*:\\s*[\\w?]+)?\\s+by\\s+project");
+  private static final Pattern PROPERTY_CALL = Pattern.compile(
+      "(?:(?:root)?[pP]roject\\.|providers\\.)?"
+          + "(?:property|findProperty|gradleProperty)\\(\\s*[\"']([\\w.-]+)[\"']\\s*\\)");
+  private static final Pattern IDENTIFIER =
+      Pattern.compile("(?:(?:root)?[pP]roject\\.)?(?:ext\\.)?(\\w+)");
+  private static final Pattern TEMPLATE =
+      Pattern.compile("\\$\\{\\s*([\\w.]+)\\s*}|\\$(\\w+)");
+  private static final Pattern BLOCK_NAME = Pattern.compile("(\\w+)\\W*$");
+  private static final Pattern INCLUDE = Pattern.compile("[\"']:?([\\w.:-]+)[\"']");
+  private static final Pattern SUFFIX =
+      Pattern.compile("(?:\\s+as\\s+String|!!|\\.get\\(\\)|\\.toString\\(\\))+$");
+
+  /**
+   * Read the version of the project.
+   *
+   * @param directory The directory of the build file.
+   * @return The resolved version, null if it can not be resolved without Gradle.
+   * @throws IOException If the files can not be read.
+   */
+  public String readVersion(File directory) throws IOException {
+    File dir = directory.getAbsoluteFile();
+    File root = findRoot(dir);
+
+    Map<String, String> variables = new HashMap<>();
+    readProperties(new File(root, PROPERTIES), variables);
+    Declarations declarations = new Declarations(variables);
+    if (!root.equals(dir)) {
+      readProperties(new File(dir, PROPERTIES), variables);
+      File rootScript = buildFile(root);
+      if (rootScript != null) {
+        declarations.read(rootScript, "allprojects", "subprojects");
+      }
+    }
+    File script = buildFile(dir);
+    if (script != null) {
+      declarations.read(script, "", "allprojects");
+    }
+
+    if (declarations.dynamic) {
+      return null;
+    }
+    String version =
+        declarations.version != null ? declarations.version : variables.get("version");
+    return version == null || version.isEmpty() || "unspecified".equals(version) ? null : version;
+  }
+
+  /**
+   * Find the root of the build: the first parent directory with a settings file including the
+   * directory, or the directory itself.
+   */
+  private static File findRoot(File directory) throws IOException {
+    if (settingsFile(directory) != null) {
+      return directory;
+    }
+    for (File root = directory.getParentFile(); root != null; root = root.getParentFile()) {
+      File settings = settingsFile(root);
+      if (settings == null) {
+        continue;
+      }
+      for (String statement : statements(readFile(settings))) {
+        if (!statement.matches("include[\\s(].*")) {
+          continue;
+        }
+        Matcher matcher = INCLUDE.matcher(statement);
+        while (matcher.find()) {
+          // by default, the project ':a:b' is in the directory a/b
+          File project = new File(root, matcher.group(1).replace(':', File.separatorChar));
+          if (project.equals(directory)) {
+            return root;
+          }
+        }
+      }
+      // the first settings file found is the one of the build
+      break;
+    }
+    return directory;
+  }
+
+  private static File settingsFile(File directory) {
+    for (String name : SETTINGS_FILES) {
+      File file = new File(directory, name);
+      if (file.isFile()) {
+        return file;
+      }
+    }
+    return null;
+  }
+
+  private static File buildFile(File directory) {
+    for (String name : BUILD_FILES) {
+      File file = new File(directory, name);
+      if (file.isFile()) {
+        return file;
+      }
+    }
+    return null;
+  }
+
+  private static void readProperties(File file, Map<String, String> variables) throws IOException {
+    if (!file.isFile()) {
+      return;
+    }
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.ISO_8859_1)) {
+      properties.load(reader);
+    }
+    for (String name : properties.stringPropertyNames()) {
+      variables.put(name, properties.getProperty(name).trim());
+    }
+  }
+
+  private static String readFile(File file) throws IOException {
+    return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Split a script in statements, without the comments. The blocks (<code>name { ... }</code>) are
+   * recorded: the statements of a block are prefixed with the names of the enclosing blocks, like
+   * <code>allprojects/ext\u0000name = '1.0'</code>. The string literals are kept as is.
+   */
+  private static List<String> statements(String script) {
+    List<String> statements = new ArrayList<>();
+    Deque<String> blocks = new ArrayDeque<>();
+    StringBuilder current = new StringBuilder();
+    int parentheses = 0;
+    int length = script.length();
+    int i = 0;
+    while (i < length) {
+      char c = script.charAt(i);
+      if (script.startsWith("//", i)) {
+        int end = script.indexOf('\n', i);
+        i = end < 0 ? length : end;
+      } else if (script.startsWith("/*", i)) {
+        int end = script.indexOf("*/", i + 2);
+        i = end < 0 ? length : end + 2;
+      } else if (c == '"' || c == '\'') {
+        int end = stringEnd(script, i);
+        current.append(script, i, end);
+        i = end;
+      } else if (parentheses > 0 && c != '(' && c != ')' && c != '[' && c != ']') {
+        // a multi-line expression, like a method call with a closure
+        current.append(c);
+        i++;
+      } else if (c == '{') {
+        String header = current.toString().trim();
+        add(statements, blocks, header);
+        Matcher name = BLOCK_NAME.matcher(header);
+        blocks.push(name.find() ? name.group(1) : "");
+        current.setLength(0);
+        i++;
+      } else if (c == '}') {
+        add(statements, blocks, current.toString());
+        blocks.poll();
+        current.setLength(0);
+        i++;
+      } else if (c == '\n' || c == ';') {
+        add(statements, blocks, current.toString());
+        current.setLength(0);
+        i++;
+      } else {
+        if (c == '(' || c == '[') {
+          parentheses++;
+        } else if (c == ')' || c == ']') {
+          parentheses--;
+        }
+        current.append(c);
+        i++;
+      }
+    }
+    add(statements, blocks, current.toString());
+    return statements;
+  }
+
+  private static void add(List<String> statements, Deque<String> blocks, String statement) {
+    String trimmed = statement.trim();
+    if (trimmed.isEmpty()) {
+      return;
+    }
+    List<String> names = new ArrayList<>(blocks);
+    Collections.reverse(names);
+    statements.add(names.isEmpty() ? trimmed : String.join("/", names) + "\u0000" + trimmed);
+  }
+
+  /** Position after the end of the string literal starting at the given position. */
+  private static int stringEnd(String script, int start) {
+    char quote = script.charAt(start);
+    String triple = new String(new char[] {quote, quote, quote});
+    String delimiter = script.startsWith(triple, start) ? triple : String.valueOf(quote);
+    int i = start + delimiter.length();
+    while (i < script.length()) {
+      if (script.charAt(i) == '\\') {
+        i += 2;
+      } else if (script.startsWith(delimiter, i)) {
+        return i + delimiter.length();
+      } else if (delimiter.length() == 1 && script.charAt(i) == '\n') {
+        // unterminated string
+        return i;
+      } else {
+        i++;
+      }
+    }
+    return script.length();
+  }
+
+  /** The version declarations found in the build scripts, in the order they are evaluated. */
+  private static final class Declarations {
+    private final Map<String, String> variables;
+    private String version;
+    // a version computed by the build was found
+    private boolean dynamic;
+
+    private Declarations(Map<String, String> variables) {
+      this.variables = variables;
+    }
+
+    /**
+     * Read the declarations of a script.
+     *
+     * @param scopes The blocks where the version declarations apply, "" for the top level.
+     */
+    void read(File script, String... scopes) throws IOException {
+      for (String statement : statements(readFile(script))) {
+        int separator = statement.indexOf('\u0000');
+        String scope = separator < 0 ? "" : statement.substring(0, separator);
+        String text = separator < 0 ? statement : statement.substring(separator + 1);
+
+        Matcher matcher = VERSION.matcher(text);
+        if (matcher.matches() && isOneOf(scope, scopes)) {
+          String value = "+=".equals(matcher.group(1)) ? null : evaluate(matcher.group(2));
+          dynamic = value == null;
+          version = value;
+          continue;
+        }
+        if (matcher.matches() && isNested(scope, scopes)) {
+          // a version assigned in a block which is not modeled, like a condition
+          dynamic = true;
+          version = null;
+          continue;
+        }
+        if (!scope.isEmpty() && !scope.endsWith("ext")) {
+          continue;
+        }
+        matcher = DELEGATE.matcher(text);
+        if (matcher.matches()) {
+          // val name: String by project
+          continue;
+        }
+        matcher = (scope.isEmpty() ? LOCAL : EXT_LOCAL).matcher(text);
+        if (matcher.matches()) {
+          String value = evaluate(matcher.group(2));
+          if (value != null) {
+            variables.put(matcher.group(1), value);
+          } else {
+            variables.remove(matcher.group(1));
+          }
+        }
+      }
+    }
+
+    private static boolean isOneOf(String scope, String... scopes) {
+      for (String candidate : scopes) {
+        if (candidate.equals(scope)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Check if a block is nested in one of the scopes, the nested blocks of the top level being
+     * the ones which do not configure other projects or the extra properties.
+     */
+    private static boolean isNested(String scope, String... scopes) {
+      for (String candidate : scopes) {
+        if (candidate.isEmpty()) {
+          String outer = scope.split("/", 2)[0];
+          if (!scope.isEmpty() && !outer.equals("allprojects") && !outer.equals("subprojects")
+              && !scope.endsWith("ext")) {
+            return true;
+          }
+        } else if (scope.startsWith(candidate + "/") && !scope.endsWith("ext")) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Evaluate an expression.
+     *
+     * @return The value, null if it can not be evaluated without Gradle.
+     */
+    private String evaluate(String expression) {
+      String value = SUFFIX.matcher(expression.trim()).replaceAll("").trim();
+      if (value.length() >= 2 && value.charAt(0) == '\''
+          && value.charAt(value.length() - 1) == '\'') {
+        return value.replaceAll("^'+|'+$", "").replace("\\'", "'");
+      }
+      if (value.length() >= 2 && value.charAt(0) == '"'
+          && value.charAt(value.length() - 1) == '"') {
+        return interpolate(value.replaceAll("^\"+|\"+$", ""));
+      }
+      Matcher matcher = PROPERTY_CALL.matcher(value);
+      if (matcher.matches()) {
+        return variables.get(matcher.group(1));
+      }
+      matcher = IDENTIFIER.matcher(value);
+      if (matcher.matches() && !"version".equals(matcher.group(1))) {
+        return variables.get(matcher.group(1));
+      }
+      return null;
+    }
+
+    private String interpolate(String template) {
+      Matcher matcher = TEMPLATE.matcher(template);
+      StringBuffer buffer = new StringBuffer();
+      while (matcher.find()) {
+        String name = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+        String value = variables.get(name.replaceFirst("^(?:root)?[pP]roject\\.", ""));
+        if (value == null) {
+          return null;
+        }
+        matcher.appendReplacement(buffer, Matcher.quoteReplacement(value));
+      }
+      matcher.appendTail(buffer);
+      return buffer.toString().replace("\\\"", "\"");
+    }
+  }
+}
@@ -9,6 +9,7 @@ import io.jenkins.plugins.conventionalcommits.dto.HelmChart;
 import io.jenkins.plugins.conventionalcommits.process.ProcessHelper;
 import java.io.File;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import org.apache.commons.lang.StringUtils;
@@ -42,15 +43,13 @@ public class HelmProjectType extends ProjectType {
   }
 
   /**
-   * To know if the project is an Helm project type.
+   * Return the file marking an Helm project.
    *
-   * @param directory The directory to check. <b>Mandatory</b>
-   * @return true if a Chart.yaml file is found.
+   * @return The Chart.yaml file.
    */
   @Override
-  public boolean check(File directory) {
-    Objects.requireNonNull(directory);
-    return new File(directory.getAbsoluteFile() + File.separator + CHART_YAML_NAME).exists();
+  public String[] getMarkerFiles() {
+    return new String[] {CHART_YAML_NAME};
   }
 
   /**
@@ -66,7 +65,7 @@ public class HelmProjectType extends ProjectType {
 
     String version = (String) readChartFile(directory).get(VERSION_KEY_IN_CHART);
     if (StringUtils.isNotEmpty(version)) {
-      return Version.valueOf((String) readChartFile(directory).get(VERSION_KEY_IN_CHART));
+      return Version.valueOf(version);
     }
     throw new IOException("Unable to get the version field in chart file.");
   }
@@ -91,6 +90,7 @@ public class HelmProjectType extends ProjectType {
       yamlMapper.writeValue(
           new File(directory.getAbsoluteFile() + File.separator + CHART_YAML_NAME),
           helmChart);
+      ProjectCache.invalidate(directory);
     } else {
       throw new IOException("Unable to get the version field in chart file.");
     }
@@ -99,7 +99,8 @@ public class HelmProjectType extends ProjectType {
   // Private methods
 
   /**
-   * Utility method to read a Chart.yaml file in a directory.
+   * Utility method to read a Chart.yaml file in a directory. The file is parsed once while it does
+   * not change, a copy is returned.
    *
    * @param directory The directory where is the Chart.yaml. <b>Mandatory</b>
    * @return helm DTO {@link HelmChart}
@@ -109,7 +110,9 @@ public class HelmProjectType extends ProjectType {
     Objects.requireNonNull(directory);
 
     // Convert Chart.yaml to a DTO
-    return yamlMapper.readValue(
-        new File(directory.getAbsoluteFile() + File.separator + CHART_YAML_NAME), Map.class);
+    Map<String, Object> chart = ProjectCache.read(
+        new File(directory.getAbsoluteFile() + File.separator + CHART_YAML_NAME),
+        file -> yamlMapper.readValue(file, Map.class));
+    return new LinkedHashMap<>(chart);
   }
 }
@@ -1,40 +1,142 @@
 package io.jenkins.plugins.conventionalcommits.utils;
 
+import hudson.model.TaskListener;
 import io.jenkins.plugins.conventionalcommits.ConventionalCommits;
-import java.util.logging.ConsoleHandler;
-import java.util.logging.Handler;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-/** Handles Logging. */
+/**
+ * Handles Logging. The messages go to the logger of the plugin, at the level configured in
+ * Jenkins, and the messages useful to the build also go to its console. The configuration of the
+ * logger is never changed: the level check is a read of the level JUL resolved, and the messages
+ * are only built when they are logged.
+ */
 public class LogUtils {
 
   private static final Logger LOGGER = Logger.getLogger(ConventionalCommits.class.getName());
-  private static final Handler consoleHandler = new ConsoleHandler();
 
-  private void beforeLogging(Level loggerLevel, Level consoleLevel) {
-    LOGGER.setLevel(loggerLevel);
-    consoleHandler.setLevel(consoleLevel);
-    LOGGER.addHandler(consoleHandler);
+  private static final LogUtils NO_CONSOLE = new LogUtils(null);
+
+  // The build listener, null when there is no build console
+  private final TaskListener listener;
+
+  /**
+   * Constructor of a logger without build console.
+   *
+   * @deprecated use {@link #get()} or {@link #of(TaskListener)}.
+   */
+  @Deprecated
+  public LogUtils() {
+    this(null);
+  }
+
+  private LogUtils(TaskListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Return the logger of the plugin, without build console.
+   *
+   * @return The shared logger.
+   */
+  public static LogUtils get() {
+    return NO_CONSOLE;
+  }
+
+  /**
+   * Return a logger also writing to the console of a build.
+   *
+   * @param listener The build listener, null if none.
+   * @return A logger for the build.
+   */
+  public static LogUtils of(TaskListener listener) {
+    return listener == null ? NO_CONSOLE : new LogUtils(listener);
+  }
+
+  /**
+   * Check if the debug messages are logged.
+   *
+   * @return true if the FINE level is enabled.
+   */
+  public boolean isFineEnabled() {
+    return LOGGER.isLoggable(Level.FINE);
+  }
+
+  /**
+   * Log a debug message.
+   *
+   * @param message The message.
+   */
+  public void fine(String message) {
+    LOGGER.log(Level.FINE, message);
+  }
+
+  /**
+   * Log a debug message, only built if it is logged.
+   *
+   * @param message The supplier of the message.
+   */
+  public void fine(Supplier<String> message) {
+    if (isFineEnabled()) {
+      LOGGER.log(Level.FINE, message.get());
+    }
+  }
+
+  /**
+   * Log an information message.
+   *
+   * @param message The message.
+   */
+  public void info(String message) {
+    LOGGER.log(Level.INFO, message);
+  }
+
+  /**
+   * Write a warning to the console of the build, and log it as a warning.
+   *
+   * @param message The supplier of the message, only called if the message is written.
+   */
+  public void warning(Supplier<String> message) {
+    if (listener == null && !LOGGER.isLoggable(Level.WARNING)) {
+      return;
+    }
+    String text = message.get();
+    if (listener != null) {
+      listener.getLogger().println(text);
+    }
+    LOGGER.log(Level.WARNING, text);
   }
 
-  private void afterLogging(Level loggerLevel, Level consoleLevel) {
-    LOGGER.removeHandler(consoleHandler);
-    LOGGER.setLevel(loggerLevel);
-    consoleHandler.setLevel(consoleLevel);
+  /**
+   * Write a message to the console of the build, and log it as a debug message.
+   *
+   * @param message The supplier of the message, only called if the message is written.
+   */
+  public void console(Supplier<String> message) {
+    if (listener == null && !isFineEnabled()) {
+      return;
+    }
+    String text = message.get();
+    if (listener != null) {
+      listener.getLogger().println(text);
+    }
+    LOGGER.log(Level.FINE, text);
   }
 
   /**
-   * Logs to console.
+   * Logs a message.
    *
-   * @param initialLogLevel Log Level before the current log.
-   * @param initialConsoleLevel ConsoleHandler's level before the current log.
+   * @param initialLogLevel Not used any more, the logger configuration is not changed.
+   * @param initialConsoleLevel Not used any more.
    * @param requiredLogLevel Log Level at which current log is to be written.
-   * @param requiredConsoleLevel ConsoleHandler's level for the current log string.
-   * @param revertAfterLogging If True, revert to initial log and console level after logging the
-   *     current log string.
+   * @param requiredConsoleLevel Not used any more.
+   * @param revertAfterLogging Not used any more.
    * @param message Log message.
+   * @deprecated use {@link #info(String)}, {@link #warning(Supplier)}, {@link #fine(String)} or
+   *     {@link #console(Supplier)}, the levels are the ones configured in Jenkins.
    */
+  @Deprecated
   public void log(
       Level initialLogLevel,
       Level initialConsoleLevel,
@@ -42,11 +144,6 @@ public class LogUtils {
       Level requiredConsoleLevel,
       boolean revertAfterLogging,
       String message) {
-
-    beforeLogging(requiredLogLevel, requiredConsoleLevel);
     LOGGER.log(requiredLogLevel, message);
-    if (revertAfterLogging) {
-      afterLogging(initialLogLevel, initialConsoleLevel);
-    }
   }
 }
@@ -14,8 +14,8 @@ public class MakeProjectType extends ProjectType {
   private static final String MAKEFILE_FILENAME = "Makefile";
 
   @Override
-  public boolean check(File directory) {
-    return new File(directory, MAKEFILE_FILENAME).exists();
+  public String[] getMarkerFiles() {
+    return new String[] {MAKEFILE_FILENAME};
   }
 
   @Override
@@ -10,14 +10,21 @@ import java.util.List;
 /** Represent a Maven project type (i.e with a pom.xml file). */
 public class MavenProjectType extends ProjectType {
 
-  public boolean check(File directory) {
-    return new File(directory, "pom.xml").exists();
+  @Override
+  public String[] getMarkerFiles() {
+    return new String[] {"pom.xml"};
   }
 
   @Override
   public Version getCurrentVersion(File directory, ProcessHelper processHelper)
       throws IOException, InterruptedException {
 
+    // read the pom.xml directly, Maven is only started when the version can not be resolved
+    String version = new PomVersionReader().readVersion(directory);
+    if (version != null) {
+      return Version.valueOf(version);
+    }
+
     String os = System.getProperty("os.name");
     String commandName = "mvn";
 
@@ -37,6 +44,11 @@ public class MavenProjectType extends ProjectType {
   public void writeVersion(File directory, Version nextVersion, ProcessHelper processHelper)
       throws IOException, InterruptedException {
 
+    // rewrite the poms directly, Maven is only started when the version is not a literal
+    if (new PomVersionWriter().write(directory, nextVersion.toString())) {
+      return;
+    }
+
     String os = System.getProperty("os.name");
     String commandName = "mvn";
 
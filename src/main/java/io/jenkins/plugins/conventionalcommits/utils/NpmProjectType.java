@@ -17,14 +17,13 @@ public class NpmProjectType extends ProjectType {
   private static final String PACKAGE_JSON_NAME = "package.json";
 
   /**
-   * Check if the project is a NPM project (i.e a package.json is found).
+   * Return the file marking a NPM project.
    *
-   * @param directory The directory of the project.
-   * @return True if a package.json is found.
+   * @return The name of the package.json file.
    */
   @Override
-  public boolean check(File directory) {
-    return new File(directory, PACKAGE_JSON_NAME).exists();
+  public String[] getMarkerFiles() {
+    return new String[] {PACKAGE_JSON_NAME};
   }
 
   /**
@@ -41,11 +40,10 @@ public class NpmProjectType extends ProjectType {
 
     ObjectMapper mapper = new ObjectMapper();
 
-    // Convert package.json to a Map
-    Map<?, ?> map =
-        mapper.readValue(
-            Paths.get(directory.getPath() + File.separator + PACKAGE_JSON_NAME).toFile(),
-            Map.class);
+    // Convert package.json to a Map, once while the file does not change
+    Map<?, ?> map = ProjectCache.read(
+        Paths.get(directory.getPath() + File.separator + PACKAGE_JSON_NAME).toFile(),
+        file -> mapper.readValue(file, Map.class));
 
     return Version.valueOf((String) map.get("version"));
   }
@@ -1,12 +1,11 @@
 package io.jenkins.plugins.conventionalcommits.utils;
 
 import com.github.zafarkhaja.semver.Version;
+import io.jenkins.plugins.conventionalcommits.git.GitHelperFactory;
 import io.jenkins.plugins.conventionalcommits.process.ProcessHelper;
-import io.jenkins.plugins.conventionalcommits.process.ProcessUtil;
 import java.io.File;
 import java.io.IOException;
 import java.util.Scanner;
-import java.util.logging.Level;
 import org.json.JSONObject;
 
 /**
@@ -15,19 +14,14 @@ import org.json.JSONObject;
  */
 public class PhpProjectType extends ProjectType {
 
-  private boolean checkComposerJson(File directory) {
-    return new File(directory, "composer.json").exists();
-  }
-
   /**
-   * Checks if the composer.json config file exists at the root directory.
+   * Return the file marking a PHP project.
    *
-   * @param directory The directory in which the composer.json file is searched for.
-   * @return A boolean true / false is returned.
+   * @return The name of the composer.json file.
    */
   @Override
-  public boolean check(File directory) {
-    return checkComposerJson(directory);
+  public String[] getMarkerFiles() {
+    return new String[] {"composer.json"};
   }
 
   /**
@@ -48,7 +42,7 @@ public class PhpProjectType extends ProjectType {
     String composerJson;
 
     // Check if a version property has been set in composer.json
-    if (checkComposerJson(directory)) {
+    if (check(directory)) {
       String filePath = directory.getAbsolutePath() + File.separator + "composer.json";
       try (Scanner scanner = new Scanner(new File(filePath), "UTF-8")) {
         composerJson = scanner.useDelimiter("\\A").next();
@@ -58,11 +52,13 @@ public class PhpProjectType extends ProjectType {
         result = (String) composerJsonObject.get("version");
       } else {
         try {
-          result = ProcessUtil.execute(directory, "git", "describe", "--abbrev=0", "--tags").trim();
+          result = GitHelperFactory.getGitHelper(directory).describeLatestTag();
         } catch (IOException exp) {
+          result = "";
+        }
+        if (result.isEmpty()) {
           String message = "No Git tags found";
-          LogUtils logger = new LogUtils();
-          logger.log(Level.INFO, Level.INFO, Level.FINE, Level.FINE, true, message);
+          LogUtils.get().info(message);
         }
       }
     }
@@ -83,10 +79,9 @@ public class PhpProjectType extends ProjectType {
   @Override
   public void writeVersion(File directory, Version nexVersion, ProcessHelper processHelper)
       throws IOException, InterruptedException {
-    if (checkComposerJson(directory)) {
+    if (check(directory)) {
       String message = "The composer.json file already exists";
-      LogUtils logger = new LogUtils();
-      logger.log(Level.INFO, Level.INFO, Level.FINE, Level.FINE, true, message);
+      LogUtils.get().info(message);
     }
   }
 }
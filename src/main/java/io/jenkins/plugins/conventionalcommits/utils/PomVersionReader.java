@@ -0,0 +1,268 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Read the version of a Maven project from its <code>pom.xml</code> without starting Maven. The
+ * file is read with StAX, only the version, the parent and the properties are kept. The
+ * <code>${...}</code> expressions are resolved from the properties of the project and of its local
+ * parents, and from the <code>-D</code> options of <code>.mvn/maven.config</code> (CI friendly
+ * versions).
+ *
+ * <p>When the version can not be resolved, <code>null</code> is returned and Maven must be used.
+ */
+public class PomVersionReader {
+
+  private static final String POM = "pom.xml";
+
+  // Maximum number of local parents read, to stop on cycles
+  private static final int MAX_PARENTS = 10;
+
+  private static final Pattern EXPRESSION = Pattern.compile("\\$\\{([^}]+)}");
+
+  private static final XMLInputFactory FACTORY = newFactory();
+
+  private static XMLInputFactory newFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    // no DTD nor external entity is read from a pom (XXE)
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  /**
+   * Read the version of the project.
+   *
+   * @param directory The directory of the <code>pom.xml</code> file.
+   * @return The resolved version, null if it can not be resolved without Maven.
+   * @throws IOException If the files can not be read.
+   */
+  public String readVersion(File directory) throws IOException {
+    Model model = Model.read(new File(directory, POM));
+    if (model == null) {
+      return null;
+    }
+
+    String version = model.version != null ? model.version : model.parentVersion;
+    if (version == null) {
+      return null;
+    }
+
+    // properties by priority: maven.config, then the project, then its parents
+    Map<String, String> properties = new HashMap<>();
+    Deque<Model> models = new ArrayDeque<>();
+    Model current = model;
+    for (int i = 0; current != null && i < MAX_PARENTS; i++) {
+      models.push(current);
+      Model parent = current.parentPomFile == null ? null : Model.read(current.parentPomFile);
+      // the pom found at the relative path must be the declared parent
+      current = parent != null && parent.isParentOf(current) ? parent : null;
+    }
+    while (!models.isEmpty()) {
+      properties.putAll(models.pop().properties);
+    }
+    if (model.parentVersion != null) {
+      properties.put("project.parent.version", model.parentVersion);
+      properties.put("parent.version", model.parentVersion);
+    }
+    properties.putAll(readMavenConfig(directory));
+
+    return resolve(version, properties);
+  }
+
+  /**
+   * Replace the expressions of a value, several times for properties using other properties.
+   *
+   * @return The value, null if an expression can not be resolved.
+   */
+  private static String resolve(String value, Map<String, String> properties) {
+    String resolved = value;
+    for (int i = 0; i < MAX_PARENTS && resolved.contains("${"); i++) {
+      Matcher matcher = EXPRESSION.matcher(resolved);
+      StringBuffer buffer = new StringBuffer();
+      while (matcher.find()) {
+        String name = matcher.group(1);
+        String property = "project.version".equals(name) || "pom.version".equals(name)
+            || "version".equals(name) ? null : properties.get(name);
+        if (property == null) {
+          return null;
+        }
+        matcher.appendReplacement(buffer, Matcher.quoteReplacement(property));
+      }
+      matcher.appendTail(buffer);
+      resolved = buffer.toString();
+    }
+    return resolved.contains("${") ? null : resolved.trim();
+  }
+
+  /**
+   * Read the <code>-Dname=value</code> options of the <code>.mvn/maven.config</code> file of the
+   * project, or of the first parent directory having a <code>.mvn</code> directory.
+   */
+  private static Map<String, String> readMavenConfig(File directory) throws IOException {
+    Map<String, String> properties = new HashMap<>();
+    File dir = directory.getAbsoluteFile();
+    while (dir != null && !new File(dir, ".mvn").isDirectory()) {
+      dir = dir.getParentFile();
+    }
+    if (dir == null) {
+      return properties;
+    }
+    File config = new File(new File(dir, ".mvn"), "maven.config");
+    if (!config.isFile()) {
+      return properties;
+    }
+
+    String content = new String(Files.readAllBytes(config.toPath()), StandardCharsets.UTF_8);
+    String[] tokens = content.trim().split("\\s+");
+    for (int i = 0; i < tokens.length; i++) {
+      String definition = null;
+      if (tokens[i].startsWith("-D") && tokens[i].length() > 2) {
+        definition = tokens[i].substring(2);
+      } else if (tokens[i].equals("-D") && i + 1 < tokens.length) {
+        definition = tokens[++i];
+      } else if (tokens[i].startsWith("--define=")) {
+        definition = tokens[i].substring("--define=".length());
+      }
+      if (definition != null) {
+        int equals = definition.indexOf('=');
+        String name = equals < 0 ? definition : definition.substring(0, equals);
+        String value = equals < 0 ? "true" : definition.substring(equals + 1);
+        properties.put(unquote(name), unquote(value));
+      }
+    }
+    return properties;
+  }
+
+  private static String unquote(String value) {
+    if (value.length() >= 2 && (value.startsWith("\"") && value.endsWith("\"")
+        || value.startsWith("'") && value.endsWith("'"))) {
+      return value.substring(1, value.length() - 1);
+    }
+    return value;
+  }
+
+  /** The elements of a pom used to compute the version. */
+  private static final class Model {
+    private String groupId;
+    private String artifactId;
+    private String version;
+    private String parentGroupId;
+    private String parentArtifactId;
+    private String parentVersion;
+    private File parentPomFile;
+    private final Map<String, String> properties = new HashMap<>();
+
+    /**
+     * Read a pom, only the direct children of <code>project</code>, <code>parent</code> and
+     * <code>properties</code> are kept, the other elements (dependencies, build...) are skipped.
+     *
+     * @return The model, null if the file does not exist.
+     */
+    static Model read(File pom) throws IOException {
+      if (!pom.isFile()) {
+        return null;
+      }
+
+      Model model = new Model();
+      String relativePath = null;
+      boolean hasParent = false;
+      try (InputStream in = Files.newInputStream(pom.toPath())) {
+        XMLStreamReader reader = FACTORY.createXMLStreamReader(in);
+        try {
+          Deque<String> path = new ArrayDeque<>();
+          while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+              path.pop();
+              continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+              continue;
+            }
+
+            String name = reader.getLocalName();
+            String parent = path.peek();
+            int depth = path.size();
+            if (depth == 1 && "version".equals(name)) {
+              model.version = reader.getElementText().trim();
+            } else if (depth == 1 && "groupId".equals(name)) {
+              model.groupId = reader.getElementText().trim();
+            } else if (depth == 1 && "artifactId".equals(name)) {
+              model.artifactId = reader.getElementText().trim();
+            } else if (depth == 1 && "parent".equals(name)) {
+              hasParent = true;
+              path.push(name);
+            } else if (depth == 2 && "parent".equals(parent) && "version".equals(name)) {
+              model.parentVersion = reader.getElementText().trim();
+            } else if (depth == 2 && "parent".equals(parent) && "groupId".equals(name)) {
+              model.parentGroupId = reader.getElementText().trim();
+            } else if (depth == 2 && "parent".equals(parent) && "artifactId".equals(name)) {
+              model.parentArtifactId = reader.getElementText().trim();
+            } else if (depth == 2 && "parent".equals(parent) && "relativePath".equals(name)) {
+              relativePath = reader.getElementText().trim();
+            } else if (depth == 1 && "properties".equals(name)) {
+              path.push(name);
+            } else if (depth == 2 && "properties".equals(parent)) {
+              model.properties.put(name, reader.getElementText().trim());
+            } else if (depth == 0) {
+              path.push(name);
+            } else {
+              skip(reader);
+            }
+          }
+        } finally {
+          reader.close();
+        }
+      } catch (XMLStreamException exp) {
+        throw new IOException("Unable to read " + pom, exp);
+      }
+
+      if (hasParent) {
+        // like Maven, the parent is looked up in ../pom.xml by default, an empty path disables it
+        String parentPath = relativePath == null ? "../" + POM : relativePath;
+        if (!parentPath.isEmpty()) {
+          File parentFile = new File(pom.getParentFile(), parentPath);
+          model.parentPomFile = parentFile.isDirectory() ? new File(parentFile, POM) : parentFile;
+        }
+      }
+      return model;
+    }
+
+    /**
+     * Check if this pom is the parent declared by a child, like Maven, by its coordinates.
+     */
+    boolean isParentOf(Model child) {
+      String group = groupId != null ? groupId : parentGroupId;
+      return artifactId != null && artifactId.equals(child.parentArtifactId)
+          && group != null && group.equals(child.parentGroupId);
+    }
+
+    /** Skip the current element and its children. */
+    private static void skip(XMLStreamReader reader) throws XMLStreamException {
+      int depth = 1;
+      while (depth > 0 && reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          depth++;
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          depth--;
+        }
+      }
+    }
+  }
+}
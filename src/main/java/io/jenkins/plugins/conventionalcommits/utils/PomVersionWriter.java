@@ -0,0 +1,338 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Write the version of a Maven project and of its modules without starting Maven, like
+ * <code>mvn versions:set -DgenerateBackupPoms=false</code>. Only the text of the
+ * <code>version</code> elements is replaced, the rest of the files (formatting, comments, line
+ * endings, encoding and permissions) is kept as is.
+ *
+ * <p>The poms of the reactor are read in a single pass over the module tree, then the version of
+ * the project, the parent version of the modules inheriting from an updated project, and the
+ * version of the modules released with the same version are replaced. When the version of the
+ * project is not a literal (a <code>${revision}</code> property, or inherited from a parent outside
+ * of the project), nothing is written and Maven must be used.
+ */
+public class PomVersionWriter {
+
+  private static final String POM = "pom.xml";
+  private static final Pattern ENCODING =
+      Pattern.compile("^<\\?xml[^>]*\\sencoding\\s*=\\s*[\"']([\\w.:-]+)[\"']");
+
+  /**
+   * Write the version.
+   *
+   * @param directory The directory of the root <code>pom.xml</code>.
+   * @param nextVersion The version to write.
+   * @return true if the version was written, false if Maven must be used.
+   * @throws IOException If the files can not be read or written, or there is no pom.
+   */
+  public boolean write(File directory, String nextVersion) throws IOException {
+    Map<File, Pom> reactor = new LinkedHashMap<>();
+    Deque<File> toRead = new ArrayDeque<>();
+    toRead.add(new File(directory, POM).getCanonicalFile());
+    while (!toRead.isEmpty()) {
+      File file = toRead.poll();
+      if (reactor.containsKey(file) || !file.isFile()) {
+        continue;
+      }
+      Pom pom = Pom.read(file);
+      reactor.put(file, pom);
+      for (String module : pom.modules) {
+        File moduleFile = new File(file.getParentFile(), module);
+        toRead.add((moduleFile.isDirectory() ? new File(moduleFile, POM) : moduleFile)
+            .getCanonicalFile());
+      }
+    }
+
+    if (reactor.isEmpty()) {
+      throw new IOException("No " + POM + " found in " + directory);
+    }
+    Pom root = reactor.values().iterator().next();
+    if (root.version == null || root.version.value.contains("${")) {
+      return false;
+    }
+    String previousVersion = root.version.value;
+
+    // the projects whose version changes, by groupId:artifactId
+    Set<String> updated = new HashSet<>();
+    Set<Pom> changed = new HashSet<>();
+    root.version.replacement = nextVersion;
+    updated.add(root.coordinates());
+    changed.add(root);
+
+    boolean progress = true;
+    while (progress) {
+      progress = false;
+      for (Pom pom : reactor.values()) {
+        if (pom.parentVersion == null || !updated.contains(pom.parentCoordinates())
+            || !previousVersion.equals(pom.parentVersion.value)
+            || pom.parentVersion.replacement != null) {
+          continue;
+        }
+        pom.parentVersion.replacement = nextVersion;
+        changed.add(pom);
+        progress = true;
+        if (pom.version == null) {
+          // the version is inherited from the parent
+          updated.add(pom.coordinates());
+        } else if (previousVersion.equals(pom.version.value)) {
+          pom.version.replacement = nextVersion;
+          updated.add(pom.coordinates());
+        }
+      }
+    }
+
+    for (Pom pom : changed) {
+      pom.write();
+    }
+    return true;
+  }
+
+  /** Text of an element, with its position in the file. */
+  private static final class Text {
+    private final int start;
+    private final int end;
+    private final String value;
+    private String replacement;
+
+    private Text(String content, int start, int end) {
+      // the replacement keeps the spaces around the value
+      while (start < end && Character.isWhitespace(content.charAt(start))) {
+        start++;
+      }
+      while (end > start && Character.isWhitespace(content.charAt(end - 1))) {
+        end--;
+      }
+      this.start = start;
+      this.end = end;
+      this.value = content.substring(start, end);
+    }
+  }
+
+  /** The elements of a pom used to set its version. */
+  private static final class Pom {
+    private final File file;
+    private final Charset charset;
+    private final String content;
+    private String groupId;
+    private String artifactId;
+    private Text version;
+    private String parentGroupId;
+    private String parentArtifactId;
+    private Text parentVersion;
+    private final List<String> modules = new ArrayList<>();
+
+    private Pom(File file, Charset charset, String content) {
+      this.file = file;
+      this.charset = charset;
+      this.content = content;
+    }
+
+    private String coordinates() {
+      return (groupId != null ? groupId : parentGroupId) + ":" + artifactId;
+    }
+
+    private String parentCoordinates() {
+      return parentGroupId + ":" + parentArtifactId;
+    }
+
+    /**
+     * Scan the markup of the pom: comments, CDATA sections, processing instructions and the
+     * doctype are skipped, the text of the elements used to set the version is kept with its
+     * position.
+     */
+    static Pom read(File file) throws IOException {
+      byte[] bytes = Files.readAllBytes(file.toPath());
+      Charset charset = charset(file, bytes);
+      // a byte order mark is decoded as a character, and written back
+      Pom pom = new Pom(file, charset, new String(bytes, charset));
+      String content = pom.content;
+      Deque<String> path = new ArrayDeque<>();
+      int textStart = -1;
+      int index = 0;
+      int length = content.length();
+      while (index < length) {
+        int open = content.indexOf('<', index);
+        if (open < 0) {
+          break;
+        }
+        if (content.startsWith("<!--", open)) {
+          index = skipTo(content, "-->", open);
+          continue;
+        }
+        if (content.startsWith("<![CDATA[", open)) {
+          index = skipTo(content, "]]>", open);
+          continue;
+        }
+        if (content.startsWith("<?", open)) {
+          index = skipTo(content, "?>", open);
+          continue;
+        }
+        if (content.startsWith("<!", open)) {
+          index = skipTo(content, ">", open);
+          continue;
+        }
+
+        int close = tagEnd(content, open);
+        if (content.charAt(open + 1) == '/') {
+          if (!path.isEmpty()) {
+            pom.element(path, new Text(content, textStart, open));
+            path.pop();
+          }
+        } else {
+          String name = content.substring(open + 1, close).split("[\\s/>]", 2)[0];
+          boolean empty = content.charAt(close - 1) == '/';
+          if (!empty) {
+            path.push(localName(name));
+            textStart = close + 1;
+          }
+        }
+        index = close + 1;
+      }
+      return pom;
+    }
+
+    /**
+     * Return the encoding of a pom: UTF-16 when it starts with a byte order mark, the encoding of
+     * the XML declaration, or UTF-8.
+     */
+    private static Charset charset(File file, byte[] bytes) throws IOException {
+      if (bytes.length >= 2 && (bytes[0] & 0xFF) == 0xFE && (bytes[1] & 0xFF) == 0xFF) {
+        return StandardCharsets.UTF_16BE;
+      }
+      if (bytes.length >= 2 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xFE) {
+        return StandardCharsets.UTF_16LE;
+      }
+      // the declaration is in ASCII, after an optional UTF-8 byte order mark
+      int start = bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF ? 3 : 0;
+      String head = new String(bytes, start, Math.min(bytes.length - start, 256),
+          StandardCharsets.ISO_8859_1);
+      Matcher matcher = ENCODING.matcher(head);
+      if (!matcher.find()) {
+        return StandardCharsets.UTF_8;
+      }
+      try {
+        return Charset.forName(matcher.group(1));
+      } catch (IllegalArgumentException exp) {
+        throw new IOException("Unsupported encoding " + matcher.group(1) + " of " + file, exp);
+      }
+    }
+
+    /** End of the text of an element. */
+    private void element(Deque<String> path, Text text) {
+      Iterator<String> names = path.iterator();
+      String name = names.next();
+      String parent = names.hasNext() ? names.next() : null;
+      if (path.size() == 2) {
+        if ("version".equals(name)) {
+          version = text;
+        } else if ("groupId".equals(name)) {
+          groupId = text.value;
+        } else if ("artifactId".equals(name)) {
+          artifactId = text.value;
+        }
+      } else if (path.size() == 3 && "parent".equals(parent)) {
+        if ("version".equals(name)) {
+          parentVersion = text;
+        } else if ("groupId".equals(name)) {
+          parentGroupId = text.value;
+        } else if ("artifactId".equals(name)) {
+          parentArtifactId = text.value;
+        }
+      } else if (path.size() == 3 && "modules".equals(parent) && "module".equals(name)) {
+        modules.add(text.value);
+      }
+    }
+
+    /** Replace the versions, in a temporary file moved over the pom. */
+    void write() throws IOException {
+      StringBuilder builder = new StringBuilder(content);
+      List<Text> replaced = new ArrayList<>();
+      for (Text text : new Text[] {version, parentVersion}) {
+        if (text != null && text.replacement != null) {
+          replaced.add(text);
+        }
+      }
+      // from the end of the file, so that the positions do not move
+      replaced.sort((a, b) -> Integer.compare(b.start, a.start));
+      for (Text text : replaced) {
+        builder.replace(text.start, text.end, text.replacement);
+      }
+
+      Path target = file.toPath();
+      Path temp = Files.createTempFile(file.getParentFile().toPath(), POM, ".tmp");
+      try {
+        try (OutputStream out = Files.newOutputStream(temp)) {
+          out.write(builder.toString().getBytes(charset));
+        }
+        // the temporary file is only readable by its owner, the pom keeps its permissions
+        PosixFileAttributeView attributes =
+            Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        if (attributes != null) {
+          Files.setPosixFilePermissions(temp, attributes.readAttributes().permissions());
+        }
+        try {
+          Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException exp) {
+          Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    }
+
+    private static String localName(String name) {
+      int colon = name.indexOf(':');
+      return colon < 0 ? name : name.substring(colon + 1);
+    }
+
+    private static int skipTo(String content, String end, int from) throws IOException {
+      int index = content.indexOf(end, from);
+      if (index < 0) {
+        throw new IOException("Unexpected end of file, '" + end + "' not found");
+      }
+      return index + end.length();
+    }
+
+    /** Position of the '&gt;' closing a tag, the ones in quoted attribute values are skipped. */
+    private static int tagEnd(String content, int open) throws IOException {
+      char quote = 0;
+      for (int i = open + 1; i < content.length(); i++) {
+        char c = content.charAt(i);
+        if (quote != 0) {
+          if (c == quote) {
+            quote = 0;
+          }
+        } else if (c == '"' || c == '\'') {
+          quote = c;
+        } else if (c == '>') {
+          return i;
+        }
+      }
+      throw new IOException("Unexpected end of file, unclosed tag");
+    }
+  }
+}
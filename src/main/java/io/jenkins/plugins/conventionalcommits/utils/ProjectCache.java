@@ -0,0 +1,193 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import io.jenkins.plugins.conventionalcommits.metrics.StepMetrics;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Memoise the detected project type and the parsed configuration files of a workspace during the
+ * run of a step, so that its phases (current version, next version and write of the version) do
+ * not detect the project and parse its files several times.
+ *
+ * <p>The cache lives as long as the scope opened for the run of the step, on the agent where the
+ * workspace is: nothing read by a previous build can be returned. Outside of a scope nothing is
+ * cached. An entry is kept with the date and size of what it was computed from, the listing of
+ * the directory for the project type, the file for a parsed document, and the entries of a
+ * directory are dropped when a version is written in it.
+ */
+public final class ProjectCache {
+
+  private static final ThreadLocal<ProjectCache> CURRENT = new ThreadLocal<>();
+
+  private final Map<String, Entry> entries = new HashMap<>();
+
+  private ProjectCache() {
+  }
+
+  /**
+   * Open a cache for the run of a step on the current thread, until the returned scope is closed.
+   * Inside the scope of another run, its cache is used.
+   *
+   * @return The scope, dropping the cache when closed.
+   */
+  public static StepMetrics.Scope open() {
+    if (CURRENT.get() != null) {
+      return () -> {
+      };
+    }
+    CURRENT.set(new ProjectCache());
+    return CURRENT::remove;
+  }
+
+  /**
+   * Wrap a task, so that it shares the cache of the current thread on the thread running it.
+   *
+   * @param task The task.
+   * @param <T> The type of the result.
+   * @return The task, with the cache attached while it runs.
+   */
+  public static <T> Callable<T> wrap(Callable<T> task) {
+    ProjectCache cache = CURRENT.get();
+    if (cache == null) {
+      return task;
+    }
+    return () -> {
+      ProjectCache previous = CURRENT.get();
+      CURRENT.set(cache);
+      try {
+        return task.call();
+      } finally {
+        if (previous == null) {
+          CURRENT.remove();
+        } else {
+          CURRENT.set(previous);
+        }
+      }
+    };
+  }
+
+  /** Parse a configuration file. */
+  @FunctionalInterface
+  interface Parser<T> {
+    T parse(File file) throws IOException;
+  }
+
+  /** A cached value, with the date and size of the file it was computed from. */
+  private static final class Entry {
+    private final long lastModified;
+    private final long length;
+    private final Object value;
+
+    private Entry(long lastModified, long length, Object value) {
+      this.lastModified = lastModified;
+      this.length = length;
+      this.value = value;
+    }
+
+    private boolean isValid(File file) {
+      return lastModified == file.lastModified() && length == file.length();
+    }
+  }
+
+  private static String key(String kind, File file) {
+    return kind + ':' + file.getAbsolutePath();
+  }
+
+  /**
+   * Return the type of the project, detected once in the run of the step while the content of
+   * the directory does not change.
+   *
+   * @param directory The directory of the project.
+   * @return The project type, null if unknown.
+   */
+  static ProjectType getProjectType(File directory) {
+    String key = key("type", directory);
+    ProjectCache cache = CURRENT.get();
+    if (cache == null) {
+      return ProjectTypeFactory.detectProjectType(directory);
+    }
+    StepMetrics metrics = StepMetrics.current();
+    synchronized (cache.entries) {
+      Entry entry = cache.entries.get(key);
+      if (entry != null && entry.isValid(directory)) {
+        metrics.increment(StepMetrics.CACHE_HITS);
+        return (ProjectType) entry.value;
+      }
+    }
+    metrics.increment(StepMetrics.CACHE_MISSES);
+    long lastModified = directory.lastModified();
+    ProjectType projectType = ProjectTypeFactory.detectProjectType(directory);
+    synchronized (cache.entries) {
+      cache.entries.put(key, new Entry(lastModified, directory.length(), projectType));
+    }
+    return projectType;
+  }
+
+  /**
+   * Return a parsed configuration file, parsed once in the run of the step while the file does not
+   * change. The value is shared: it must not be modified.
+   *
+   * @param file The configuration file.
+   * @param parser The parser of the file.
+   * @param <T> The type of the parsed document.
+   * @return The parsed document.
+   * @throws IOException If the file can not be parsed.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T read(File file, Parser<T> parser) throws IOException {
+    String key = key("document", file);
+    ProjectCache cache = CURRENT.get();
+    StepMetrics metrics = StepMetrics.current();
+    if (cache == null) {
+      try (StepMetrics.Split split = metrics.start(StepMetrics.PARSE)) {
+        return parser.parse(file);
+      }
+    }
+    synchronized (cache.entries) {
+      Entry entry = cache.entries.get(key);
+      if (entry != null && entry.isValid(file)) {
+        metrics.increment(StepMetrics.CACHE_HITS);
+        return (T) entry.value;
+      }
+    }
+    metrics.increment(StepMetrics.CACHE_MISSES);
+    // the file is parsed without holding the lock, the date and size are the ones before parsing
+    long lastModified = file.lastModified();
+    long length = file.length();
+    T document;
+    try (StepMetrics.Split split = metrics.start(StepMetrics.PARSE)) {
+      document = parser.parse(file);
+    }
+    synchronized (cache.entries) {
+      cache.entries.put(key, new Entry(lastModified, length, document));
+    }
+    return document;
+  }
+
+  /**
+   * Drop the entries of a directory, after a file of the project was written.
+   *
+   * @param directory The directory of the project.
+   */
+  static void invalidate(File directory) {
+    ProjectCache cache = CURRENT.get();
+    if (cache == null) {
+      return;
+    }
+    String path = directory.getAbsolutePath();
+    synchronized (cache.entries) {
+      Iterator<String> keys = cache.entries.keySet().iterator();
+      while (keys.hasNext()) {
+        String key = keys.next();
+        String keyPath = key.substring(key.indexOf(':') + 1);
+        if (keyPath.equals(path) || keyPath.startsWith(path + File.separator)) {
+          keys.remove();
+        }
+      }
+    }
+  }
+}
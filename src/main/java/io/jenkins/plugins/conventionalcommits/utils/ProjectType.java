@@ -14,7 +14,27 @@ import java.util.Arrays;
 
 abstract class ProjectType {
 
-  public abstract boolean check(File directory);
+  /**
+   * Return the files marking a project of this type, the first one found by priority.
+   *
+   * @return The names of the marker files.
+   */
+  public abstract String[] getMarkerFiles();
+
+  /**
+   * Check if a directory is a project of this type.
+   *
+   * @param directory The directory.
+   * @return true if one of the marker files exists.
+   */
+  public boolean check(File directory) {
+    for (String marker : getMarkerFiles()) {
+      if (new File(directory, marker).exists()) {
+        return true;
+      }
+    }
+    return false;
+  }
 
   public abstract Version getCurrentVersion(File directory, ProcessHelper processHelper)
       throws IOException, InterruptedException;
@@ -1,43 +1,105 @@
 package io.jenkins.plugins.conventionalcommits.utils;
 
 import java.io.File;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /** Factory class to support multiple project types. */
 public class ProjectTypeFactory {
 
-  static Map<String, ProjectType> projectTypeMap = new HashMap<>();
+  // Project types by name, by priority: when the marker files of several types are found, the
+  // first one gives the project type. The Makefile comes last, it often wraps another build tool.
+  static final Map<String, ProjectType> projectTypeMap = new LinkedHashMap<>();
 
   static {
     projectTypeMap.put("maven", new MavenProjectType());
     projectTypeMap.put("gradle", new GradleProjectType());
-    projectTypeMap.put("make", new MakeProjectType());
     projectTypeMap.put("npm", new NpmProjectType());
     projectTypeMap.put("python", new PythonProjectType());
     projectTypeMap.put("helm", new HelmProjectType());
     projectTypeMap.put("go", new GoProjectType());
     projectTypeMap.put("php", new PhpProjectType());
+    projectTypeMap.put("make", new MakeProjectType());
   }
 
   /**
-   * Detects &amp; returns the type of the project.
+   * Detects &amp; returns the type of the project. The type is memoised while the content of the
+   * directory does not change.
    *
    * @param directory The project's directory.
    * @return Detected project type.
    */
   public static ProjectType getProjectType(File directory) {
+    return ProjectCache.getProjectType(directory);
+  }
 
-    ProjectType projectType = null;
+  /**
+   * Returns the type of the project, by name, or detects it.
+   *
+   * @param directory The project's directory.
+   * @param name The name of the project type (maven, gradle...), null or empty to detect it.
+   * @return The project type.
+   * @throws IllegalArgumentException If the name is not a known project type.
+   */
+  public static ProjectType getProjectType(File directory, String name) {
+    if (name == null || name.trim().isEmpty()) {
+      return getProjectType(directory);
+    }
+    ProjectType projectType = projectTypeMap.get(name.trim().toLowerCase(Locale.ROOT));
+    if (projectType == null) {
+      throw new IllegalArgumentException(
+          "Unknown project type: " + name + ", expected one of " + projectTypeMap.keySet());
+    }
+    return projectType;
+  }
 
-    for (Map.Entry<String, ProjectType> entryProjectType : projectTypeMap.entrySet()) {
-      ProjectType candidate = entryProjectType.getValue();
-      if (candidate.check(directory)) {
-        projectType = candidate;
-        break;
-      }
+  /**
+   * Detects the type of the project, without cache.
+   *
+   * @param directory The project's directory.
+   * @return Detected project type.
+   */
+  static ProjectType detectProjectType(File directory) {
+    List<ProjectType> projectTypes = detectProjectTypes(directory);
+    return projectTypes.isEmpty() ? null : projectTypes.get(0);
+  }
+
+  /**
+   * Detects all the types of the project, the directory is listed once and its entries are
+   * matched against the marker files of each type.
+   *
+   * @param directory The project's directory.
+   * @return The project types found, by priority.
+   */
+  static List<ProjectType> detectProjectTypes(File directory) {
+    List<ProjectType> projectTypes = new ArrayList<>();
+    String[] entries = directory.list();
+    if (entries == null) {
+      return projectTypes;
     }
 
-    return projectType;
+    // the marker files of the types are matched like check() does, without a lookup per file:
+    // a name differing only by its case is checked on the file system, which may ignore the case
+    Set<String> names = new HashSet<>(Arrays.asList(entries));
+    Set<String> lowerCaseNames = new HashSet<>();
+    for (String name : entries) {
+      lowerCaseNames.add(name.toLowerCase(Locale.ROOT));
+    }
+    for (ProjectType projectType : projectTypeMap.values()) {
+      for (String marker : projectType.getMarkerFiles()) {
+        if (names.contains(marker) || lowerCaseNames.contains(marker.toLowerCase(Locale.ROOT))
+            && new File(directory, marker).exists()) {
+          projectTypes.add(projectType);
+          break;
+        }
+      }
+    }
+    return projectTypes;
   }
 }
@@ -31,8 +31,8 @@ public class PythonProjectType extends ProjectType {
   }
 
   @Override
-  public boolean check(File directory) {
-    return checkSetupCfg(directory) || checkSetupPy(directory) || checkPyProjectToml(directory);
+  public String[] getMarkerFiles() {
+    return new String[] {"pyproject.toml", "setup.py", "setup.cfg"};
   }
 
   @Override
@@ -0,0 +1,145 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import com.github.zafarkhaja.semver.ParseException;
+import com.github.zafarkhaja.semver.Version;
+import io.jenkins.plugins.conventionalcommits.git.GitHelper;
+import io.jenkins.plugins.conventionalcommits.metrics.StepMetrics;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.function.Consumer;
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jgit.errors.InvalidPatternException;
+import org.eclipse.jgit.fnmatch.FileNameMatcher;
+
+/**
+ * Find the highest semantic version tag reachable from HEAD. The tag names are parsed while they
+ * are read and only the running maximum is kept, so that repositories with tens of thousands of
+ * tags are not loaded in memory. Tags are compared as versions: <code>v1.10.0</code> is after
+ * <code>v1.9.0</code>, and a lower version merged after a higher one, like a maintenance release,
+ * does not hide it.
+ */
+public class SemverTagResolver {
+
+  private final String prefix;
+  private final String pattern;
+  // The compiled glob, copied for each match as a matcher keeps the matched name
+  private final FileNameMatcher glob;
+
+  /**
+   * Constructor with fields initialisation.
+   *
+   * @param prefix The prefix of the version tags, like <code>v</code>, null or empty for none.
+   * @param pattern The glob the tag names must match, by default the prefix followed by anything.
+   */
+  public SemverTagResolver(String prefix, String pattern) {
+    this.prefix = StringUtils.defaultString(prefix);
+    this.pattern = StringUtils.isBlank(pattern) ? this.prefix + "*" : pattern;
+    try {
+      // like git tag -l, the '*' also matches the '/'
+      this.glob = new FileNameMatcher(this.pattern, null);
+    } catch (InvalidPatternException exp) {
+      throw new IllegalArgumentException("Invalid tag pattern " + this.pattern, exp);
+    }
+  }
+
+  /**
+   * Return the glob of the tags.
+   *
+   * @return The glob the tag names must match.
+   */
+  public String getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Parse a tag name into a version.
+   *
+   * @param tag The name of the tag.
+   * @return The version, null if the tag does not have the prefix or is not a semantic version.
+   */
+  public Version parse(String tag) {
+    if (tag == null || !tag.startsWith(prefix)) {
+      return null;
+    }
+    try {
+      return Version.valueOf(tag.substring(prefix.length()));
+    } catch (ParseException | IllegalArgumentException exp) {
+      return null;
+    }
+  }
+
+  /**
+   * Check if a tag name matches the glob of the tags.
+   *
+   * @param tag The name of the tag.
+   * @return true if the tag matches the glob.
+   */
+  public boolean matches(String tag) {
+    if (tag == null) {
+      return false;
+    }
+    FileNameMatcher matcher = new FileNameMatcher(glob);
+    matcher.append(tag);
+    return matcher.isMatch();
+  }
+
+  /**
+   * Check if a tag is a version tag: it matches the glob and is a semantic version.
+   *
+   * @param tag The name of the tag.
+   * @return true if the tag is a version tag.
+   */
+  public boolean isVersionTag(String tag) {
+    return matches(tag) && parse(tag) != null;
+  }
+
+  /**
+   * Return the version of a tag, without the prefix.
+   *
+   * @param tag The name of the tag, may be empty.
+   * @return The version part of the tag, or the tag itself if it does not have the prefix.
+   */
+  public String stripPrefix(String tag) {
+    return !prefix.isEmpty() && tag.startsWith(prefix) ? tag.substring(prefix.length()) : tag;
+  }
+
+  /**
+   * Compare the version tags by version.
+   *
+   * @return The order of the version tags, the tags which are not versions first.
+   */
+  public Comparator<String> versionOrder() {
+    return Comparator.comparing(this::parse, Comparator.nullsFirst(Comparator.naturalOrder()));
+  }
+
+  /**
+   * Return the tag with the highest version reachable from HEAD.
+   *
+   * @param gitHelper The repository.
+   * @return The name of the tag, empty if no semantic version tag is reachable.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  public String resolve(GitHelper gitHelper) throws IOException, InterruptedException {
+    Latest latest = new Latest();
+    gitHelper.walkMergedTags(pattern, latest);
+    return latest.tag;
+  }
+
+  /** Running maximum of the tags. */
+  private class Latest implements Consumer<String> {
+    private final StepMetrics metrics = StepMetrics.current();
+    private String tag = "";
+    private Version version;
+
+    @Override
+    public void accept(String name) {
+      metrics.increment(StepMetrics.TAG_COUNT);
+      Version candidate = parse(name);
+      if (candidate != null && (version == null || candidate.greaterThan(version))) {
+        version = candidate;
+        tag = name;
+      }
+    }
+  }
+}
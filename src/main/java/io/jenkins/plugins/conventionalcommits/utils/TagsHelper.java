@@ -1,8 +1,9 @@
 package io.jenkins.plugins.conventionalcommits.utils;
 
-import static io.jenkins.plugins.conventionalcommits.process.ProcessUtil.execute;
-
 import hudson.model.TaskListener;
+import io.jenkins.plugins.conventionalcommits.git.GitHelper;
+import io.jenkins.plugins.conventionalcommits.git.GitHelperFactory;
+import io.jenkins.plugins.conventionalcommits.metrics.StepMetrics;
 import java.io.File;
 import java.io.IOException;
 import java.util.Objects;
@@ -22,25 +23,78 @@ public class TagsHelper {
    */
   public static String getLatestTag(StepContext context, File dir, boolean includeNonAnnotatedTags)
       throws InterruptedException, IOException {
-    Objects.requireNonNull(dir, "Directory is mandatory");
     Objects.requireNonNull(context, "Context is mandatory");
+    return getLatestTag(context.get(TaskListener.class), dir, includeNonAnnotatedTags);
+  }
+
+  /**
+   * Return the last tag.
+   *
+   * @param listener                Jenkins listener, to log in the console.
+   * @param dir                     The project's directory.
+   * @param includeNonAnnotatedTags If true include the non annotated tag.
+   * @return The last tag of the project.
+   */
+  public static String getLatestTag(TaskListener listener, File dir,
+      boolean includeNonAnnotatedTags) throws InterruptedException, IOException {
+    return getLatestTag(listener, dir, includeNonAnnotatedTags, new SemverTagResolver(null, null));
+  }
+
+  /**
+   * Return the last tag matching the prefix and the glob of a resolver.
+   *
+   * @param listener                Jenkins listener, to log in the console.
+   * @param dir                     The project's directory.
+   * @param includeNonAnnotatedTags If true the highest semantic version tag reachable from HEAD,
+   *                                lightweight tags included, is returned, otherwise the
+   *                                nearest annotated tag matching the glob.
+   * @param resolver                The prefix and the glob of the version tags.
+   * @return The last tag of the project.
+   */
+  public static String getLatestTag(TaskListener listener, File dir,
+      boolean includeNonAnnotatedTags, SemverTagResolver resolver)
+      throws InterruptedException, IOException {
+    Objects.requireNonNull(dir, "Directory is mandatory");
+    Objects.requireNonNull(listener, "Listener is mandatory");
+    Objects.requireNonNull(resolver, "Resolver is mandatory");
 
+    StepMetrics metrics = StepMetrics.current();
     String latestTag = "";
-    try {
-      if (includeNonAnnotatedTags) {
-        latestTag = execute(dir, "git", "tag", "-l").trim();
-        latestTag = latestTag.substring(latestTag.lastIndexOf("\n") + 1);
-      } else {
-        latestTag = execute(dir, "git", "describe", "--abbrev=0", "--tags").trim();
+    try (StepMetrics.Split split = metrics.start(StepMetrics.TAGS)) {
+      latestTag = selectLatestTag(dir, includeNonAnnotatedTags, resolver);
+      if (latestTag.isEmpty()) {
+        listener.getLogger().println("No tags found");
+      } else if (!includeNonAnnotatedTags) {
+        // the resolver counts the tags it compares
+        metrics.increment(StepMetrics.TAG_COUNT);
       }
     } catch (IOException exp) {
       if (exp.getMessage().contains("No names found, cannot describe anything.")) {
-        context.get(TaskListener.class).getLogger().println("No tags found");
+        listener.getLogger().println("No tags found");
       }
     }
 
-    context.get(TaskListener.class).getLogger().println("Current Tag is: " + latestTag);
+    listener.getLogger().println("Current Tag is: " + latestTag);
     return latestTag;
   }
 
+  /**
+   * Return the last tag matching the prefix and the glob of a resolver, without logging it.
+   *
+   * @param dir                     The project's directory.
+   * @param includeNonAnnotatedTags If true the highest semantic version tag reachable from HEAD,
+   *                                lightweight tags included, is returned, otherwise the
+   *                                nearest annotated tag matching the glob.
+   * @param resolver                The prefix and the glob of the version tags.
+   * @return The last tag of the project, empty if none.
+   * @throws IOException If the repository can not be read.
+   * @throws InterruptedException If a command is interrupted.
+   */
+  public static String selectLatestTag(File dir, boolean includeNonAnnotatedTags,
+      SemverTagResolver resolver) throws IOException, InterruptedException {
+    GitHelper gitHelper = GitHelperFactory.getGitHelper(dir);
+    return includeNonAnnotatedTags
+        ? resolver.resolve(gitHelper) : gitHelper.describeLatestTag(resolver.getPattern());
+  }
+
 }
@@ -0,0 +1,194 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import io.jenkins.plugins.conventionalcommits.BumpLevel;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Result of the last version calculation of a repository, kept on disk next to the workspace so
+ * that the next build only reads the commits added since. It is keyed by the SHA-1 of HEAD and of
+ * the latest tag: if the tag moved, or if HEAD is not a descendant of the indexed HEAD any more
+ * (history rewritten), the index is not used. The index of a walk limited to a path, or reading
+ * the full messages, is only used for the same walk, and with the same bump rules.
+ */
+public class VersionIndex {
+
+  /** Name of the index file, in the temporary directory of the workspace. */
+  public static final String FILE_NAME = "conventional-commits-index.properties";
+
+  private static final Logger LOGGER = Logger.getLogger(VersionIndex.class.getName());
+
+  private static final String HEAD = "head";
+  private static final String TAG = "tag";
+  private static final String TAG_COMMIT = "tagCommit";
+  private static final String BUMP_LEVEL = "bumpLevel";
+  private static final String PATH = "path";
+  private static final String BODY = "body";
+  private static final String RULES = "rules";
+
+  private final String head;
+  private final String tag;
+  private final String tagCommit;
+  private final BumpLevel bumpLevel;
+  private final String path;
+  private final boolean body;
+  private final String rules;
+
+  /**
+   * Constructor with fields initialisation.
+   *
+   * @param head SHA-1 of HEAD.
+   * @param tag The latest tag, empty if none.
+   * @param tagCommit SHA-1 of the commit of the latest tag, empty if none.
+   * @param bumpLevel The increment required by the commits between the tag and HEAD.
+   * @param path The path the commits were limited to, empty if none.
+   * @param body true if the full messages were read, false for the subjects only.
+   * @param rules The bump rules, empty for the built-in rules.
+   */
+  public VersionIndex(String head, String tag, String tagCommit, BumpLevel bumpLevel,
+      String path, boolean body, String rules) {
+    this.head = Objects.requireNonNull(head, "HEAD is mandatory");
+    this.tag = Objects.requireNonNull(tag, "Tag is mandatory");
+    this.tagCommit = Objects.requireNonNull(tagCommit, "Tag commit is mandatory");
+    this.bumpLevel = Objects.requireNonNull(bumpLevel, "Bump level is mandatory");
+    this.path = Objects.requireNonNull(path, "Path is mandatory");
+    this.body = body;
+    this.rules = Objects.requireNonNull(rules, "Rules are mandatory");
+  }
+
+  /**
+   * Read an index file.
+   *
+   * @param file The index file.
+   * @return The index, null if the file does not exist or can not be read.
+   */
+  public static VersionIndex load(File file) {
+    if (file == null || !file.isFile()) {
+      return null;
+    }
+    Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(file.toPath())) {
+      properties.load(in);
+      return new VersionIndex(
+          properties.getProperty(HEAD),
+          properties.getProperty(TAG),
+          properties.getProperty(TAG_COMMIT),
+          BumpLevel.valueOf(properties.getProperty(BUMP_LEVEL)),
+          properties.getProperty(PATH, ""),
+          Boolean.parseBoolean(properties.getProperty(BODY)),
+          properties.getProperty(RULES, ""));
+    } catch (IOException | RuntimeException exp) {
+      // a corrupted index is ignored, it will be rewritten
+      LOGGER.log(Level.FINE, "Unable to read the version index " + file, exp);
+      return null;
+    }
+  }
+
+  /**
+   * Write the index, replacing the previous one atomically.
+   *
+   * @param file The index file.
+   * @throws IOException If the file can not be written.
+   */
+  public void store(File file) throws IOException {
+    Properties properties = new Properties();
+    properties.setProperty(HEAD, head);
+    properties.setProperty(TAG, tag);
+    properties.setProperty(TAG_COMMIT, tagCommit);
+    properties.setProperty(BUMP_LEVEL, bumpLevel.name());
+    properties.setProperty(PATH, path);
+    properties.setProperty(BODY, String.valueOf(body));
+    properties.setProperty(RULES, rules);
+
+    Path parent = file.getAbsoluteFile().getParentFile().toPath();
+    Files.createDirectories(parent);
+    Path temp = Files.createTempFile(parent, FILE_NAME, ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(temp)) {
+        properties.store(out, "conventional-commits version index");
+      }
+      Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Check if the index was computed from the same tag.
+   *
+   * @param tag The latest tag.
+   * @param tagCommit SHA-1 of the commit of the latest tag.
+   * @return true if the tag and its commit did not change.
+   */
+  public boolean isSameTag(String tag, String tagCommit) {
+    return this.tag.equals(tag) && this.tagCommit.equals(tagCommit);
+  }
+
+  /**
+   * Check if the index was computed from the commits of the same path.
+   *
+   * @param path The path the commits are limited to, empty if none.
+   * @return true if the commits were limited to the same path.
+   */
+  public boolean isSamePath(String path) {
+    return this.path.equals(path);
+  }
+
+  /**
+   * Check if the index was computed from the full messages.
+   *
+   * @param body true if the full messages are read, false for the subjects only.
+   * @return true if the same part of the messages was read.
+   */
+  public boolean isSameBody(boolean body) {
+    return this.body == body;
+  }
+
+  /**
+   * Check if the commits were classified with the same bump rules.
+   *
+   * @param rules The bump rules, empty for the built-in rules.
+   * @return true if the rules did not change.
+   */
+  public boolean isSameRules(String rules) {
+    return this.rules.equals(rules);
+  }
+
+  public String getHead() {
+    return head;
+  }
+
+  public String getTag() {
+    return tag;
+  }
+
+  public String getTagCommit() {
+    return tagCommit;
+  }
+
+  public BumpLevel getBumpLevel() {
+    return bumpLevel;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public boolean isBody() {
+    return body;
+  }
+
+  public String getRules() {
+    return rules;
+  }
+}
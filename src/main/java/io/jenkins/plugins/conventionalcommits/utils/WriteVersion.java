@@ -1,20 +1,26 @@
 package io.jenkins.plugins.conventionalcommits.utils;
 
 import com.github.zafarkhaja.semver.Version;
+import io.jenkins.plugins.conventionalcommits.metrics.StepMetrics;
 import io.jenkins.plugins.conventionalcommits.process.DefaultProcessHelper;
 import io.jenkins.plugins.conventionalcommits.process.ProcessHelper;
 import java.io.File;
 import java.io.IOException;
-import java.util.logging.Level;
 
 /** Class to write back the calculated next semantic version into the config file of a project. */
 public class WriteVersion {
   private ProcessHelper processHelper;
+  // Name of the project type, null to detect it
+  private String projectTypeName;
 
   public void setProcessHelper(ProcessHelper processHelper) {
     this.processHelper = processHelper;
   }
 
+  public void setProjectType(String projectTypeName) {
+    this.projectTypeName = projectTypeName;
+  }
+
   /**
    * Writes next semantic version in a file.
    *
@@ -26,18 +32,22 @@ public class WriteVersion {
   public String write(Version nextVersion, File directory)
       throws IOException, InterruptedException {
 
-    ProjectType projectType = ProjectTypeFactory.getProjectType(directory);
+    ProjectType projectType = ProjectTypeFactory.getProjectType(directory, projectTypeName);
     String message = "The next version was written to the configuration file.";
 
     if (projectType != null) {
       if (processHelper == null) {
         processHelper = new DefaultProcessHelper();
       }
-      projectType.writeVersion(directory, nextVersion, processHelper);
+      try (StepMetrics.Split split = StepMetrics.current().start(StepMetrics.WRITE_VERSION)) {
+        projectType.writeVersion(directory, nextVersion, processHelper);
+      } finally {
+        // the files of the project changed, even partially
+        ProjectCache.invalidate(directory);
+      }
     } else {
       message = "Could not write the next version to the configuration file.";
-      LogUtils logger = new LogUtils();
-      logger.log(Level.INFO, Level.INFO, Level.FINE, Level.FINE, true, message);
+      LogUtils.get().info(message);
     }
     return message;
   }
@@ -0,0 +1,76 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class BumpRulesTest {
+
+  private static BumpLevel level(BumpRules rules, String message) {
+    CommitParser parser = new CommitParser();
+    parser.parse(message);
+    return rules.level(parser);
+  }
+
+  @Test
+  public void shouldCompileTheRulesOnce() {
+    // Given : rules
+    String rules = "perf: MINOR\ndocs: NONE";
+
+    // When : compiling them twice
+    BumpRules first = BumpRules.compile(rules);
+    BumpRules second = BumpRules.compile(new String(rules.toCharArray()));
+
+    // Then : they are only compiled once, no rules are the built-in rules
+    assertThat(second, is(sameInstance(first)));
+    assertThat(BumpRules.compile(null), is(sameInstance(BumpRules.DEFAULT)));
+    assertThat(BumpRules.compile("  "), is(sameInstance(BumpRules.DEFAULT)));
+  }
+
+  @Test
+  public void shouldLookTheTypeAndTheScopeUp() {
+    // Given : rules of types and of a scope
+    BumpRules rules = BumpRules.compile(
+        "# a comment\nperf: MINOR, docs: NONE\ndeps(security): minor\nFeat(ui): patch");
+
+    // When : looking commits up
+    // Then : the scope rule comes first, then the type rule, then a patch
+    assertThat(level(rules, "perf: faster"), is(BumpLevel.MINOR));
+    assertThat(level(rules, "DOCS: readme"), is(BumpLevel.NONE));
+    assertThat(level(rules, "deps(security): bump"), is(BumpLevel.MINOR));
+    assertThat(level(rules, "deps(build): bump"), is(BumpLevel.PATCH));
+    assertThat(level(rules, "deps: bump"), is(BumpLevel.PATCH));
+    assertThat(level(rules, "feat(ui): button"), is(BumpLevel.PATCH));
+    assertThat(level(rules, "feat(api): endpoint"), is(BumpLevel.MINOR));
+    assertThat(level(rules, "per: not perf"), is(BumpLevel.PATCH));
+    assertThat(level(rules, "perfect: not perf"), is(BumpLevel.PATCH));
+  }
+
+  @Test
+  public void shouldKeepTheBuiltInRule() {
+    // Given : the built-in rules
+    BumpRules rules = BumpRules.DEFAULT;
+
+    // When : looking commits up
+    // Then : only a feature requires a minor version
+    assertThat(level(rules, "feat: feature"), is(BumpLevel.MINOR));
+    assertThat(level(rules, "fix: fix"), is(BumpLevel.PATCH));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectAnInvalidLevel() {
+    BumpRules.compile("perf: HUGE");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectAnInvalidType() {
+    BumpRules.compile("perf(: MINOR");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldValidateTheRulesOfAForm() {
+    BumpRules.validate("perf: MINOR\ndocs HUGE");
+  }
+}
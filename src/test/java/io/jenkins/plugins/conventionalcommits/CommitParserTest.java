@@ -0,0 +1,100 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class CommitParserTest {
+
+  @Test
+  public void shouldParseTheHeader() {
+    // Given : a header with a type, a scope and a breaking change
+    CommitParser parser = new CommitParser();
+
+    // When : parsing it
+    boolean conventional = parser.parse("feat(api)!:  drop the v1 endpoints ");
+
+    // Then : all the parts are read
+    assertThat(conventional, is(true));
+    assertThat(parser.getType(), is("feat"));
+    assertThat(parser.getScope(), is("api"));
+    assertThat(parser.getDescription(), is("drop the v1 endpoints"));
+    assertThat(parser.isBreaking(), is(true));
+    assertThat(parser.isType("FEAT"), is(true));
+    assertThat(parser.isType("fea"), is(false));
+  }
+
+  @Test
+  public void shouldParseTheFooters() {
+    // Given : a message with a body and footers, one on several lines
+    String message = "fix: prevent racing of requests\r\n"
+        + "\r\n"
+        + "Introduce a request id.\r\n"
+        + "\r\n"
+        + "Reviewed-by: Z\r\n"
+        + "BREAKING CHANGE: the id is\r\n"
+        + "  mandatory\r\n"
+        + "Refs #123\r\n";
+
+    // When : parsing it
+    ConventionalCommit commit = new ConventionalCommits().parse(message);
+
+    // Then : the footers are read, the breaking change is detected
+    Map<String, String> footers = new LinkedHashMap<>();
+    footers.put("Reviewed-by", "Z");
+    footers.put("BREAKING CHANGE", "the id is\r\n  mandatory");
+    footers.put("Refs", "#123");
+    assertThat(commit.getType(), is("fix"));
+    assertThat(commit.getScope(), is(nullValue()));
+    assertThat(commit.getFooters(), is(footers));
+    assertThat(commit.isBreaking(), is(true));
+  }
+
+  @Test
+  public void shouldRejectInvalidHeaders() {
+    // Given : messages that do not follow the grammar
+    CommitParser parser = new CommitParser();
+
+    // When : parsing them
+    // Then : they have no type
+    assertThat(parser.parse("Merge branch 'feat!: x'"), is(false));
+    assertThat(parser.parse("feat(: missing scope end"), is(false));
+    assertThat(parser.parse("feat(): empty scope"), is(false));
+    assertThat(parser.parse(": no type"), is(false));
+    assertThat(parser.parse(""), is(false));
+    assertThat(parser.getType(), is(nullValue()));
+    assertThat(parser.isType("feat"), is(false));
+  }
+
+  @Test
+  public void shouldOnlyReadTheBreakingChangeOfTheHeader() {
+    // Given : a fix with a breaking change marker in its body
+    CommitParser parser = new CommitParser();
+
+    // When : parsing it
+    parser.parse("fix: a fix\n\nThe old fix!: marker is gone");
+
+    // Then : it is not a breaking change
+    assertThat(parser.isBreaking(), is(false));
+    assertThat(parser.getFooterCount(), is(0));
+  }
+
+  @Test
+  public void shouldNotAcceptABreakingChangeWithTheWrongCase() {
+    // Given : a footer with a lower case breaking change token
+    CommitParser parser = new CommitParser();
+
+    // When : parsing it
+    parser.parse("fix: a fix\n\nBreaking Change: not breaking");
+
+    // Then : it is a footer, but not a breaking change
+    assertThat(parser.isBreaking(), is(false));
+    assertThat(parser.getFooterCount(), is(1));
+    assertThat(parser.isBreakingChange(0, false), is(false));
+    assertThat(parser.isBreakingChange(0, true), is(true));
+  }
+}
@@ -3,8 +3,10 @@ package io.jenkins.plugins.conventionalcommits;
 import com.github.zafarkhaja.semver.Version;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -160,4 +162,85 @@ public class ConventionalCommitsTest {
     assertThat(out.toString(), is("0.1.0"));
   }
 
+  @Test
+  public void willStopAccumulatingOnBreakingChange() {
+    ConventionalCommits cc = new ConventionalCommits();
+    ConventionalCommits.Accumulator accumulator = cc.newAccumulator();
+
+    assertThat(accumulator.test("fix: bug fix"), is(true));
+    assertThat(accumulator.test("feat: add new feature"), is(true));
+    assertThat(accumulator.test("feat!: new major version"), is(false));
+
+    Version out = accumulator.nextVersion(Version.valueOf("0.0.1"));
+    assertThat(out.toString(), is("1.0.0"));
+  }
+
+  @Test
+  public void willContinueAPreviousClassification() {
+    ConventionalCommits cc = new ConventionalCommits();
+    ConventionalCommits.Accumulator accumulator = cc.newAccumulator(BumpLevel.MINOR);
+
+    assertThat(accumulator.test("fix: bug fix"), is(true));
+
+    Version out = accumulator.nextVersion(Version.valueOf("0.0.1"));
+    assertThat(out.toString(), is("0.1.0"));
+  }
+
+  @Test
+  public void willClassifyEachCommit() {
+    ConventionalCommits cc = new ConventionalCommits();
+
+    assertThat(cc.classify("chore: update"), is(BumpLevel.PATCH));
+    assertThat(cc.classify("feat: add new feature"), is(BumpLevel.MINOR));
+    assertThat(cc.classify("fix!: breaking fix"), is(BumpLevel.MAJOR));
+    assertThat(cc.classify("fix: bug fix\r\n\r\nBREAKING-CHANGE: breaking"), is(BumpLevel.MAJOR));
+    assertThat(cc.classify("Merge feat!: branch"), is(BumpLevel.PATCH));
+  }
+
+  @Test
+  public void willOnlyBumpMinorVersionForTheFeatType() {
+    ConventionalCommits cc = new ConventionalCommits();
+
+    assertThat(cc.classify("feature: not the feat type"), is(BumpLevel.PATCH));
+    assertThat(cc.classify("feat(ui): with a scope"), is(BumpLevel.MINOR));
+    assertThat(cc.classify("fix: a fix\n\nfeat!: in the body"), is(BumpLevel.PATCH));
+  }
+
+  @Test
+  public void willKeepTheParsedCommits() {
+    ConventionalCommits cc = new ConventionalCommits();
+    List<ConventionalCommit> commits = new ArrayList<>();
+    ConventionalCommits.Accumulator accumulator = cc.newAccumulator(commits);
+
+    assertThat(accumulator.test("feat!: new major version"), is(true));
+    assertThat(accumulator.test("fix(core): bug fix"), is(true));
+
+    assertThat(accumulator.getLevel(), is(BumpLevel.MAJOR));
+    assertThat(commits.size(), is(2));
+    assertThat(commits.get(1).getType(), is("fix"));
+    assertThat(commits.get(1).getScope(), is("core"));
+    assertThat(commits.get(1).toMap().get("description"), is("bug fix"));
+  }
+
+  @Test
+  public void willApplyTheBumpRules() {
+    ConventionalCommits cc =
+        new ConventionalCommits(BumpRules.compile("perf: MINOR\ndocs: NONE\nfeat: PATCH"));
+
+    assertThat(cc.classify("perf: faster"), is(BumpLevel.MINOR));
+    assertThat(cc.classify("feat: add new feature"), is(BumpLevel.PATCH));
+    assertThat(cc.classify("docs!: breaking docs"), is(BumpLevel.MAJOR));
+    assertThat(cc.classify("update the docs"), is(BumpLevel.PATCH));
+  }
+
+  @Test
+  public void willKeepTheVersionWhenNoCommitRequiresOne() {
+    ConventionalCommits cc = new ConventionalCommits(BumpRules.compile("docs: NONE"));
+
+    Version out = cc.nextVersion(Version.valueOf("0.0.1"), Arrays.asList("docs: readme"));
+    assertThat(out.toString(), is("0.0.1"));
+
+    out = cc.nextVersion(Version.valueOf("0.0.1"), Collections.emptyList());
+    assertThat(out.toString(), is("0.0.2"));
+  }
 }
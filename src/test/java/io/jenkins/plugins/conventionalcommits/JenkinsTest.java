@@ -5,6 +5,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import hudson.model.Label;
 import hudson.model.Result;
 import java.net.URL;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
@@ -449,4 +450,29 @@ public class JenkinsTest {
     assertThat(JenkinsRule.getLog(b), containsString("1.1.1"));
     assertThat(JenkinsRule.getLog(b), containsString("Finished: SUCCESS"));
   }
+
+  @Test
+  public void testPipelineOnAgent() throws Exception {
+    // Given: a workspace on an agent
+    rule.createOnlineSlave(Label.get("remote"));
+    WorkflowJob p = rule.jenkins.createProject(WorkflowJob.class, "p");
+    URL zipFile = getClass().getResource("simple-project-with-tags.zip");
+    assertThat(zipFile, is(notNullValue()));
+
+    // When: calling the steps on the agent
+    p.setDefinition(
+        new CpsFlowDefinition(
+            "node('remote') {\n"
+                + "  unzip '" + zipFile.getPath() + "'\n"
+                + "  echo \"current version = ${currentVersion()}\"\n"
+                + "  echo \"next version = ${nextVersion()}\"\n"
+                + "}\n",
+            true));
+
+    // Then: the versions are computed where the workspace is
+    WorkflowRun b = rule.assertBuildStatus(Result.SUCCESS, p.scheduleBuild2(0).get());
+    assertThat(JenkinsRule.getLog(b), containsString("Current Tag is: 0.1.0"));
+    assertThat(JenkinsRule.getLog(b), containsString("current version = 0.1.0"));
+    assertThat(JenkinsRule.getLog(b), containsString("next version = 0.1.1"));
+  }
 }
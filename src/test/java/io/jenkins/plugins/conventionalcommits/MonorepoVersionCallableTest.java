@@ -0,0 +1,160 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import hudson.util.StreamTaskListener;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class MonorepoVersionCallableTest {
+
+  @Rule
+  public TemporaryGitRepository repository = new TemporaryGitRepository();
+
+  private File repo;
+
+  @Before
+  public void setup() {
+    repo = repository.getDirectory();
+  }
+
+  private void write(String path, String content) throws IOException {
+    repository.write(path, content);
+  }
+
+  private void commit(String message) throws Exception {
+    repository.git("add", "-A");
+    repository.commit(message);
+  }
+
+  private static String packageJson(String version) {
+    return "{\"name\": \"app\", \"version\": \"" + version + "\"}\n";
+  }
+
+  @Test
+  public void shouldExpandTheGlobsOfProjects() throws Exception {
+    // Given : a workspace with project directories, and a hidden one
+    write("services/api/package.json", packageJson("1.0.0"));
+    write("services/web/package.json", packageJson("1.0.0"));
+    write("services/.cache/package.json", packageJson("1.0.0"));
+    write("charts/web/Chart.yaml", "version: 1.0.0\n");
+
+    // When : expanding a glob and a directory
+    TreeSet<String> modules = new TreeSet<>(MonorepoVersionCallable.expand(repo.toPath(),
+        Arrays.asList("services/*", "./charts/web/")));
+
+    // Then : the matching directories are returned, relative to the workspace
+    assertThat(modules, is(new TreeSet<>(
+        Arrays.asList("charts/web", "services/api", "services/web"))));
+  }
+
+  @Test
+  public void shouldOnlyWalkTheDepthOfTheGlobs() throws Exception {
+    // Given : projects at several depths
+    write("services/api/package.json", packageJson("1.0.0"));
+    write("services/api/tools/package.json", packageJson("1.0.0"));
+    write("libs/a/b/package.json", packageJson("1.0.0"));
+
+    // When : expanding a one level glob, and a glob crossing directories
+    TreeSet<String> shallow = new TreeSet<>(MonorepoVersionCallable.expand(repo.toPath(),
+        Collections.singletonList("services/*")));
+    TreeSet<String> deep = new TreeSet<>(MonorepoVersionCallable.expand(repo.toPath(),
+        Collections.singletonList("libs/**")));
+
+    // Then : only the directories at the depth of the glob match it, unless it crosses them
+    assertThat(shallow, is(new TreeSet<>(Collections.singletonList("services/api"))));
+    assertThat(deep, is(new TreeSet<>(Arrays.asList("libs/a", "libs/a/b"))));
+  }
+
+  @Test(expected = IOException.class)
+  public void shouldFailWhenAProjectDoesNotExist() throws Exception {
+    // Given : an empty workspace
+
+    // When : expanding a missing directory
+    MonorepoVersionCallable.expand(repo.toPath(), Collections.singletonList("missing"));
+
+    // Then : the step fails
+  }
+
+  @Test
+  public void shouldComputeTheNextVersionOfEachProject() throws Exception {
+    // Given : three projects, changed by different commits after the tag
+    write("api/package.json", packageJson("1.0.0"));
+    write("web/package.json", packageJson("2.0.0"));
+    write("docs/package.json", packageJson("0.1.0"));
+    commit("chore: initial commit");
+    repository.tag("1.0.0", false);
+    write("api/src/index.js", "// api\n");
+    commit("feat: new api");
+    write("web/index.html", "<html/>\n");
+    write("api/README.md", "api\n");
+    commit("fix: web and api");
+
+    // When : computing the next versions
+    NextVersionStep step = new NextVersionStep();
+    step.setProjects("api\nweb\r\n\n docs ");
+    ByteArrayOutputStream log = new ByteArrayOutputStream();
+    Map<String, String> versions = new MonorepoVersionCallable(step,
+        new StreamTaskListener(log, StandardCharsets.UTF_8)).invoke(repo, null);
+
+    // Then : each project is bumped by its own commits, the unchanged one keeps its version
+    Map<String, String> expected = new TreeMap<>();
+    expected.put("api", "1.1.0");
+    expected.put("docs", "0.1.0");
+    expected.put("web", "2.0.1");
+    assertThat(versions, is(expected));
+    assertThat(log.toString("UTF-8"), containsString("docs: 0.1.0 (no change)"));
+  }
+
+  @Test
+  public void shouldReadTheBodiesOfTheCommits() throws Exception {
+    // Given : a project changed by a commit with a breaking change footer
+    write("api/package.json", packageJson("1.0.0"));
+    write("web/package.json", packageJson("2.0.0"));
+    commit("chore: initial commit");
+    repository.tag("1.0.0", false);
+    write("api/src/index.js", "// api\n");
+    write("web/index.html", "<html/>\n");
+    commit("fix: new api\n\nBREAKING CHANGE: the api is new");
+
+    // When : computing the next versions with the bodies of the commits
+    NextVersionStep step = new NextVersionStep();
+    step.setProjects("api\nweb");
+    step.setIncludeBody(true);
+    Map<String, String> versions = new MonorepoVersionCallable(step,
+        new StreamTaskListener(new ByteArrayOutputStream(), StandardCharsets.UTF_8))
+        .invoke(repo, null);
+
+    // Then : the footer is read for each project
+    Map<String, String> expected = new TreeMap<>();
+    expected.put("api", "2.0.0");
+    expected.put("web", "3.0.0");
+    assertThat(versions, is(expected));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectAPathWithProjects() {
+    // Given : the projects of a monorepo and the path of a single project
+    NextVersionStep step = new NextVersionStep();
+    step.setProjects("api");
+    step.setPath("api");
+
+    // When : creating the callable
+    new MonorepoVersionCallable(step,
+        new StreamTaskListener(new ByteArrayOutputStream(), StandardCharsets.UTF_8));
+
+    // Then : the parameters are rejected
+  }
+}
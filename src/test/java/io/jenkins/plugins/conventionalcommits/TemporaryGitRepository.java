@@ -0,0 +1,94 @@
+package io.jenkins.plugins.conventionalcommits;
+
+import static io.jenkins.plugins.conventionalcommits.process.ProcessUtil.execute;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * A git repository initialised in a temporary folder before each test, and deleted after it. The
+ * commits and annotated tags are made with a test identity, whatever the git configuration of the
+ * machine.
+ */
+public class TemporaryGitRepository extends TemporaryFolder {
+
+  private File directory;
+
+  @Override
+  protected void before() throws Throwable {
+    super.before();
+    directory = newFolder("repo");
+    execute(directory, "git", "init");
+  }
+
+  /**
+   * Return the working tree of the repository.
+   *
+   * @return The directory of the repository.
+   */
+  public File getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Run a git command in the repository, with the test identity.
+   *
+   * @param args The git command and its parameters, like <code>tag v1.0.0</code>.
+   * @return The standard output of the command.
+   * @throws IOException If the command fails.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  public String git(String... args) throws IOException, InterruptedException {
+    String[] command = new String[args.length + 5];
+    command[0] = "git";
+    command[1] = "-c";
+    command[2] = "user.name=test";
+    command[3] = "-c";
+    command[4] = "user.email=test@example.com";
+    System.arraycopy(args, 0, command, 5, args.length);
+    return execute(directory, command);
+  }
+
+  /**
+   * Write a file of the working tree, creating its directories.
+   *
+   * @param path The path of the file, relative to the repository.
+   * @param content The content of the file.
+   * @throws IOException If the file can not be written.
+   */
+  public void write(String path, String content) throws IOException {
+    File file = new File(directory, path);
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Commit the staged changes, or an empty commit if there is none.
+   *
+   * @param message The message of the commit.
+   * @throws IOException If the commit fails.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  public void commit(String message) throws IOException, InterruptedException {
+    git("commit", "--allow-empty", "-m", message);
+  }
+
+  /**
+   * Tag HEAD.
+   *
+   * @param name The name of the tag.
+   * @param annotated true for an annotated tag, false for a lightweight one.
+   * @throws IOException If the tag can not be created.
+   * @throws InterruptedException If the command is interrupted.
+   */
+  public void tag(String name, boolean annotated) throws IOException, InterruptedException {
+    if (annotated) {
+      git("tag", "-a", name, "-m", name);
+    } else {
+      git("tag", name);
+    }
+  }
+}
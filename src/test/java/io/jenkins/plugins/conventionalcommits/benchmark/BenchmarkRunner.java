@@ -0,0 +1,39 @@
+package io.jenkins.plugins.conventionalcommits.benchmark;
+
+import static org.junit.Assume.assumeTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the plugin. Skipped unless the <code>benchmark</code> property is
+ * set, run them with <code>mvn test -Dbenchmark</code>. The results are written as JSON to
+ * <code>target/jmh-report.json</code> so that they can be compared across releases.
+ */
+public class BenchmarkRunner {
+
+  @Test
+  public void runJmhBenchmarks() throws Exception {
+    assumeTrue(System.getProperty("benchmark") != null);
+
+    String include = System.getProperty("benchmark.include", ".*Benchmark");
+    Options options = new OptionsBuilder()
+        .include(getClass().getPackage().getName() + "." + include)
+        .mode(Mode.AverageTime)
+        .timeUnit(TimeUnit.MICROSECONDS)
+        .warmupIterations(3)
+        .measurementIterations(5)
+        .forks(1)
+        .shouldFailOnError(true)
+        .shouldDoGC(true)
+        .resultFormat(ResultFormatType.JSON)
+        .result(System.getProperty("benchmark.report", "target/jmh-report.json"))
+        .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,106 @@
+package io.jenkins.plugins.conventionalcommits.benchmark;
+
+import io.jenkins.plugins.conventionalcommits.BumpLevel;
+import io.jenkins.plugins.conventionalcommits.CommitParser;
+import io.jenkins.plugins.conventionalcommits.ConventionalCommit;
+import io.jenkins.plugins.conventionalcommits.ConventionalCommits;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compare the classification of full commit messages (header, body and footers) by
+ * {@link CommitParser} with the previous <code>startsWith</code> / <code>!:</code> heuristics, and
+ * measure the copy of the parsed model.
+ */
+@State(Scope.Benchmark)
+public class CommitParserBenchmark {
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  private List<String> commits;
+
+  @Setup
+  public void setup() {
+    commits = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      switch (i % 4) {
+        case 0:
+          commits.add("feat(api): add the endpoint #" + i + "\n\nThe endpoint lists the items.\n"
+              + "\nReviewed-by: someone\nRefs #" + i);
+          break;
+        case 1:
+          commits.add("fix: handle the empty list #" + i + "\n\nSome details about the fix,\n"
+              + "on several lines of the body.");
+          break;
+        case 2:
+          commits.add("Merge branch 'feature-" + i + "'");
+          break;
+        default:
+          commits.add("chore(deps): bump the dependencies\n\nSigned-off-by: someone");
+          break;
+      }
+    }
+  }
+
+  @Benchmark
+  public BumpLevel parser() {
+    ConventionalCommits conventionalCommits = new ConventionalCommits();
+    BumpLevel level = BumpLevel.PATCH;
+    for (String commit : commits) {
+      level = level.max(conventionalCommits.classify(commit));
+    }
+    return level;
+  }
+
+  @Benchmark
+  public BumpLevel heuristics() {
+    BumpLevel level = BumpLevel.PATCH;
+    for (String commit : commits) {
+      level = level.max(heuristicClassify(commit));
+    }
+    return level;
+  }
+
+  @Benchmark
+  public int parsedModel() {
+    CommitParser parser = new CommitParser();
+    int footers = 0;
+    for (String commit : commits) {
+      parser.parse(commit);
+      ConventionalCommit parsed = parser.toCommit();
+      footers += parsed.getFooters().size();
+    }
+    return footers;
+  }
+
+  /** The previous classification: a scan for <code>!:</code> and footers, then startsWith. */
+  private static BumpLevel heuristicClassify(String commit) {
+    if (commit.startsWith("Merge")) {
+      return BumpLevel.PATCH;
+    }
+    int length = commit.length();
+    boolean lineStart = true;
+    for (int i = 0; i < length; i++) {
+      char c = commit.charAt(i);
+      if (c == '\r' || c == '\n') {
+        lineStart = true;
+        continue;
+      }
+      if (lineStart && (commit.startsWith("BREAKING CHANGE:", i)
+          || commit.startsWith("BREAKING-CHANGE:", i))) {
+        return BumpLevel.MAJOR;
+      }
+      lineStart = false;
+      if (c == '!' && i + 1 < length && commit.charAt(i + 1) == ':') {
+        return BumpLevel.MAJOR;
+      }
+    }
+    return commit.startsWith("feat") ? BumpLevel.MINOR : BumpLevel.PATCH;
+  }
+}
@@ -0,0 +1,95 @@
+package io.jenkins.plugins.conventionalcommits.benchmark;
+
+import com.github.zafarkhaja.semver.Version;
+import io.jenkins.plugins.conventionalcommits.ConventionalCommits;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measure {@link ConventionalCommits#nextVersion} across commit list sizes and feature ratios, and
+ * compare it with the previous implementation, that streamed the commit list three times.
+ */
+@State(Scope.Benchmark)
+public class ConventionalCommitsBenchmark {
+
+  private static final Version CURRENT = Version.valueOf("1.0.0");
+
+  @Param({"100", "10000", "1000000"})
+  public int size;
+
+  /** Percentage of feature commits, the other ones are fixes and merges. */
+  @Param({"0", "15", "50"})
+  public int featurePercent;
+
+  /** Position of a breaking change in the list: none, first, middle or last. */
+  @Param({"none", "middle", "last"})
+  public String breaking;
+
+  private List<String> commits;
+
+  // Footers with a wrong case, only counted so that the legacy checks are not optimised away
+  private int lowerCaseFooters;
+
+  @Setup
+  public void setup() {
+    commits = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      if (i % 10 == 0) {
+        commits.add("Merge branch 'feature-" + i + "'");
+      } else if (i % 100 < featurePercent) {
+        commits.add("feat: add the feature #" + i + "\n\nRefs: #" + i);
+      } else {
+        commits.add("fix(core): fix the bug #" + i + "\n\nSome details about the fix.");
+      }
+    }
+    String breakingChange = "refactor: drop the old API\n\nBREAKING CHANGE: the API is gone";
+    if ("middle".equals(breaking)) {
+      commits.set(size / 2, breakingChange);
+    } else if ("last".equals(breaking)) {
+      commits.set(size - 1, breakingChange);
+    }
+  }
+
+  @Benchmark
+  public Version singlePass() {
+    return new ConventionalCommits().nextVersion(CURRENT, commits);
+  }
+
+  @Benchmark
+  public Version threePasses() {
+    List<String> filtered =
+        commits.stream().filter(s -> !s.startsWith("Merge")).collect(Collectors.toList());
+    List<String> breaking =
+        filtered.stream()
+            .filter(s -> s.contains("!:") || legacyBreakingChangeFooter(s))
+            .collect(Collectors.toList());
+    List<String> features =
+        filtered.stream().filter(s -> s.startsWith("feat")).collect(Collectors.toList());
+
+    if (!breaking.isEmpty()) {
+      return CURRENT.incrementMajorVersion();
+    }
+    if (!features.isEmpty()) {
+      return CURRENT.incrementMinorVersion();
+    }
+    return CURRENT.incrementPatchVersion();
+  }
+
+  private boolean legacyBreakingChangeFooter(String commit) {
+    for (String line : commit.split("[\\r\\n]+")) {
+      if (line.startsWith("BREAKING CHANGE:") || line.startsWith("BREAKING-CHANGE:")) {
+        return true;
+      } else if (line.toLowerCase().startsWith("breaking change:")
+          || line.toLowerCase().startsWith("breaking-change:")) {
+        lowerCaseFooters++;
+      }
+    }
+    return false;
+  }
+}
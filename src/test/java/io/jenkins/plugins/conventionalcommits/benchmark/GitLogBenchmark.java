@@ -0,0 +1,89 @@
+package io.jenkins.plugins.conventionalcommits.benchmark;
+
+import io.jenkins.plugins.conventionalcommits.ConventionalCommits;
+import io.jenkins.plugins.conventionalcommits.git.CliGitHelper;
+import io.jenkins.plugins.conventionalcommits.git.GitHelperFactory;
+import io.jenkins.plugins.conventionalcommits.process.ProcessUtil;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measure the read of the commit history of a local fixture repository, with the git command line
+ * and with JGit.
+ */
+@State(Scope.Benchmark)
+public class GitLogBenchmark {
+
+  /** Number of commits of the fixture repository. */
+  @Param({"100", "10000"})
+  public int commits;
+
+  private File repository;
+
+  @Setup
+  public void setup() throws IOException, InterruptedException {
+    repository = Files.createTempDirectory("git-log-benchmark").toFile();
+    ProcessUtil.execute(repository, "git", "init", "--quiet");
+
+    // fast-import creates the history in a single process
+    Process process = new ProcessBuilder("git", "fast-import", "--quiet")
+        .directory(repository)
+        .redirectErrorStream(true)
+        .start();
+    try (OutputStream out = process.getOutputStream();
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+      for (int i = 1; i <= commits; i++) {
+        String message = (i % 7 == 0 ? "feat: feature #" : "fix: bug #") + i + "\n";
+        writer.write("commit refs/heads/benchmark\n");
+        writer.write("mark :" + i + "\n");
+        writer.write("committer Benchmark <benchmark@example.com> " + (1600000000 + i) + " +0000\n");
+        writer.write("data " + message.getBytes(StandardCharsets.UTF_8).length + "\n");
+        writer.write(message);
+        if (i > 1) {
+          writer.write("from :" + (i - 1) + "\n");
+        }
+        writer.write("\n");
+      }
+    }
+    if (process.waitFor() != 0) {
+      throw new IOException("Unable to create the fixture repository");
+    }
+    ProcessUtil.execute(repository, "git", "symbolic-ref", "HEAD", "refs/heads/benchmark");
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(repository);
+  }
+
+  @Benchmark
+  public String processUtilExecute() throws IOException, InterruptedException {
+    return ProcessUtil.execute(repository, "git", "log", "--pretty=format:%s");
+  }
+
+  @Benchmark
+  public Object cliWalk() throws IOException, InterruptedException {
+    ConventionalCommits.Accumulator accumulator = new ConventionalCommits().newAccumulator();
+    new CliGitHelper(repository).walkCommitMessages("", accumulator);
+    return accumulator.getLevel();
+  }
+
+  @Benchmark
+  public Object jgitWalk() throws IOException, InterruptedException {
+    ConventionalCommits.Accumulator accumulator = new ConventionalCommits().newAccumulator();
+    GitHelperFactory.getGitHelper(repository).walkCommitMessages("", accumulator);
+    return accumulator.getLevel();
+  }
+}
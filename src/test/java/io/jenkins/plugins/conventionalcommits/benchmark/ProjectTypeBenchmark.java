@@ -0,0 +1,77 @@
+package io.jenkins.plugins.conventionalcommits.benchmark;
+
+import com.github.zafarkhaja.semver.Version;
+import io.jenkins.plugins.conventionalcommits.utils.MakeProjectType;
+import io.jenkins.plugins.conventionalcommits.utils.ProjectTypeFactory;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measure the detection of the project type and the rewrite of a large configuration file with
+ * the next version.
+ */
+@State(Scope.Benchmark)
+public class ProjectTypeBenchmark {
+
+  private static final Version NEXT_VERSION = Version.valueOf("1.2.3");
+
+  /** Number of lines of the configuration file, the version is on the last one. */
+  @Param({"100", "100000"})
+  public int lines;
+
+  private Path directory;
+  private Path makefileDirectory;
+  private Path emptyDirectory;
+  private MakeProjectType makeProjectType;
+
+  @Setup
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("project-type-benchmark");
+    makefileDirectory = Files.createDirectory(directory.resolve("make"));
+    emptyDirectory = Files.createDirectory(directory.resolve("empty"));
+    makeProjectType = new MakeProjectType();
+
+    try (BufferedWriter writer = Files.newBufferedWriter(makefileDirectory.resolve("Makefile"),
+        StandardCharsets.UTF_8)) {
+      for (int i = 0; i < lines - 1; i++) {
+        writer.write("target" + i + ":\n\techo \"target " + i + "\"\n");
+      }
+      writer.write("VERSION = 1.0.0\n");
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(directory.toFile());
+  }
+
+  @Benchmark
+  public boolean createNewUpdateFile() throws IOException {
+    return makeProjectType.createNewUpdateFile(
+        makefileDirectory.resolve("Makefile").toString(),
+        makefileDirectory.resolve("Makefile.temp").toString(),
+        NEXT_VERSION, false, new String[] {"version"});
+  }
+
+  @Benchmark
+  public Object detectMakeProject() {
+    // Makefile is one of the last types checked
+    return ProjectTypeFactory.getProjectType(makefileDirectory.toFile());
+  }
+
+  @Benchmark
+  public Object detectUnknownProject() {
+    // All the project types are checked
+    return ProjectTypeFactory.getProjectType(emptyDirectory.toFile());
+  }
+}
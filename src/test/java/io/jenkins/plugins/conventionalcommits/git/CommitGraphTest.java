@@ -0,0 +1,71 @@
+package io.jenkins.plugins.conventionalcommits.git;
+
+import static io.jenkins.plugins.conventionalcommits.process.ProcessUtil.execute;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.jenkins.plugins.conventionalcommits.TemporaryGitRepository;
+import io.jenkins.plugins.conventionalcommits.utils.LogUtils;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class CommitGraphTest {
+
+  @Rule
+  public TemporaryGitRepository repository = new TemporaryGitRepository();
+
+  private File repo;
+
+  @Before
+  public void setup() {
+    repo = repository.getDirectory();
+  }
+
+  private void commit(String message) throws Exception {
+    repository.commit(message);
+  }
+
+  private List<String> layers() throws Exception {
+    return Files.readAllLines(
+        new File(repo, ".git/objects/info/commit-graphs/commit-graph-chain").toPath());
+  }
+
+  @Test
+  public void shouldOnlyAddTheNewCommits() throws Exception {
+    // Given : a repository with a commit-graph of 10 commits
+    commit("feat: first");
+    for (int i = 0; i < 8; i++) {
+      commit("chore: commit " + i);
+    }
+    commit("fix: second");
+    CommitGraph graph = new CommitGraph(repo, LogUtils.get());
+    assertThat(graph.update(), is(true));
+    assertThat(layers().size(), is(1));
+
+    // When : updating the graph after a new commit
+    commit("fix: third");
+    boolean updated = graph.update();
+
+    // Then : the new commit is in a new layer, the walks still work
+    assertThat(updated, is(true));
+    assertThat(layers().size(), is(2));
+    assertThat(execute(repo, "git", "log", "--pretty=format:%s", "HEAD~2..HEAD").trim(),
+        is("fix: third" + System.lineSeparator() + "fix: second"));
+  }
+
+  @Test
+  public void shouldNotFailOutsideOfARepository() throws Exception {
+    // Given : a directory without repository
+    File directory = repository.newFolder("not-a-repository");
+
+    // When : updating its commit-graph
+    boolean updated = new CommitGraph(directory, LogUtils.get()).update();
+
+    // Then : nothing is written, the failure is only logged
+    assertThat(updated, is(false));
+  }
+}
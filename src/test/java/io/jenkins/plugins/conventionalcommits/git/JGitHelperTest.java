@@ -0,0 +1,337 @@
+package io.jenkins.plugins.conventionalcommits.git;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.jenkins.plugins.conventionalcommits.TemporaryGitRepository;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class JGitHelperTest {
+
+  @Rule
+  public TemporaryGitRepository repository = new TemporaryGitRepository();
+
+  private File repo;
+
+  @Before
+  public void setup() {
+    repo = repository.getDirectory();
+  }
+
+  private void commit(String message) throws Exception {
+    repository.commit(message);
+  }
+
+  private void commitFile(String path, String message) throws Exception {
+    repository.write(path, message);
+    repository.git("add", path);
+    commit(message);
+  }
+
+  private static Map<String, List<String>> walkPaths(GitHelper git, List<String> excluded)
+      throws Exception {
+    Map<String, List<String>> commits = new LinkedHashMap<>();
+    git.walkCommitPaths(excluded, (message, paths) -> {
+      List<String> sorted = new ArrayList<>(paths);
+      Collections.sort(sorted);
+      commits.put(message, sorted);
+      return true;
+    });
+    return commits;
+  }
+
+  private void tag(String name, boolean annotated) throws Exception {
+    repository.tag(name, annotated);
+  }
+
+  @Test
+  public void shouldUseJGitWhenARepositoryIsFound() {
+    // Given : a git repository
+
+    // When : asking for the Git backend
+    GitHelper gitHelper = GitHelperFactory.getGitHelper(repo);
+
+    // Then : the JGit backend is used
+    assertThat(gitHelper, instanceOf(JGitHelper.class));
+  }
+
+  @Test
+  public void shouldReadTheSameTagsAsTheCommandLine() throws Exception {
+    // Given : a repository with annotated and non annotated tags
+    commit("feat: first feature");
+    tag("0.1.0", true);
+    commit("fix: a fix");
+    tag("0.1.1", false);
+    commit("chore: not tagged");
+
+    // When : reading the tags with JGit and with the command line
+    GitHelper jgit = GitHelperFactory.getGitHelper(repo);
+    GitHelper cli = new CliGitHelper(repo);
+
+    // Then : the results are the same
+    assertThat(jgit.describeLatestTag(), is("0.1.1"));
+    assertThat(jgit.describeLatestTag(), is(cli.describeLatestTag()));
+    assertThat(jgit.listTags(), is(Arrays.asList("0.1.0", "0.1.1")));
+    assertThat(jgit.listTags(), is(cli.listTags()));
+  }
+
+  @Test
+  public void shouldPreferAnnotatedTagsLikeTheCommandLine() throws Exception {
+    // Given : a commit with a lightweight tag and an annotated tag
+    commit("feat: first feature");
+    tag("0.1.0", false);
+    tag("0.2.0-alpha", true);
+    tag("0.3.0", false);
+
+    // When : reading the latest tag with JGit and with the command line
+    GitHelper jgit = GitHelperFactory.getGitHelper(repo);
+    GitHelper cli = new CliGitHelper(repo);
+
+    // Then : the annotated tag is returned by both
+    assertThat(jgit.describeLatestTag(), is("0.2.0-alpha"));
+    assertThat(jgit.describeLatestTag(), is(cli.describeLatestTag()));
+  }
+
+  @Test
+  public void shouldKeepATagNamedLikeADescription() throws Exception {
+    // Given : tags whose names end like the suffix of git describe
+    commit("feat: first feature");
+    tag("v1-2-gabc123", true);
+
+    // When : reading the latest tag on the tagged commit, then after it
+    GitHelper jgit = GitHelperFactory.getGitHelper(repo);
+    String onTag = jgit.describeLatestTag();
+    commit("fix: a fix");
+    String afterTag = jgit.describeLatestTag();
+
+    // Then : the whole tag name is returned, like the command line does
+    assertThat(onTag, is("v1-2-gabc123"));
+    assertThat(afterTag, is("v1-2-gabc123"));
+    assertThat(afterTag, is(new CliGitHelper(repo).describeLatestTag()));
+  }
+
+  @Test
+  public void shouldDescribeWithAGlobLikeTheCommandLine() throws Exception {
+    // Given : a repository with prefixed and not prefixed tags
+    commit("feat: first feature");
+    tag("v0.1.0", true);
+    commit("fix: a fix");
+    tag("0.1.1", false);
+
+    // When : reading the latest tag starting with v
+    GitHelper jgit = GitHelperFactory.getGitHelper(repo);
+    GitHelper cli = new CliGitHelper(repo);
+
+    // Then : the nearest matching tag is returned by both
+    assertThat(jgit.describeLatestTag("v*"), is("v0.1.0"));
+    assertThat(cli.describeLatestTag("v*"), is("v0.1.0"));
+    assertThat(jgit.describeLatestTag("x*"), is(""));
+    assertThat(cli.describeLatestTag("x*"), is(""));
+  }
+
+  @Test
+  public void shouldReadTheCommitMessagesSinceTheTag() throws Exception {
+    // Given : a repository with commits after a tag
+    commit("feat: first feature");
+    tag("0.1.0", true);
+    commit("fix: a fix");
+    commit("feat: a feature\n\nwith a body");
+
+    // When : reading the commit messages with JGit and with the command line
+    GitHelper jgit = GitHelperFactory.getGitHelper(repo);
+    GitHelper cli = new CliGitHelper(repo);
+
+    // Then : only the subjects of the commits after the tag are returned
+    assertThat(jgit.getCommitMessages("0.1.0"), is(Arrays.asList("feat: a feature", "fix: a fix")));
+    assertThat(jgit.getCommitMessages("0.1.0"), is(cli.getCommitMessages("0.1.0")));
+    assertThat(jgit.getCommitMessages("").size(), is(3));
+  }
+
+  @Test
+  public void shouldReadTheFullMessagesLikeTheCommandLine() throws Exception {
+    // Given : a repository with a breaking change footer in the body of a commit
+    commit("feat: first feature");
+    tag("0.1.0", true);
+    commit("fix: a fix\n\nBREAKING CHANGE: the fix changes the API\n");
+    commit("chore: no body");
+
+    // When : reading the full messages with JGit and with the command line
+    GitHelper jgit = GitHelperFactory.getGitHelper(repo);
+    GitHelper cli = new CliGitHelper(repo);
+    List<String> excluded = Collections.singletonList("0.1.0");
+    List<String> messages = new ArrayList<>();
+    jgit.walkCommitMessages(excluded, Collections.emptyList(), true, messages::add);
+    List<String> cliMessages = new ArrayList<>();
+    cli.walkCommitMessages(excluded, Collections.emptyList(), true, cliMessages::add);
+
+    // Then : the bodies are read, one message at a time, by both backends
+    assertThat(messages, is(Arrays.asList("chore: no body",
+        "fix: a fix\n\nBREAKING CHANGE: the fix changes the API")));
+    assertThat(cliMessages, is(messages));
+  }
+
+  @Test
+  public void shouldOnlyReadTheCommitsAfterAnIndexedCommit() throws Exception {
+    // Given : a repository with commits after a tag, and a commit already classified
+    commit("feat: first feature");
+    tag("0.1.0", true);
+    commit("fix: a fix");
+    GitHelper jgit = GitHelperFactory.getGitHelper(repo);
+    GitHelper cli = new CliGitHelper(repo);
+    String indexed = jgit.resolveCommit("HEAD");
+    commit("feat: a feature");
+
+    // When : reading the commits that are not reachable from the tag or the indexed commit
+    List<String> excluded = Arrays.asList("0.1.0", indexed);
+
+    // Then : only the new commit is read, by both backends
+    assertThat(indexed, is(cli.resolveCommit("HEAD~1")));
+    assertThat(jgit.resolveCommit("0.1.0"), is(cli.resolveCommit("0.1.0")));
+    assertThat(jgit.resolveCommit("unknown"), is(""));
+    assertThat(cli.resolveCommit("unknown"), is(""));
+    assertThat(jgit.isAncestor(indexed, jgit.resolveCommit("HEAD")), is(true));
+    assertThat(cli.isAncestor(indexed, cli.resolveCommit("HEAD")), is(true));
+    assertThat(jgit.isAncestor(jgit.resolveCommit("HEAD"), indexed), is(false));
+    assertThat(cli.isAncestor(cli.resolveCommit("HEAD"), indexed), is(false));
+    List<String> messages = new ArrayList<>();
+    jgit.walkCommitMessages(excluded, messages::add);
+    assertThat(messages, is(Collections.singletonList("feat: a feature")));
+    messages.clear();
+    cli.walkCommitMessages(excluded, messages::add);
+    assertThat(messages, is(Collections.singletonList("feat: a feature")));
+  }
+
+  @Test
+  public void shouldReadTheChangedPathsLikeTheCommandLine() throws Exception {
+    // Given : a repository with commits changing the files of several directories
+    commitFile("README.md", "docs: readme");
+    tag("0.1.0", true);
+    commitFile("api/pom.xml", "feat: api");
+    commitFile("web/app/package.json", "fix: web");
+    commit("chore: empty");
+
+    // When : reading the changed paths with JGit and with the command line
+    GitHelper jgit = GitHelperFactory.getGitHelper(repo);
+    GitHelper cli = new CliGitHelper(repo);
+    Map<String, List<String>> commits = walkPaths(jgit, Collections.singletonList("0.1.0"));
+
+    // Then : the paths of the commits after the tag are returned by both
+    assertThat(new ArrayList<>(commits.keySet()),
+        is(Arrays.asList("chore: empty", "fix: web", "feat: api")));
+    assertThat(commits.get("fix: web"), is(Collections.singletonList("web/app/package.json")));
+    assertThat(commits.get("chore: empty"), is(Collections.emptyList()));
+    assertThat(commits, is(walkPaths(cli, Collections.singletonList("0.1.0"))));
+    assertThat(walkPaths(jgit, Collections.emptyList()).get("docs: readme"),
+        is(Collections.singletonList("README.md")));
+  }
+
+  @Test
+  public void shouldReadThePathsRelativeToTheDirectory() throws Exception {
+    // Given : a repository with commits inside and outside of a directory
+    commitFile("README.md", "docs: readme");
+    commitFile("web/app/package.json", "fix: web");
+
+    // When : reading the changed paths from the directory
+    File web = new File(repo, "web");
+    GitHelper jgit = GitHelperFactory.getGitHelper(web);
+    Map<String, List<String>> commits = walkPaths(jgit, Collections.emptyList());
+
+    // Then : the paths are relative to the directory, like git log --relative
+    assertThat(commits.get("fix: web"), is(Collections.singletonList("app/package.json")));
+    assertThat(commits.get("docs: readme"), is(Collections.emptyList()));
+    assertThat(commits, is(walkPaths(new CliGitHelper(web), Collections.emptyList())));
+  }
+
+  @Test
+  public void shouldOnlyReadTheCommitsOfAPath() throws Exception {
+    // Given : a repository with commits inside and outside of a service
+    commitFile("services/billing/pom.xml", "feat: billing");
+    commitFile("services/users/pom.xml", "feat!: users");
+    commitFile("services/billing/src/Main.java", "fix: billing");
+    commit("chore: empty");
+
+    // When : reading the commits of the service with JGit and with the command line
+    GitHelper jgit = GitHelperFactory.getGitHelper(repo);
+    GitHelper cli = new CliGitHelper(repo);
+    List<String> paths = Collections.singletonList("services/billing");
+    List<String> jgitMessages = new ArrayList<>();
+    jgit.walkCommitMessages(Collections.emptyList(), paths, jgitMessages::add);
+    List<String> cliMessages = new ArrayList<>();
+    cli.walkCommitMessages(Collections.emptyList(), paths, cliMessages::add);
+
+    // Then : only the commits changing the service are read, by both backends
+    assertThat(jgitMessages, is(Arrays.asList("fix: billing", "feat: billing")));
+    assertThat(cliMessages, is(jgitMessages));
+  }
+
+  @Test
+  public void shouldOnlyReadThePathsOfTheProjects() throws Exception {
+    // Given : a repository with a commit changing two services, from a sub directory
+    commitFile("services/users/pom.xml", "feat: users");
+    repository.write("services/billing/pom.xml", "billing");
+    repository.git("add", "services/billing/pom.xml");
+    commitFile("services/users/README.md", "docs: both");
+    File services = new File(repo, "services");
+
+    // When : reading the changes of one service, relative to the sub directory
+    List<String> paths = Collections.singletonList("billing");
+    Map<String, List<String>> commits = new LinkedHashMap<>();
+    GitHelperFactory.getGitHelper(services).walkCommitPaths(Collections.emptyList(), paths,
+        (message, changed) -> commits.put(message, changed) == null);
+    Map<String, List<String>> cliCommits = new LinkedHashMap<>();
+    new CliGitHelper(services).walkCommitPaths(Collections.emptyList(), paths,
+        (message, changed) -> cliCommits.put(message, changed) == null);
+
+    // Then : only the commit and the paths of the service are read
+    assertThat(commits.keySet(), is(Collections.singleton("docs: both")));
+    assertThat(commits.get("docs: both"), is(Collections.singletonList("billing/pom.xml")));
+    assertThat(cliCommits, is(commits));
+  }
+
+  @Test
+  public void shouldReadTheFullMessagesWithThePaths() throws Exception {
+    // Given : commits with a body, one of them changing two files
+    commitFile("api/index.js", "feat: api\n\nBREAKING CHANGE: new api");
+    repository.write("web/index.html", "web");
+    repository.git("add", "web/index.html");
+    commitFile("api/README.md", "fix: both\n\nThe body.");
+
+    // When : reading the full messages and the paths
+    Map<String, List<String>> commits = new LinkedHashMap<>();
+    GitHelperFactory.getGitHelper(repo).walkCommitPaths(Collections.emptyList(),
+        Collections.emptyList(), true, (message, changed) -> commits.put(message, changed) == null);
+    Map<String, List<String>> cliCommits = new LinkedHashMap<>();
+    new CliGitHelper(repo).walkCommitPaths(Collections.emptyList(), Collections.emptyList(), true,
+        (message, changed) -> cliCommits.put(message, changed) == null);
+
+    // Then : the bodies are read with the paths of each commit
+    assertThat(commits.get("feat: api\n\nBREAKING CHANGE: new api"),
+        is(Collections.singletonList("api/index.js")));
+    assertThat(commits.get("fix: both\n\nThe body."),
+        is(Arrays.asList("api/README.md", "web/index.html")));
+    assertThat(cliCommits, is(commits));
+  }
+
+  @Test
+  public void shouldHandleARepositoryWithoutTags() throws Exception {
+    // Given : a repository without commit
+
+    // When : reading the latest tag and the commits
+    GitHelper jgit = GitHelperFactory.getGitHelper(repo);
+
+    // Then : nothing is found
+    assertThat(jgit.describeLatestTag(), is(""));
+    assertThat(jgit.listTags(), is(Collections.emptyList()));
+    assertThat(jgit.getCommitMessages(""), is(Collections.emptyList()));
+  }
+}
@@ -0,0 +1,163 @@
+package io.jenkins.plugins.conventionalcommits.git;
+
+import static io.jenkins.plugins.conventionalcommits.process.ProcessUtil.execute;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.jenkins.plugins.conventionalcommits.TemporaryGitRepository;
+import io.jenkins.plugins.conventionalcommits.utils.LogUtils;
+import io.jenkins.plugins.conventionalcommits.utils.SemverTagResolver;
+import io.jenkins.plugins.conventionalcommits.utils.TagsHelper;
+import java.io.File;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ShallowHistoryTest {
+
+  @Rule
+  public TemporaryGitRepository repository = new TemporaryGitRepository();
+
+  private final SemverTagResolver resolver = new SemverTagResolver("v", null);
+
+  private File origin;
+
+  @Before
+  public void setup() {
+    origin = repository.getDirectory();
+  }
+
+  private void commits(int count) throws Exception {
+    for (int i = 0; i < count; i++) {
+      repository.commit("fix: commit " + i);
+    }
+  }
+
+  private File shallowClone() throws Exception {
+    File clone = new File(repository.getRoot(), "clone");
+    execute(repository.getRoot(), "git", "clone", "-q", "--depth", "1", "--no-tags",
+        "file://" + origin.getAbsolutePath(), clone.getPath());
+    return clone;
+  }
+
+  private static int historySize(File repo) throws Exception {
+    return Integer.parseInt(execute(repo, "git", "rev-list", "--count", "HEAD").trim());
+  }
+
+  @Test
+  public void shouldDeepenUntilTheVersionTag() throws Exception {
+    // Given : a shallow clone of a history with a version tag 80 commits before HEAD
+    commits(200);
+    repository.git("tag", "-a", "v1.0.0", "-m", "v1.0.0");
+    repository.git("tag", "-a", "other", "-m", "other");
+    commits(80);
+    File clone = shallowClone();
+    ShallowHistory history = new ShallowHistory(clone, origin.getPath(), LogUtils.get());
+
+    // When : deepening the clone from the origin
+    String reached = history.deepen(resolver::matches, true, null,
+        () -> TagsHelper.selectLatestTag(clone, false, resolver));
+
+    // Then : the tag is reached by steps of 32 and 64 commits, the clone is still shallow
+    assertThat(reached, is("v1.0.0"));
+    assertThat(historySize(clone), is(97));
+    assertThat(history.isShallow(), is(true));
+    assertThat(new CliGitHelper(clone).describeLatestTag("v*"), is("v1.0.0"));
+  }
+
+  @Test
+  public void shouldDeepenFromABundle() throws Exception {
+    // Given : a shallow clone and a bundle of the history, with a lightweight version tag
+    commits(5);
+    repository.git("tag", "v1.0.0");
+    repository.git("tag", "not-a-version");
+    commits(10);
+    File clone = shallowClone();
+    File bundle = new File(repository.getRoot(), "history.bundle");
+    execute(origin, "git", "bundle", "create", bundle.getPath(), "--all");
+    ShallowHistory history = new ShallowHistory(clone, bundle.getPath(), LogUtils.get());
+
+    // When : deepening the clone from the bundle, with the lightweight tags
+    String reached = history.deepen(resolver::isVersionTag, false, resolver.versionOrder(),
+        () -> TagsHelper.selectLatestTag(clone, true, resolver));
+
+    // Then : the bundle is unpacked in the git directory and the tag is reached
+    assertThat(reached, is("v1.0.0"));
+    assertThat(new File(clone, ".git/" + ShallowHistory.BUNDLE_MIRROR).isDirectory(), is(true));
+    assertThat(new SemverTagResolver("v", null).resolve(new CliGitHelper(clone)), is("v1.0.0"));
+  }
+
+  @Test
+  public void shouldFetchTheWholeHistoryWithoutVersionTag() throws Exception {
+    // Given : a shallow clone of a history without version tag
+    commits(40);
+    repository.git("tag", "-a", "other", "-m", "other");
+    File clone = shallowClone();
+    ShallowHistory history = new ShallowHistory(clone, origin.getPath(), LogUtils.get());
+
+    // When : deepening the clone
+    String reached = history.deepen(resolver::matches, true, null,
+        () -> TagsHelper.selectLatestTag(clone, false, resolver));
+
+    // Then : all the commits are fetched
+    assertThat(reached, is(""));
+    assertThat(history.isShallow(), is(false));
+    assertThat(historySize(clone), is(40));
+  }
+
+  @Test
+  public void shouldNotChangeAFullClone() throws Exception {
+    // Given : a repository with its whole history
+    commits(3);
+    ShallowHistory history = new ShallowHistory(origin, "missing", LogUtils.get());
+
+    // When : deepening it from a source which does not exist
+    String reached = history.deepen(resolver::matches, true, null,
+        () -> TagsHelper.selectLatestTag(origin, false, resolver));
+
+    // Then : nothing is fetched
+    assertThat(reached, is(""));
+    assertThat(historySize(origin), is(3));
+  }
+
+  @Test
+  public void shouldDeepenUntilTheTagMatchingTheGlob() throws Exception {
+    // Given : a shallow clone with a version tag matching a bracket glob behind another one
+    commits(5);
+    repository.git("tag", "-a", "v2.0.0", "-m", "v2.0.0");
+    commits(40);
+    repository.git("tag", "-a", "v1.0.0", "-m", "v1.0.0");
+    commits(5);
+    File clone = shallowClone();
+    ShallowHistory history = new ShallowHistory(clone, origin.getPath(), LogUtils.get());
+    SemverTagResolver glob = new SemverTagResolver("v", "v[2-9]*");
+
+    // When : deepening the clone
+    String reached = history.deepen(glob::matches, true, null,
+        () -> TagsHelper.selectLatestTag(clone, false, glob));
+
+    // Then : the history reaches the tag matching the glob
+    assertThat(reached, is("v2.0.0"));
+    assertThat(new CliGitHelper(clone).describeLatestTag("v[2-9]*"), is("v2.0.0"));
+  }
+
+  @Test
+  public void shouldDeepenUntilTheHighestVersionWithTheLightweightTags() throws Exception {
+    // Given : a shallow clone where a lower version is nearer to HEAD than the highest one
+    commits(5);
+    repository.git("tag", "v2.0.0");
+    commits(40);
+    repository.git("tag", "v1.5.1");
+    commits(5);
+    File clone = shallowClone();
+    ShallowHistory history = new ShallowHistory(clone, origin.getPath(), LogUtils.get());
+
+    // When : deepening the clone, the highest version being selected
+    String reached = history.deepen(resolver::isVersionTag, false, resolver.versionOrder(),
+        () -> TagsHelper.selectLatestTag(clone, true, resolver));
+
+    // Then : the deepening does not stop at the nearer lower version
+    assertThat(reached, is("v2.0.0"));
+    assertThat(resolver.resolve(new CliGitHelper(clone)), is("v2.0.0"));
+  }
+}
@@ -0,0 +1,42 @@
+package io.jenkins.plugins.conventionalcommits.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import hudson.remoting.VirtualChannel;
+import java.io.File;
+import java.io.IOException;
+import jenkins.MasterToSlaveFileCallable;
+import org.junit.Test;
+
+public class MeasuredCallableTest {
+
+  @Test
+  public void shouldKeepThePhasesOfAFailedStep() throws Exception {
+    // Given : a step failing after a first phase
+    MeasuredCallable<String> callable = new MeasuredCallable<>(
+        new MasterToSlaveFileCallable<String>() {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          public String invoke(File dir, VirtualChannel channel) throws IOException {
+            StepMetrics metrics = StepMetrics.current();
+            metrics.increment(StepMetrics.TAG_COUNT);
+            try (StepMetrics.Split split = metrics.start(StepMetrics.LOG)) {
+              throw new IOException("git failed");
+            }
+          }
+        });
+
+    // When : running it
+    Measurement<String> measurement = callable.invoke(new File("."), null);
+
+    // Then : the phases run until the failure are measured, and the failure is thrown after
+    assertThat(measurement.isFailed(), is(true));
+    assertThat(measurement.getTimers().containsKey(StepMetrics.LOG), is(true));
+    assertThat(measurement.getCounters().get(StepMetrics.TAG_COUNT), is(1L));
+    IOException exp = assertThrows(IOException.class, measurement::getValue);
+    assertThat(exp.getMessage(), is("git failed"));
+  }
+}
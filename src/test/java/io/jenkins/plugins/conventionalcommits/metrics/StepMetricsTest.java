@@ -0,0 +1,95 @@
+package io.jenkins.plugins.conventionalcommits.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.jenkins.plugins.conventionalcommits.ConventionalCommits;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+
+public class StepMetricsTest {
+
+  @Test
+  public void shouldTimeTheNestedPhasesApart() throws Exception {
+    // Given : a collector attached to the thread
+    StepMetrics metrics = new StepMetrics();
+
+    // When : a phase runs inside another one
+    try (StepMetrics.Scope scope = metrics.attach()) {
+      try (StepMetrics.Split tags = StepMetrics.current().start(StepMetrics.TAGS)) {
+        try (StepMetrics.Split process =
+            StepMetrics.current().start(StepMetrics.PROCESS + ".git")) {
+          Thread.sleep(50);
+        }
+      }
+    }
+
+    // Then : the inner phase is not counted in the outer one
+    long tags = metrics.getTimers().get(StepMetrics.TAGS);
+    long process = metrics.getTimers().get(StepMetrics.PROCESS + ".git");
+    assertThat(process >= 50_000_000L, is(true));
+    assertThat(tags < 50_000_000L, is(true));
+  }
+
+  @Test
+  public void shouldCountTheClassifiedCommits() {
+    // Given : a collector attached to the thread
+    StepMetrics metrics = new StepMetrics();
+
+    // When : commits are classified in a timed loop, and counted once
+    try (StepMetrics.Scope scope = metrics.attach()) {
+      ConventionalCommits.Accumulator accumulator = new ConventionalCommits().newAccumulator();
+      long count = 0;
+      try (StepMetrics.Split log = StepMetrics.current().start(StepMetrics.LOG)) {
+        for (String commit : Arrays.asList("fix: a fix", "feat: a feature")) {
+          count++;
+          accumulator.test(commit);
+        }
+      }
+      StepMetrics.current().add(StepMetrics.COMMITS, count);
+    }
+
+    // Then : the commits are counted, and the loop timed
+    assertThat(metrics.getCounters().get(StepMetrics.COMMITS), is(2L));
+    assertThat(metrics.getTimers().keySet(), is(Collections.singleton(StepMetrics.LOG)));
+  }
+
+  @Test
+  public void shouldFollowTheTasksOfTheStep() throws Exception {
+    // Given : a collector and a thread pool
+    StepMetrics metrics = new StepMetrics();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    // When : a task of the step runs on the pool
+    try {
+      executor.submit(metrics.wrap(() -> {
+        StepMetrics.current().increment(StepMetrics.PROCESSES);
+        return null;
+      })).get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Then : it is measured by the collector of the step
+    assertThat(metrics.getCounters(), is(Collections.singletonMap(StepMetrics.PROCESSES, 1L)));
+  }
+
+  @Test
+  public void shouldIgnoreTheMetricsWithoutCollector() {
+    // Given : no collector attached to the thread
+    StepMetrics metrics = StepMetrics.current();
+
+    // When : measuring
+    metrics.increment(StepMetrics.COMMITS);
+    metrics.start(StepMetrics.LOG).close();
+
+    // Then : nothing is kept
+    assertThat(StepMetrics.current(), is(sameInstance(metrics)));
+    assertThat(metrics.getCounters().isEmpty(), is(true));
+    assertThat(metrics.getTimers().isEmpty(), is(true));
+  }
+}
@@ -0,0 +1,40 @@
+package io.jenkins.plugins.conventionalcommits.metrics;
+
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class StepTraceActionTest {
+
+  @Test
+  public void shouldShowTheLongestPhasesFirst() throws Exception {
+    // Given : the metrics of a step
+    StepMetrics metrics = new StepMetrics();
+    try (StepMetrics.Scope scope = metrics.attach()) {
+      try (StepMetrics.Split tags = metrics.start(StepMetrics.TAGS)) {
+        metrics.increment(StepMetrics.TAG_COUNT);
+      }
+      try (StepMetrics.Split log = metrics.start(StepMetrics.LOG)) {
+        Thread.sleep(20);
+      }
+      metrics.add(StepMetrics.COMMITS, 3);
+    }
+
+    // When : adding them to the trace of the build
+    StepTraceAction.Entry entry =
+        new StepTraceAction.Entry("nextVersion", new Measurement<>("1.0.0", 25_000_000L, metrics));
+
+    // Then : the phases are sorted by time, and the times in milliseconds
+    assertThat(entry.getStep(), is("nextVersion"));
+    assertThat(entry.getDuration(), is("25.0 ms"));
+    assertThat(new ArrayList<>(entry.getTimers().keySet()),
+        is(Arrays.asList(StepMetrics.LOG, StepMetrics.TAGS)));
+    assertThat(entry.getTimers().get(StepMetrics.LOG), endsWith(" ms"));
+    assertThat(entry.getCounters().get(StepMetrics.COMMITS), is(3L));
+    assertThat(entry.getCounters().get(StepMetrics.TAG_COUNT), is(1L));
+  }
+}
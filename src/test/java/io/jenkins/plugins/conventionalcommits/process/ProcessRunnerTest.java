@@ -0,0 +1,135 @@
+package io.jenkins.plugins.conventionalcommits.process;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProcessRunnerTest {
+  @Rule
+  public TemporaryFolder rootFolder = new TemporaryFolder();
+
+  private File dir;
+
+  @Before
+  public void setup() throws Exception {
+    dir = rootFolder.newFolder("foo");
+  }
+
+  @Test
+  public void shouldDrainBothStreamsOfAVerboseCommand() throws Exception {
+    // Given : A command writing much more than a pipe buffer on stdout and stderr
+    String script = "for i in $(seq 1 20000); do echo \"out line $i\"; echo \"err line $i\" >&2; "
+        + "done";
+
+    // When : Running the command
+    ProcessRunner.Result result = new ProcessRunner(60, TimeUnit.SECONDS, 1024 * 1024)
+        .run(dir, Arrays.asList("sh", "-c", script));
+
+    // Then : The command did not block and both outputs were read
+    assertThat(result.getExitCode(), is(0));
+    assertThat(result.getStdout(), containsString("out line 20000"));
+    assertThat(result.getStderr(), containsString("err line 20000"));
+  }
+
+  @Test
+  public void shouldStreamTheRecordsOfACommand() throws Exception {
+    // Given : A command writing records on several lines, separated by NUL characters
+    String script = "printf 'feat: one\\n\\nbody\\0fix: two\\0last'";
+    List<String> records = new ArrayList<>();
+
+    // When : Streaming the records
+    ProcessRunner.Result result = new ProcessRunner(60, TimeUnit.SECONDS, 1024)
+        .stream(dir, records::add, Arrays.asList("sh", "-c", script), '\u0000');
+
+    // Then : Each record is read with its lines, the last one has no delimiter
+    assertThat(result.getExitCode(), is(0));
+    assertThat(records, is(Arrays.asList("feat: one\n\nbody", "fix: two", "last")));
+  }
+
+  @Test
+  public void shouldStreamTheLinesLikeReadLine() throws Exception {
+    // Given : A command ending its lines with line feeds, carriage returns or both
+    String script = "printf 'one\\r\\ntwo\\rthree\\n\\nfour'";
+    List<String> lines = new ArrayList<>();
+
+    // When : Streaming the lines
+    new ProcessRunner(60, TimeUnit.SECONDS, 1024)
+        .stream(dir, lines::add, Arrays.asList("sh", "-c", script));
+
+    // Then : The lines are split like BufferedReader.readLine does
+    assertThat(lines, is(Arrays.asList("one", "two", "three", "", "four")));
+  }
+
+  @Test
+  public void shouldFailWhenAStreamedLineIsLargerThanTheCap() {
+    // Given : A runner with a small output cap
+    ProcessRunner runner = new ProcessRunner(60, TimeUnit.SECONDS, 1024);
+    List<String> lines = new ArrayList<>();
+
+    // When : Streaming a command printing a huge line after a small one
+    IOException exp = assertThrows(IOException.class, () -> runner.stream(dir, lines::add,
+        Arrays.asList("sh", "-c", "echo small; head -c 100000 /dev/zero | tr '\\0' a")));
+
+    // Then : The command is stopped instead of filling the heap
+    assertThat(exp.getMessage(), containsString("a line of the output"));
+    assertThat(exp.getMessage(), containsString("larger than 1024 characters"));
+    assertThat(lines, is(Arrays.asList("small")));
+  }
+
+  @Test
+  public void shouldFailWhenTheOutputIsLargerThanTheCap() {
+    // Given : A runner with a small output cap
+    ProcessRunner runner = new ProcessRunner(60, TimeUnit.SECONDS, 1024);
+
+    // When : Running a command with a large output
+    IOException exp = assertThrows(IOException.class,
+        () -> runner.run(dir, Arrays.asList("sh", "-c", "seq 1 100000")));
+
+    // Then : The command is stopped instead of filling the heap
+    assertThat(exp.getMessage(), containsString("larger than 1024 bytes"));
+  }
+
+  @Test
+  public void shouldKillACommandThatTimesOut() {
+    // Given : A runner with a short timeout
+    ProcessRunner runner = new ProcessRunner(500, TimeUnit.MILLISECONDS, 1024);
+    long start = System.currentTimeMillis();
+
+    // When : Running a command longer than the timeout
+    IOException exp = assertThrows(IOException.class,
+        () -> runner.run(dir, Arrays.asList("sleep", "60")));
+
+    // Then : The command was killed
+    assertThat(exp.getMessage(), containsString("timed out"));
+    assertThat(System.currentTimeMillis() - start < 30000, is(true));
+  }
+
+  @Test
+  public void shouldKillAStreamedCommandThatTimesOut() {
+    // Given : A runner with a short timeout
+    ProcessRunner runner = new ProcessRunner(500, TimeUnit.MILLISECONDS, 1024);
+    AtomicInteger lines = new AtomicInteger();
+
+    // When : Streaming a command longer than the timeout
+    IOException exp = assertThrows(IOException.class,
+        () -> runner.stream(dir, line -> lines.incrementAndGet() > 0,
+            Arrays.asList("sh", "-c", "echo first; exec sleep 60")));
+
+    // Then : The lines read before the timeout were consumed and the command was killed
+    assertThat(exp.getMessage(), containsString("timed out"));
+    assertThat(lines.get(), is(1));
+  }
+}
@@ -2,6 +2,11 @@ package io.jenkins.plugins.conventionalcommits.process;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import org.hamcrest.CoreMatchers;
 import org.junit.Rule;
 import org.junit.Test;
@@ -22,4 +27,68 @@ public class ProcessUtilTest {
     assertThat(result, CoreMatchers.containsString("git version"));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void shouldStreamTheOutputOfACommand() throws Exception {
+    // Given : A command with several output lines
+    List<String> lines = new ArrayList<>();
+
+    // When : Call the stream command and stop after the first line
+    ProcessUtil.stream(rootFolder.newFolder("foo"), line -> !lines.add(line),
+        "git", "--help");
+
+    // Then : Only the first line was consumed
+    assertThat(lines.size(), CoreMatchers.is(1));
+  }
+
+  @Test
+  public void shouldKillTheCommandWhenInterrupted() throws Exception {
+    // Given : A long running command
+    File dir = rootFolder.newFolder("foo");
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread thread = new Thread(() -> {
+      try {
+        new DefaultProcessHelper().runProcessBuilder(dir, Arrays.asList("sleep", "60"));
+      } catch (Exception exp) {
+        failure.set(exp);
+      }
+    });
+
+    // When : The thread running the command is interrupted, like when the step is stopped
+    long start = System.currentTimeMillis();
+    thread.start();
+    Thread.sleep(500);
+    thread.interrupt();
+    thread.join(10000);
+
+    // Then : The command was killed without waiting for its end
+    assertThat(thread.isAlive(), CoreMatchers.is(false));
+    assertThat(failure.get(), CoreMatchers.instanceOf(InterruptedException.class));
+    assertThat(System.currentTimeMillis() - start < 10000, CoreMatchers.is(true));
+  }
+
+  @Test
+  public void shouldKillAStreamedCommandWhenInterrupted() throws Exception {
+    // Given : A streamed command running long without any output
+    File dir = rootFolder.newFolder("foo");
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread thread = new Thread(() -> {
+      try {
+        ProcessUtil.stream(dir, line -> true, "sleep", "60");
+      } catch (Exception exp) {
+        failure.set(exp);
+      }
+    });
+
+    // When : The thread reading its output is interrupted, like when the step is stopped
+    long start = System.currentTimeMillis();
+    thread.start();
+    Thread.sleep(500);
+    thread.interrupt();
+    thread.join(10000);
+
+    // Then : The command was killed without waiting for its output
+    assertThat(thread.isAlive(), CoreMatchers.is(false));
+    assertThat(failure.get(), CoreMatchers.instanceOf(InterruptedException.class));
+    assertThat(System.currentTimeMillis() - start < 10000, CoreMatchers.is(true));
+  }
+}
@@ -16,6 +16,7 @@ import java.util.List;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -30,6 +31,36 @@ public class CurrentVersionTest {
   @Test
   public void testMavenProjectVersion() throws IOException, InterruptedException {
 
+    File mavenDir = rootFolder.newFolder("SampleMavenProject");
+    File pom = rootFolder.newFile(mavenDir.getName() + File.separator + "pom.xml");
+
+    String pomContent =
+        "<project>\n"
+            + " <modelVersion>4.0.0</modelVersion>\n"
+            + " <groupId>com.test.app</groupId>\n"
+            + " <artifactId>test-app</artifactId>\n"
+            + " <version>1.0.0</version>\n"
+            + "</project>\n";
+
+    FileWriter pomWriter = new FileWriter(pom);
+    pomWriter.write(pomContent);
+    pomWriter.close();
+
+    // the pom.xml is read directly, mvn is not called
+    Version actualCurrentVersion = Version.valueOf("1.0.0");
+    CurrentVersion currentVersion = new CurrentVersion();
+    currentVersion.setProcessHelper(processHelper);
+
+    Version testCurrentVersion = currentVersion.getCurrentVersion(mavenDir, "", mockedLogger);
+
+    assertThat(testCurrentVersion, is(notNullValue()));
+    assertThat(actualCurrentVersion, is(testCurrentVersion));
+    verifyNoInteractions(processHelper);
+  }
+
+  @Test
+  public void testMavenProjectVersionResolvedByMaven() throws IOException, InterruptedException {
+
     String os = System.getProperty("os.name");
     String commandName = "mvn";
 
@@ -44,12 +75,13 @@ public class CurrentVersionTest {
     File mavenDir = rootFolder.newFolder("SampleMavenProject");
     File pom = rootFolder.newFile(mavenDir.getName() + File.separator + "pom.xml");
 
+    // the version is set by a profile, it can only be read by Maven
     String pomContent =
         "<project>\n"
             + " <modelVersion>4.0.0</modelVersion>\n"
             + " <groupId>com.test.app</groupId>\n"
             + " <artifactId>test-app</artifactId>\n"
-            + " <version>1.0.0</version>\n"
+            + " <version>${computed.version}</version>\n"
             + "</project>\n";
 
     FileWriter pomWriter = new FileWriter(pom);
@@ -72,6 +104,39 @@ public class CurrentVersionTest {
   @Test
   public void testGradleProjectVersion() throws IOException, InterruptedException {
 
+    File gradleDir = rootFolder.newFolder("SampleGradleProject");
+    File buildGradle = rootFolder.newFile(gradleDir.getName() + File.separator + "build.gradle");
+
+    String buildGradleContent =
+        "group 'com.sample.gradle'\n"
+            + "version = '1.0.0'\n"
+            + "\n"
+            + "apply plugin: 'java'\n"
+            + "\n"
+            + "sourceCompatibility = 1.8\n"
+            + "\n"
+            + "sourceCompatibility = 1.8\n"
+            + "targetCompatibility = 1.8";
+
+    FileWriter buildGradleWriter = new FileWriter(buildGradle);
+    buildGradleWriter.write(buildGradleContent);
+    buildGradleWriter.close();
+
+    // the build.gradle is read directly, gradle is not called
+    Version actualCurrentVersion = Version.valueOf("1.0.0");
+    CurrentVersion currentVersion = new CurrentVersion();
+    currentVersion.setProcessHelper(processHelper);
+
+    Version testCurrentVersion = currentVersion.getCurrentVersion(gradleDir, "", mockedLogger);
+
+    assertThat(testCurrentVersion, is(notNullValue()));
+    assertThat(actualCurrentVersion, is(testCurrentVersion));
+    verifyNoInteractions(processHelper);
+  }
+
+  @Test
+  public void testGradleProjectVersionEvaluatedByGradle() throws IOException, InterruptedException {
+
     String os = System.getProperty("os.name");
     String commandName = "gradle";
 
@@ -99,11 +164,12 @@ public class CurrentVersionTest {
     buildGradleWriter.close();
 
     assertThat(processHelper, is(notNullValue()));
-    when(processHelper.runProcessBuilder(gradleDir, command)).thenReturn("version: 1.0.0");
+    when(processHelper.runProcessBuilder(gradleDir, command)).thenReturn("version: 1.0.1");
 
-    Version actualCurrentVersion = Version.valueOf("1.0.0");
+    Version actualCurrentVersion = Version.valueOf("1.0.1");
     CurrentVersion currentVersion = new CurrentVersion();
     currentVersion.setProcessHelper(processHelper);
+    currentVersion.setGradleMode(GradleProjectType.Mode.CLI);
 
     Version testCurrentVersion = currentVersion.getCurrentVersion(gradleDir, "", mockedLogger);
 
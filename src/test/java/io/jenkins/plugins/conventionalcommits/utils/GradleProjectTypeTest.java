@@ -4,6 +4,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.github.zafarkhaja.semver.Version;
@@ -78,15 +79,32 @@ public class GradleProjectTypeTest {
     // Given a gradle project in 1.0.0 version
     File gradleDir = rootFolder.newFolder("SampleGradleProject");
     createBuildGradleFiles(gradleDir, buildGradleWithVersionContent);
-    // Set mock for npm version command
-    when(mockProcessHelper.runProcessBuilder(any(), any())).thenReturn("foo: foo\nversion: 1.0.0\nbar: bar");
 
     // When asking to get the current version
     GradleProjectType gradleProjectType = new GradleProjectType();
     Version version = gradleProjectType.getCurrentVersion(gradleDir, mockProcessHelper);
 
-    // Then answer 1.0.0
+    // Then answer 1.0.0, read from gradle.properties without running gradle
     assertThat(version, equalTo(Version.valueOf("1.0.0")));
+    verifyNoInteractions(mockProcessHelper);
+  }
+
+  @Test
+  public void shouldGetCurrentVersionWithGradle() throws Exception {
+    // Given a gradle project in 1.0.0 version
+    File gradleDir = rootFolder.newFolder("SampleGradleProject");
+    createBuildGradleFiles(gradleDir, buildGradleWithVersionContent);
+    // Set mock for gradle properties command
+    when(mockProcessHelper.runProcessBuilder(any(), any()))
+        .thenReturn("foo: foo\nversion: 1.1.0\nbar: bar");
+
+    // When asking to get the current version evaluated by gradle
+    GradleProjectType gradleProjectType = new GradleProjectType();
+    Version version = gradleProjectType.getCurrentVersion(gradleDir, mockProcessHelper,
+        GradleProjectType.Mode.CLI);
+
+    // Then answer the version computed by gradle
+    assertThat(version, equalTo(Version.valueOf("1.1.0")));
   }
 
   @Test
@@ -0,0 +1,57 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GradleToolingClientTest {
+
+  @Rule public TemporaryFolder rootFolder = new TemporaryFolder();
+
+  private static boolean isGradleInstalled() {
+    String path = System.getenv("PATH");
+    if (path == null) {
+      return false;
+    }
+    for (String dir : path.split(File.pathSeparator)) {
+      if (new File(dir, "gradle").isFile() || new File(dir, "gradle.bat").isFile()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void write(File file, String content) throws IOException {
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void shouldReadTheVersionEvaluatedByGradle() throws Exception {
+    // Given : a Gradle project computing its version, and Gradle in the path
+    assumeTrue(isGradleInstalled());
+    File dir = rootFolder.newFolder("project");
+    write(new File(dir, "settings.gradle"), "rootProject.name = 'sample'\n");
+    File build = new File(dir, "build.gradle");
+    write(build, "version = ['1', '2', '0'].join('.')\n");
+
+    // When : reading the version twice, then after a change of the build file
+    String first = GradleToolingClient.getVersion(dir);
+    String second = GradleToolingClient.getVersion(dir);
+    write(build, "version = ['1', '3', '0'].join('.') // changed\n");
+    String changed = GradleToolingClient.getVersion(dir);
+
+    // Then : the version is computed by Gradle, and read again only after the change
+    assertThat(first, is("1.2.0"));
+    assertThat(second, is("1.2.0"));
+    assertThat(changed, is("1.3.0"));
+    GradleToolingClient.closeIdleConnections();
+  }
+}
@@ -0,0 +1,109 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GradleVersionReaderTest {
+
+  @Rule public TemporaryFolder rootFolder = new TemporaryFolder();
+
+  private static void write(File file, String content) throws IOException {
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void shouldReadTheVersionOfTheBuildScript() throws Exception {
+    // Given : a build.gradle overriding gradle.properties, with a dependency version and comments
+    File dir = rootFolder.newFolder("project");
+    write(new File(dir, "gradle.properties"), "version=0.0.1\n");
+    write(new File(dir, "build.gradle"), "plugins { id 'java' }\n"
+        + "// version = '9.9.9'\n"
+        + "group 'com.sample.gradle'\n"
+        + "version '1.2.0'\n"
+        + "dependencies {\n"
+        + "  implementation group: 'x', name: 'y', version: '3.0.0'\n"
+        + "}\n");
+
+    // When : reading the version
+    String version = new GradleVersionReader().readVersion(dir);
+
+    // Then : the version of the project is read
+    assertThat(version, is("1.2.0"));
+  }
+
+  @Test
+  public void shouldResolveThePropertiesOfAKotlinScript() throws Exception {
+    // Given : a build.gradle.kts with a version made of properties
+    File dir = rootFolder.newFolder("project");
+    write(new File(dir, "gradle.properties"), "baseVersion = 2.1.0\nsuffix=-SNAPSHOT\n");
+    write(new File(dir, "build.gradle.kts"), "val suffix: String by project\n"
+        + "val base = property(\"baseVersion\") as String\n"
+        + "version = \"${base}$suffix\"\n");
+
+    // When : reading the version
+    String version = new GradleVersionReader().readVersion(dir);
+
+    // Then : the properties are replaced
+    assertThat(version, is("2.1.0-SNAPSHOT"));
+  }
+
+  @Test
+  public void shouldReadTheVersionOfTheRootProject() throws Exception {
+    // Given : a subproject without version, included by the settings of the root project
+    File dir = rootFolder.newFolder("project");
+    write(new File(dir, "settings.gradle"), "rootProject.name = 'app'\n"
+        + "include 'core', ':libs:api'\n");
+    write(new File(dir, "gradle.properties"), "appVersion=3.0.0\n");
+    write(new File(dir, "build.gradle"), "allprojects {\n"
+        + "  version = appVersion\n"
+        + "}\n");
+    File module = new File(dir, "libs/api");
+    write(new File(module, "build.gradle"), "dependencies {}\n");
+
+    // When : reading the version of the subproject
+    String version = new GradleVersionReader().readVersion(module);
+
+    // Then : the version of the allprojects block is used
+    assertThat(version, is("3.0.0"));
+  }
+
+  @Test
+  public void shouldNotResolveComputedVersions() throws Exception {
+    // Given : a build.gradle computing its version
+    File dir = rootFolder.newFolder("project");
+    write(new File(dir, "gradle.properties"), "version=1.0.0\n");
+    write(new File(dir, "build.gradle"), "version = gitVersion()\n");
+
+    // When : reading the version
+    String version = new GradleVersionReader().readVersion(dir);
+
+    // Then : Gradle is needed
+    assertThat(version, is(nullValue()));
+  }
+
+  @Test
+  public void shouldNotResolveAVersionAssignedInACondition() throws Exception {
+    // Given : a build.gradle changing its version in a conditional block
+    File dir = rootFolder.newFolder("project");
+    write(new File(dir, "build.gradle"), "version = '1.0.0'\n"
+        + "if (!project.hasProperty('release')) {\n"
+        + "  version += '-SNAPSHOT'\n"
+        + "}\n");
+
+    // When : reading the version
+    String version = new GradleVersionReader().readVersion(dir);
+
+    // Then : Gradle is needed
+    assertThat(version, is(nullValue()));
+  }
+}
@@ -0,0 +1,120 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import hudson.util.StreamTaskListener;
+import io.jenkins.plugins.conventionalcommits.ConventionalCommits;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogUtilsTest {
+
+  private final Logger logger = Logger.getLogger(ConventionalCommits.class.getName());
+  private Level level;
+
+  @Before
+  public void setup() {
+    level = logger.getLevel();
+  }
+
+  @After
+  public void tearDown() {
+    logger.setLevel(level);
+  }
+
+  @Test
+  public void shouldWriteToTheBuildConsole() {
+    // Given : a build listener
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    LogUtils log = LogUtils.of(new StreamTaskListener(out, StandardCharsets.UTF_8));
+
+    // When : writing a message
+    log.console(() -> "a message for the build");
+
+    // Then : it is in the console
+    assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8),
+        containsString("a message for the build"));
+  }
+
+  @Test
+  public void shouldNotBuildTheMessagesThatAreNotLogged() {
+    // Given : the debug messages disabled, and no build console
+    logger.setLevel(Level.INFO);
+    AtomicInteger built = new AtomicInteger();
+
+    // When : logging debug messages
+    LogUtils.get().fine(() -> "debug " + built.incrementAndGet());
+    LogUtils.of(null).console(() -> "console " + built.incrementAndGet());
+
+    // Then : the messages are not built
+    assertThat(built.get(), is(0));
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void shouldNotChangeTheLoggerConfiguration() {
+    // Given : the logger of the plugin
+    logger.setLevel(Level.WARNING);
+    int handlers = logger.getHandlers().length;
+
+    // When : logging
+    LogUtils.get().fine("a debug message");
+    LogUtils.get().log(Level.INFO, Level.INFO, Level.FINE, Level.FINE, true, "message");
+
+    // Then : its level and handlers are kept
+    assertThat(logger.getLevel(), is(Level.WARNING));
+    assertThat(logger.getHandlers().length, is(handlers));
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void shouldLogTheWarningsAtTheirLevel() {
+    // Given : a build listener, and a handler of the logger of the plugin
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    LogUtils log = LogUtils.of(new StreamTaskListener(out, StandardCharsets.UTF_8));
+    List<LogRecord> records = new ArrayList<>();
+    Handler handler = new Handler() {
+      @Override
+      public void publish(LogRecord record) {
+        records.add(record);
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    logger.setLevel(Level.INFO);
+    logger.addHandler(handler);
+
+    // When : logging a warning and an information
+    try {
+      log.warning(() -> "a warning");
+      new LogUtils().info("an information");
+    } finally {
+      logger.removeHandler(handler);
+    }
+
+    // Then : they are logged at their level, the warning in the console too
+    assertThat(records.size(), is(2));
+    assertThat(records.get(0).getLevel(), is(Level.WARNING));
+    assertThat(records.get(1).getLevel(), is(Level.INFO));
+    assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8),
+        containsString("a warning"));
+  }
+}
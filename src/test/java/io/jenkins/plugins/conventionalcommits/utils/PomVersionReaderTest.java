@@ -0,0 +1,123 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PomVersionReaderTest {
+
+  @Rule public TemporaryFolder rootFolder = new TemporaryFolder();
+
+  private static void write(File file, String content) throws IOException {
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void shouldReadTheVersion() throws Exception {
+    // Given : a pom with a version after the dependencies
+    File dir = rootFolder.newFolder("project");
+    write(new File(dir, "pom.xml"), "<?xml version=\"1.0\"?>\n"
+        + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n"
+        + "  <modelVersion>4.0.0</modelVersion>\n"
+        + "  <groupId>com.test.app</groupId>\n"
+        + "  <artifactId>test-app</artifactId>\n"
+        + "  <dependencies><dependency><version>9.9.9</version></dependency></dependencies>\n"
+        + "  <version>1.0.0</version>\n"
+        + "</project>\n");
+
+    // When : reading the version
+    String version = new PomVersionReader().readVersion(dir);
+
+    // Then : the version of the project is read
+    assertThat(version, is("1.0.0"));
+  }
+
+  @Test
+  public void shouldResolveCiFriendlyVersions() throws Exception {
+    // Given : a pom with a version made of properties, one defined in .mvn/maven.config
+    File dir = rootFolder.newFolder("project");
+    write(new File(dir, "pom.xml"), "<project>\n"
+        + "  <groupId>com.test.app</groupId>\n"
+        + "  <artifactId>test-app</artifactId>\n"
+        + "  <version>${revision}${changelist}</version>\n"
+        + "  <properties>\n"
+        + "    <revision>1.2.0</revision>\n"
+        + "    <changelist>-SNAPSHOT</changelist>\n"
+        + "  </properties>\n"
+        + "</project>\n");
+    write(new File(dir, ".mvn/maven.config"), "-B -Dchangelist= -D revision=1.3.0\n");
+
+    // When : reading the version
+    String version = new PomVersionReader().readVersion(dir);
+
+    // Then : maven.config has the priority over the properties
+    assertThat(version, is("1.3.0"));
+  }
+
+  @Test
+  public void shouldResolveTheVersionOfTheParent() throws Exception {
+    // Given : a module without version, its parent defines the revision
+    File dir = rootFolder.newFolder("project");
+    write(new File(dir, "pom.xml"), "<project>\n"
+        + "  <groupId>com.test.app</groupId>\n"
+        + "  <artifactId>parent</artifactId>\n"
+        + "  <version>${revision}</version>\n"
+        + "  <properties><revision>2.1.0</revision></properties>\n"
+        + "</project>\n");
+    File module = new File(dir, "module");
+    write(new File(module, "pom.xml"), "<project>\n"
+        + "  <parent>\n"
+        + "    <groupId>com.test.app</groupId>\n"
+        + "    <artifactId>parent</artifactId>\n"
+        + "    <version>${revision}</version>\n"
+        + "  </parent>\n"
+        + "  <artifactId>module</artifactId>\n"
+        + "</project>\n");
+
+    // When : reading the version of the module
+    String version = new PomVersionReader().readVersion(module);
+
+    // Then : the version and the property are inherited
+    assertThat(version, is("2.1.0"));
+  }
+
+  @Test
+  public void shouldNotResolveUnknownExpressions() throws Exception {
+    // Given : a pom with a version computed by a profile
+    File dir = rootFolder.newFolder("project");
+    write(new File(dir, "pom.xml"), "<project>\n"
+        + "  <artifactId>test-app</artifactId>\n"
+        + "  <version>${computed.version}</version>\n"
+        + "</project>\n");
+
+    // When : reading the version
+    String version = new PomVersionReader().readVersion(dir);
+
+    // Then : Maven is needed
+    assertThat(version, is(nullValue()));
+  }
+
+  @Test(expected = IOException.class)
+  public void shouldNotReadExternalEntities() throws Exception {
+    // Given : a pom with a DTD declaring an external entity
+    File dir = rootFolder.newFolder("project");
+    File secret = rootFolder.newFile("secret.txt");
+    write(secret, "1.0.0");
+    write(new File(dir, "pom.xml"), "<?xml version=\"1.0\"?>\n"
+        + "<!DOCTYPE project [<!ENTITY secret SYSTEM \"" + secret.toURI() + "\">]>\n"
+        + "<project><version>&secret;</version></project>\n");
+
+    // When : reading the version
+    // Then : the file is rejected
+    new PomVersionReader().readVersion(dir);
+  }
+}
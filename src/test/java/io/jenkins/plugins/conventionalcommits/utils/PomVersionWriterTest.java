@@ -0,0 +1,146 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PomVersionWriterTest {
+
+  @Rule public TemporaryFolder rootFolder = new TemporaryFolder();
+
+  private static void write(File file, String content) throws IOException {
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String read(File file) throws IOException {
+    return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void shouldWriteTheVersionOfTheReactor() throws Exception {
+    // Given : a reactor with a nested module, a module with its own version and a comment
+    File dir = rootFolder.newFolder("project");
+    String root = "<?xml version=\"1.0\"?>\r\n"
+        + "<project>\r\n"
+        + "  <!-- <version>0.0.1</version> -->\r\n"
+        + "  <groupId>com.test.app</groupId>\r\n"
+        + "  <artifactId>parent</artifactId>\r\n"
+        + "  <version> 1.0.0 </version>\r\n"
+        + "  <modules>\r\n"
+        + "    <module>core</module>\r\n"
+        + "    <module>tools/pom.xml</module>\r\n"
+        + "  </modules>\r\n"
+        + "  <dependencies><dependency><version>1.0.0</version></dependency></dependencies>\r\n"
+        + "</project>\r\n";
+    write(new File(dir, "pom.xml"), root);
+    String core = "<project>\n"
+        + "  <parent>\n"
+        + "    <groupId>com.test.app</groupId>\n"
+        + "    <artifactId>parent</artifactId>\n"
+        + "    <version>1.0.0</version>\n"
+        + "  </parent>\n"
+        + "  <artifactId>core</artifactId>\n"
+        + "  <modules><module>api</module></modules>\n"
+        + "</project>\n";
+    write(new File(dir, "core/pom.xml"), core);
+    String api = "<project>\n"
+        + "  <parent>\n"
+        + "    <groupId>com.test.app</groupId>\n"
+        + "    <artifactId>core</artifactId>\n"
+        + "    <version>1.0.0</version>\n"
+        + "  </parent>\n"
+        + "  <artifactId>api</artifactId>\n"
+        + "</project>\n";
+    write(new File(dir, "core/api/pom.xml"), api);
+    String tools = "<project>\n"
+        + "  <parent>\n"
+        + "    <groupId>com.test.app</groupId>\n"
+        + "    <artifactId>parent</artifactId>\n"
+        + "    <version>1.0.0</version>\n"
+        + "  </parent>\n"
+        + "  <artifactId>tools</artifactId>\n"
+        + "  <version>3.2.1</version>\n"
+        + "</project>\n";
+    write(new File(dir, "tools/pom.xml"), tools);
+
+    // When : writing the version
+    boolean written = new PomVersionWriter().write(dir, "1.1.0");
+
+    // Then : only the versions of the reactor are replaced, the rest of the files is kept
+    assertThat(written, is(true));
+    assertThat(read(new File(dir, "pom.xml")),
+        is(root.replace("<version> 1.0.0 </version>", "<version> 1.1.0 </version>")));
+    assertThat(read(new File(dir, "core/pom.xml")), is(core.replace("1.0.0", "1.1.0")));
+    assertThat(read(new File(dir, "core/api/pom.xml")), is(api.replace("1.0.0", "1.1.0")));
+    assertThat(read(new File(dir, "tools/pom.xml")), is(tools.replace("1.0.0", "1.1.0")));
+  }
+
+  @Test
+  public void shouldNotWriteAVersionMadeOfProperties() throws Exception {
+    // Given : a pom with a CI friendly version
+    File dir = rootFolder.newFolder("project");
+    String pom = "<project>\n"
+        + "  <artifactId>test-app</artifactId>\n"
+        + "  <version>${revision}</version>\n"
+        + "</project>\n";
+    write(new File(dir, "pom.xml"), pom);
+
+    // When : writing the version
+    boolean written = new PomVersionWriter().write(dir, "1.1.0");
+
+    // Then : Maven is needed and the pom is not changed
+    assertThat(written, is(false));
+    assertThat(read(new File(dir, "pom.xml")), is(pom));
+  }
+
+  @Test
+  public void shouldKeepTheEncodingAndThePermissions() throws Exception {
+    // Given : an ISO-8859-1 pom, readable by everyone
+    File dir = rootFolder.newFolder("project");
+    File file = new File(dir, "pom.xml");
+    String pom = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n"
+        + "<project>\n"
+        + "  <name>Caf\u00e9</name>\n"
+        + "  <artifactId>test-app</artifactId>\n"
+        + "  <version>1.0.0</version>\n"
+        + "</project>\n";
+    Files.write(file.toPath(), pom.getBytes(StandardCharsets.ISO_8859_1));
+    boolean posix = Files.getFileAttributeView(file.toPath(), PosixFileAttributeView.class) != null;
+    if (posix) {
+      Files.setPosixFilePermissions(file.toPath(), PosixFilePermissions.fromString("rw-r--r--"));
+    }
+
+    // When : writing the version
+    boolean written = new PomVersionWriter().write(dir, "1.1.0");
+
+    // Then : the pom is written in its encoding, with its permissions
+    assertThat(written, is(true));
+    assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1),
+        is(pom.replace("1.0.0", "1.1.0")));
+    if (posix) {
+      assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(file.toPath())),
+          is("rw-r--r--"));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void shouldFailWithoutPom() throws Exception {
+    // Given : a directory without pom
+    File dir = rootFolder.newFolder("project");
+
+    // When : writing the version
+    new PomVersionWriter().write(dir, "1.1.0");
+
+    // Then : the missing pom is reported
+  }
+}
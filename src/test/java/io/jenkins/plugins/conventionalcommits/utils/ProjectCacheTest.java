@@ -0,0 +1,107 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.jenkins.plugins.conventionalcommits.metrics.StepMetrics;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProjectCacheTest {
+
+  @Rule public TemporaryFolder rootFolder = new TemporaryFolder();
+
+  private StepMetrics.Scope cache;
+
+  @Before
+  public void setup() {
+    cache = ProjectCache.open();
+  }
+
+  @After
+  public void tearDown() {
+    cache.close();
+  }
+
+  private static void write(File file, String content) throws IOException {
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void shouldDetectTheProjectTypeOnceWhileTheDirectoryDoesNotChange() throws Exception {
+    // Given : a directory without configuration file
+    File dir = rootFolder.newFolder("project");
+    dir.setLastModified(1000000L);
+    assertThat(ProjectCache.getProjectType(dir), is(nullValue()));
+
+    // When : a pom.xml is added
+    write(new File(dir, "pom.xml"), "<project/>");
+    dir.setLastModified(2000000L);
+
+    // Then : the project is detected again
+    assertThat(ProjectCache.getProjectType(dir), instanceOf(MavenProjectType.class));
+  }
+
+  @Test
+  public void shouldParseADocumentOnceWhileTheFileDoesNotChange() throws Exception {
+    // Given : a configuration file read twice
+    File dir = rootFolder.newFolder("project");
+    File file = new File(dir, "Chart.yaml");
+    write(file, "version: 1.0.0\n");
+    AtomicInteger parsed = new AtomicInteger();
+    ProjectCache.Parser<String> parser = f -> {
+      parsed.incrementAndGet();
+      return new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+    };
+    ProjectCache.read(file, parser);
+    ProjectCache.read(file, parser);
+    assertThat(parsed.get(), is(1));
+
+    // When : the file is written with the same size, and the directory invalidated
+    long lastModified = file.lastModified();
+    write(file, "version: 1.1.0\n");
+    file.setLastModified(lastModified);
+    ProjectCache.invalidate(dir);
+
+    // Then : the file is parsed again
+    assertThat(ProjectCache.read(file, parser), is("version: 1.1.0\n"));
+    assertThat(parsed.get(), is(2));
+  }
+
+  @Test
+  public void shouldNotKeepTheDocumentsAfterTheRunOfTheStep() throws Exception {
+    // Given : a configuration file read during a run
+    File file = new File(rootFolder.newFolder("project"), "Chart.yaml");
+    write(file, "version: 1.2.3\n");
+    AtomicInteger parsed = new AtomicInteger();
+    ProjectCache.Parser<String> parser = f -> {
+      parsed.incrementAndGet();
+      return new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+    };
+    ProjectCache.read(file, parser);
+
+    // When : the run ends, and the file changes within the same second and with the same size
+    cache.close();
+    long lastModified = file.lastModified();
+    write(file, "version: 1.2.4\n");
+    file.setLastModified(lastModified);
+
+    // Then : the next run, and any read outside of a run, parse the file again
+    assertThat(ProjectCache.read(file, parser), is("version: 1.2.4\n"));
+    try (StepMetrics.Scope next = ProjectCache.open()) {
+      assertThat(ProjectCache.read(file, parser), is("version: 1.2.4\n"));
+      assertThat(ProjectCache.read(file, parser), is("version: 1.2.4\n"));
+    }
+    assertThat(parsed.get(), is(3));
+  }
+}
@@ -0,0 +1,92 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProjectTypeFactoryTest {
+
+  @Rule public TemporaryFolder rootFolder = new TemporaryFolder();
+
+  @Test
+  public void shouldRankTheProjectTypesByPriority() throws Exception {
+    // Given : a directory with a Makefile, a package.json and a pom.xml
+    File dir = rootFolder.newFolder("project");
+    new File(dir, "Makefile").createNewFile();
+    new File(dir, "package.json").createNewFile();
+    new File(dir, "pom.xml").createNewFile();
+
+    // When : detecting the project types
+    List<ProjectType> projectTypes = ProjectTypeFactory.detectProjectTypes(dir);
+
+    // Then : Maven first, the Makefile last
+    assertThat(projectTypes.size(), is(3));
+    assertThat(projectTypes.get(0), instanceOf(MavenProjectType.class));
+    assertThat(projectTypes.get(1), instanceOf(NpmProjectType.class));
+    assertThat(projectTypes.get(2), instanceOf(MakeProjectType.class));
+    assertThat(ProjectTypeFactory.detectProjectType(dir), instanceOf(MavenProjectType.class));
+  }
+
+  @Test
+  public void shouldDetectTheTypesLikeTheirCheck() throws Exception {
+    for (ProjectType projectType : ProjectTypeFactory.projectTypeMap.values()) {
+      for (String marker : projectType.getMarkerFiles()) {
+        // Given : a directory with a marker file
+        File dir = rootFolder.newFolder();
+        new File(dir, marker).createNewFile();
+
+        // When : detecting the project type
+        ProjectType detected = ProjectTypeFactory.detectProjectType(dir);
+
+        // Then : it is the type whose check accepts the directory
+        assertThat(detected, is(projectType));
+        assertThat(projectType.check(dir), is(true));
+      }
+    }
+  }
+
+  @Test
+  public void shouldDetectAMarkerInAnotherCaseLikeTheFileSystem() throws Exception {
+    // Given : a directory with a marker file named in upper case
+    File dir = rootFolder.newFolder("project");
+    new File(dir, "POM.XML").createNewFile();
+
+    // When : detecting the project type
+    ProjectType detected = ProjectTypeFactory.detectProjectType(dir);
+
+    // Then : it is found only if the file system ignores the case, like check() does
+    boolean ignoresCase = new File(dir, "pom.xml").exists();
+    assertThat(detected instanceof MavenProjectType, is(ignoresCase));
+    assertThat(new MavenProjectType().check(dir), is(ignoresCase));
+  }
+
+  @Test
+  public void shouldUseTheProjectTypeByName() throws Exception {
+    // Given : a directory with a Makefile and a pom.xml
+    File dir = rootFolder.newFolder("project");
+    new File(dir, "Makefile").createNewFile();
+    new File(dir, "pom.xml").createNewFile();
+
+    // When : asking for the make project type
+    ProjectType projectType = ProjectTypeFactory.getProjectType(dir, "Make");
+
+    // Then : the detection is skipped
+    assertThat(projectType, instanceOf(MakeProjectType.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectAnUnknownProjectType() throws Exception {
+    // Given : a project directory
+    File dir = rootFolder.newFolder("project");
+
+    // When : asking for an unknown project type
+    // Then : the name is rejected
+    ProjectTypeFactory.getProjectType(dir, "ant");
+  }
+}
@@ -0,0 +1,112 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.jenkins.plugins.conventionalcommits.TemporaryGitRepository;
+import io.jenkins.plugins.conventionalcommits.git.CliGitHelper;
+import io.jenkins.plugins.conventionalcommits.git.GitHelperFactory;
+import java.io.File;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class SemverTagResolverTest {
+
+  @Rule public TemporaryGitRepository repository = new TemporaryGitRepository();
+
+  private File repo;
+
+  @Before
+  public void setup() {
+    repo = repository.getDirectory();
+  }
+
+  private void git(String... args) throws Exception {
+    repository.git(args);
+  }
+
+  @Test
+  public void shouldParseTheTagsWithThePrefix() {
+    // Given : a resolver of the tags starting with v
+    SemverTagResolver resolver = new SemverTagResolver("v", null);
+
+    // When : parsing tag names
+    // Then : only the semantic versions with the prefix are kept
+    assertThat(resolver.getPattern(), is("v*"));
+    assertThat(resolver.parse("v1.10.0").toString(), is("1.10.0"));
+    assertThat(resolver.parse("1.10.0"), is(nullValue()));
+    assertThat(resolver.parse("v1.10"), is(nullValue()));
+    assertThat(resolver.stripPrefix("v1.10.0"), is("1.10.0"));
+    assertThat(resolver.stripPrefix(""), is(""));
+  }
+
+  @Test
+  public void shouldMatchTheVersionTagsWithTheGlob() {
+    // Given : a resolver of the 1.x tags starting with v
+    SemverTagResolver resolver = new SemverTagResolver("v", "v1.*");
+
+    // When : checking tag names
+    // Then : only the semantic versions matching the glob are version tags
+    assertThat(resolver.isVersionTag("v1.10.0"), is(true));
+    assertThat(resolver.isVersionTag("v2.0.0"), is(false));
+    assertThat(resolver.isVersionTag("v1.x"), is(false));
+    assertThat(resolver.matches("v1.x"), is(true));
+    assertThat(new SemverTagResolver(null, "release/*").matches("release/1.0.0"), is(true));
+    assertThat(new SemverTagResolver(null, "v?.0.0").matches("v2.0.0"), is(true));
+    assertThat(new SemverTagResolver(null, "v1.0.0").matches("v1a0.0"), is(false));
+    assertThat(new SemverTagResolver("v", "v[0-9]*").isVersionTag("v1.0.0"), is(true));
+    assertThat(new SemverTagResolver("v", "v[0-9]*").matches("vx"), is(false));
+    assertThat(new SemverTagResolver("v", "v[!2]*").matches("v2.0.0"), is(false));
+  }
+
+  @Test
+  public void shouldNotStopAtAMergedLowerVersion() throws Exception {
+    // Given : v2.0.0, then a maintenance branch tagged v1.5.1 merged after it
+    git("commit", "--allow-empty", "-m", "feat: first");
+    git("tag", "v1.5.0");
+    git("checkout", "-b", "maintenance");
+    git("commit", "--allow-empty", "-m", "fix: maintenance");
+    git("tag", "-a", "v1.5.1", "-m", "v1.5.1");
+    git("checkout", "-");
+    git("commit", "--allow-empty", "-m", "feat!: second");
+    git("tag", "v2.0.0");
+    git("merge", "--no-ff", "-m", "chore: merge maintenance", "maintenance");
+    git("tag", "not-a-version");
+
+    // When : resolving the latest tag with JGit and the command line
+    SemverTagResolver resolver = new SemverTagResolver("v", null);
+
+    // Then : the highest version wins over the nearest one
+    assertThat(resolver.resolve(GitHelperFactory.getGitHelper(repo)), is("v2.0.0"));
+    assertThat(resolver.resolve(new CliGitHelper(repo)), is("v2.0.0"));
+    assertThat(new SemverTagResolver("v", "v1.*").resolve(new CliGitHelper(repo)),
+        is("v1.5.1"));
+  }
+
+  @Test
+  public void shouldResolveTheHighestVersionReachableFromHead() throws Exception {
+    // Given : tags which are not in version order, and a higher tag on another branch
+    git("commit", "--allow-empty", "-m", "feat: first");
+    git("tag", "v1.9.0");
+    git("tag", "release-candidate");
+    git("commit", "--allow-empty", "-m", "feat: second");
+    git("tag", "v1.10.0");
+    git("checkout", "-b", "other");
+    git("commit", "--allow-empty", "-m", "feat: other");
+    git("tag", "v2.0.0");
+    git("checkout", "-");
+    git("commit", "--allow-empty", "-m", "fix: third");
+
+    // When : resolving the latest tag with JGit and the command line
+    SemverTagResolver resolver = new SemverTagResolver("v", null);
+
+    // Then : v1.10.0 is found, v2.0.0 is not reachable
+    assertThat(resolver.resolve(GitHelperFactory.getGitHelper(repo)), is("v1.10.0"));
+    assertThat(resolver.resolve(new CliGitHelper(repo)), is("v1.10.0"));
+    assertThat(new SemverTagResolver("v", "v1.9*").resolve(new CliGitHelper(repo)),
+        is("v1.9.0"));
+    assertThat(new SemverTagResolver(null, null).resolve(new CliGitHelper(repo)), is(""));
+  }
+}
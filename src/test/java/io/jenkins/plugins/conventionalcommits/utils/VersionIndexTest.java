@@ -0,0 +1,85 @@
+package io.jenkins.plugins.conventionalcommits.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.jenkins.plugins.conventionalcommits.BumpLevel;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class VersionIndexTest {
+
+  @Rule public TemporaryFolder rootFolder = new TemporaryFolder();
+
+  @Test
+  public void shouldReadTheStoredIndex() throws Exception {
+    // Given : an index stored in a directory not created yet
+    File file = new File(rootFolder.getRoot(), "ws@tmp/" + VersionIndex.FILE_NAME);
+    new VersionIndex("abc", "1.0.0", "def", BumpLevel.MINOR, "", false, "").store(file);
+
+    // When : reading it
+    VersionIndex index = VersionIndex.load(file);
+
+    // Then : the same values are read
+    assertThat(index, is(notNullValue()));
+    assertThat(index.getHead(), is("abc"));
+    assertThat(index.getTag(), is("1.0.0"));
+    assertThat(index.getTagCommit(), is("def"));
+    assertThat(index.getBumpLevel(), is(BumpLevel.MINOR));
+    assertThat(index.isSameTag("1.0.0", "def"), is(true));
+    assertThat(index.isSameTag("1.0.0", "moved"), is(false));
+    assertThat(index.isSamePath(""), is(true));
+  }
+
+  @Test
+  public void shouldKeepTheWalkOfTheCommits() throws Exception {
+    // Given : an index of the full messages of the commits of a path
+    File file = new File(rootFolder.getRoot(), VersionIndex.FILE_NAME);
+    new VersionIndex("abc", "", "", BumpLevel.PATCH, "services/billing", true, "").store(file);
+
+    // When : reading it
+    VersionIndex index = VersionIndex.load(file);
+
+    // Then : it is only used for the same walk
+    assertThat(index.getPath(), is("services/billing"));
+    assertThat(index.isSamePath("services/billing"), is(true));
+    assertThat(index.isSamePath(""), is(false));
+    assertThat(index.isBody(), is(true));
+    assertThat(index.isSameBody(false), is(false));
+  }
+
+  @Test
+  public void shouldKeepTheBumpRules() throws Exception {
+    // Given : an index of commits classified with rules
+    File file = new File(rootFolder.getRoot(), VersionIndex.FILE_NAME);
+    new VersionIndex("abc", "", "", BumpLevel.NONE, "", false, "docs: NONE\nperf: MINOR")
+        .store(file);
+
+    // When : reading it
+    VersionIndex index = VersionIndex.load(file);
+
+    // Then : it is only used with the same rules
+    assertThat(index.getBumpLevel(), is(BumpLevel.NONE));
+    assertThat(index.isSameRules("docs: NONE\nperf: MINOR"), is(true));
+    assertThat(index.isSameRules(""), is(false));
+  }
+
+  @Test
+  public void shouldIgnoreAMissingOrCorruptedIndex() throws Exception {
+    // Given : a missing index and a corrupted index
+    File missing = new File(rootFolder.getRoot(), VersionIndex.FILE_NAME);
+    File corrupted = rootFolder.newFile("corrupted.properties");
+    Files.write(corrupted.toPath(), "head=abc\nbumpLevel=HUGE\n".getBytes(StandardCharsets.UTF_8));
+
+    // When : reading them
+    // Then : there is no index
+    assertThat(VersionIndex.load(missing), is(nullValue()));
+    assertThat(VersionIndex.load(corrupted), is(nullValue()));
+  }
+}
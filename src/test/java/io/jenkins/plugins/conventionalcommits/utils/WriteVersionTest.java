@@ -20,6 +20,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -47,6 +49,34 @@ public class WriteVersionTest {
   @Test
   public void testWriteMavenProjectVersion() throws IOException, InterruptedException {
 
+    File mavenDir = rootFolder.newFolder("SampleMavenProject");
+    File pom = rootFolder.newFile(mavenDir.getName() + File.separator + "pom.xml");
+
+    String pomContent =
+        "<project>\n"
+            + " <modelVersion>4.0.0</modelVersion>\n"
+            + " <groupId>com.test.app</groupId>\n"
+            + " <artifactId>test-app</artifactId>\n"
+            + " <version>1.0.0</version>\n"
+            + "</project>\n";
+
+    FileWriter pomWriter = new FileWriter(pom);
+    pomWriter.write(pomContent);
+    pomWriter.close();
+
+    WriteVersion writer = new WriteVersion();
+    writer.setProcessHelper(processHelper);
+    writer.write(Version.valueOf("2.0.0"), mavenDir);
+
+    // the pom is rewritten without starting Maven
+    verifyNoInteractions(processHelper);
+    String written = new String(Files.readAllBytes(pom.toPath()), StandardCharsets.UTF_8);
+    assertThat(written, is(pomContent.replace("1.0.0", "2.0.0")));
+  }
+
+  @Test
+  public void testWriteMavenProjectVersionWithMaven() throws IOException, InterruptedException {
+
     String os = System.getProperty("os.name");
     String commandName = "mvn";
 
@@ -64,7 +94,7 @@ public class WriteVersionTest {
             + " <modelVersion>4.0.0</modelVersion>\n"
             + " <groupId>com.test.app</groupId>\n"
             + " <artifactId>test-app</artifactId>\n"
-            + " <version>1.0.0</version>\n"
+            + " <version>${revision}</version>\n"
             + "</project>\n";
 
     FileWriter pomWriter = new FileWriter(pom);